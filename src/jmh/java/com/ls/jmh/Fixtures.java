@@ -0,0 +1,121 @@
+package com.ls.jmh;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.ls.auth.model.entity.Member;
+import com.ls.auth.model.response.LoginUserDetails;
+import com.ls.auth.service.AuthService;
+import com.ls.auth.service.TokenBlacklistService;
+import com.ls.comitte.model.entity.Bid;
+import com.ls.comitte.model.entity.Comitte;
+import com.ls.comitte.model.entity.ComitteMemberMap;
+import com.ls.common.model.AuditMetadata;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Objects shaped like the demo data, built without a Spring context or a database.
+ */
+final class Fixtures {
+
+    // the dev secret from application.yml; HS512 cost depends only on its length
+    static final String JWT_SECRET = "Pqhv2J9XBNyQIHFDdYih5xSwp6hE9XN6ropqZIpzqE6wByLy8xqyrWGXm1T2pkKfbKTDgy2go4b12aiQsD8wdQ==";
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 3, 15, 10, 30);
+
+    private Fixtures() {
+    }
+
+    // the services log at INFO per call (blacklisting, logins); keep that out of the measurement and the console
+    static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    static AuthService authService(TokenBlacklistService tokenBlacklistService) {
+        AuthService authService = new AuthService(null, null, tokenBlacklistService);
+        ReflectionTestUtils.setField(authService, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(authService, "jwtExpirationMs", 360_000_000L);
+        return authService;
+    }
+
+    /** A member with both demo roles and their 22 authorities, as the claims of a real token carry them. */
+    static LoginUserDetails userDetails() {
+        Set<String> roleNames = Set.of("ROLE_COMITTE_MEMBER", "ROLE_COMITTE_OWNER");
+        Set<String> authorityNames = Set.of("MEMBER_CREATE", "MEMBER_UPDATE", "MEMBER_DELETE", "MEMBER_VIEW",
+                "MEMBER_SEARCH", "COMITTE_CREATE", "COMITTE_UPDATE", "COMITTE_DELETE", "COMITTE_VIEW", "COMITTE_SEARCH",
+                "ASSIGN_MEMBER_IN_COMITTE", "GET_COMITTE_BIDS", "BID_CREATE", "BID_UPDATE", "BID_DELETE", "BID_VIEW",
+                "BID_SEARCH", "COMITTE_MEMBER_MAP_CREATE", "COMITTE_MEMBER_MAP_UPDATE", "COMITTE_MEMBER_MAP_DELETE",
+                "COMITTE_MEMBER_MAP_VIEW", "COMITTE_MEMBER_MAP_SEARCH");
+        Set<String> all = new HashSet<>(roleNames);
+        all.addAll(authorityNames);
+        return new LoginUserDetails(1L, "bippan.khichra", "bippan.k@example.com", "Bippan Khichra", "8449761645",
+                Set.of(1L, 2L), roleNames, authorityNames,
+                all.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toSet()));
+    }
+
+    static Member member(long memberId) {
+        return Member.builder()
+                .memberId(memberId)
+                .username("member." + memberId)
+                .email("member." + memberId + "@example.com")
+                .name("Member " + memberId)
+                .mobile("98765" + (10_000 + memberId % 90_000))
+                .createdTimestamp(TIMESTAMP)
+                .updatedTimestamp(TIMESTAMP)
+                .build();
+    }
+
+    static Comitte comitte(long comitteId, Member owner) {
+        Comitte comitte = new Comitte();
+        comitte.setComitteId(comitteId);
+        comitte.setOwner(owner);
+        comitte.setComitteName("2.0L 15Jan24 " + owner.getName());
+        comitte.setStartDate(LocalDate.of(2024, 1, 15));
+        comitte.setFullAmount(200_000);
+        comitte.setTotalShares(16);
+        comitte.setFullShare(12_500);
+        comitte.setReservedShares(16);
+        comitte.setDueDateDays(5);
+        comitte.setPaymentDateDays(7);
+        comitte.setBidsCount(12);
+        comitte.setAssociatedMembersCount(14);
+        comitte.setAudit(audit(owner));
+        comitte.setVersion(3L);
+        return comitte;
+    }
+
+    static Bid bid(long bidId, Comitte comitte, int comitteNumber, Member finalBidder) {
+        return Bid.builder()
+                .bidId(bidId)
+                .comitte(comitte)
+                .comitteNumber(comitteNumber)
+                .finalBidder(finalBidder)
+                .finalBidAmt(60_000 - comitteNumber * 3_500)
+                .bidDate(comitte.getStartDate().plusMonths(comitteNumber - 1).atTime(18, 0))
+                .audit(audit(comitte.getOwner()))
+                .version(0L)
+                .build();
+    }
+
+    static ComitteMemberMap membership(long id, Comitte comitte, Member member) {
+        return ComitteMemberMap.builder()
+                .id(id)
+                .comitte(comitte)
+                .member(member)
+                .shareCount(1)
+                .audit(audit(comitte.getOwner()))
+                .version(0L)
+                .build();
+    }
+
+    private static AuditMetadata audit(Member by) {
+        return new AuditMetadata(by.getMemberId(), TIMESTAMP, by.getMemberId(), TIMESTAMP);
+    }
+}
@@ -0,0 +1,99 @@
+package com.ls.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ls.auth.model.entity.Member;
+import com.ls.auth.model.response.LoginResponse;
+import com.ls.auth.model.response.LoginUserDetails;
+import com.ls.comitte.model.entity.Comitte;
+import com.ls.comitte.model.response.BidResponse;
+import com.ls.comitte.model.response.ComitteMemberMapResponse;
+import com.ls.comitte.model.response.ComitteResponse;
+import com.ls.comitte.model.response.SyncChangesResponse;
+import com.ls.comitte.util.ResponseMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response records with the ObjectMapper settings Spring Boot applies here:
+ * a single comitte, a comitte's bids, a full delta-sync page and the login response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    // what JacksonAutoConfiguration builds when application.yml sets no spring.jackson properties
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .build();
+
+    private ComitteResponse comitte;
+    private List<BidResponse> comitteBids;
+    private SyncChangesResponse syncPage;
+    private LoginResponse login;
+
+    @Setup
+    public void setUp() {
+        ResponseMapper mapper = ResponseMapper.INSTANCE;
+        Member owner = Fixtures.member(1);
+        comitte = mapper.toResponse(Fixtures.comitte(1, owner));
+
+        // the full resync of a member in 8 comittes: 16 rounds and 14 members each
+        List<ComitteResponse> comittes = new ArrayList<>();
+        List<ComitteMemberMapResponse> memberships = new ArrayList<>();
+        List<BidResponse> bids = new ArrayList<>();
+        for (int c = 1; c <= 8; c++) {
+            Comitte entity = Fixtures.comitte(c, owner);
+            comittes.add(mapper.toResponse(entity));
+            for (int m = 2; m <= 15; m++) {
+                memberships.add(mapper.toResponse(Fixtures.membership(memberships.size() + 1, entity, Fixtures.member(m))));
+            }
+            for (int round = 1; round <= 16; round++) {
+                bids.add(mapper.toResponse(Fixtures.bid(bids.size() + 1, entity, round, Fixtures.member(round + 1))));
+            }
+        }
+        comitteBids = bids.subList(0, 16);
+        syncPage = new SyncChangesResponse(1_792_397_445_364_576L, true, comittes, memberships, bids, List.of());
+
+        LoginUserDetails userDetails = Fixtures.userDetails();
+        login = new LoginResponse(Fixtures.authService(null).createToken(userDetails.getUsername(), userDetails),
+                "Bearer", 360_000_000L, userDetails);
+    }
+
+    @Benchmark
+    public byte[] comitte() throws Exception {
+        return objectMapper.writeValueAsBytes(comitte);
+    }
+
+    @Benchmark
+    public byte[] comitteBids() throws Exception {
+        return objectMapper.writeValueAsBytes(comitteBids);
+    }
+
+    @Benchmark
+    public byte[] syncPage() throws Exception {
+        return objectMapper.writeValueAsBytes(syncPage);
+    }
+
+    @Benchmark
+    public byte[] login() throws Exception {
+        return objectMapper.writeValueAsBytes(login);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ls.jmh;
+
+import com.ls.auth.model.response.LoginUserDetails;
+import com.ls.auth.security.JwtAuthenticationFilter;
+import com.ls.auth.service.AuthService;
+import com.ls.auth.service.TokenBlacklistService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtAuthenticationFilter} end to end for an authenticated API request: header, blacklist and session
+ * checks, the token parses, and the security context it sets up. Includes creating the mock request and response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "100000"})
+    private int blacklisted;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        Fixtures.quietLogging();
+        TokenBlacklistService tokenBlacklistService = new TokenBlacklistService();
+        AuthService authService = Fixtures.authService(tokenBlacklistService);
+        for (int i = 0; i < blacklisted; i++) {
+            tokenBlacklistService.blacklistToken("logged-out-" + i);
+        }
+        filter = new JwtAuthenticationFilter(authService, tokenBlacklistService, new SimpleMeterRegistry());
+        LoginUserDetails userDetails = Fixtures.userDetails();
+        authorization = "Bearer " + authService.createToken(userDetails.getUsername(), userDetails);
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/comittes/my/1");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (chain.getRequest() == null) {
+            throw new IllegalStateException("the filter rejected the request: " + response.getContentAsString());
+        }
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
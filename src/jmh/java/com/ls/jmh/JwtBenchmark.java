@@ -0,0 +1,57 @@
+package com.ls.jmh;
+
+import com.ls.auth.model.response.LoginUserDetails;
+import com.ls.auth.service.AuthService;
+import com.ls.auth.service.TokenBlacklistService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing a token at login, and the two parses {@link com.ls.auth.security.JwtAuthenticationFilter} does per request
+ * ({@code extractUsername} runs twice there, once more inside {@code validateToken}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private AuthService authService;
+    private LoginUserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        Fixtures.quietLogging();
+        authService = Fixtures.authService(new TokenBlacklistService());
+        userDetails = Fixtures.userDetails();
+        token = authService.createToken(userDetails.getUsername(), userDetails);
+    }
+
+    @Benchmark
+    public String issueToken() {
+        return authService.createToken(userDetails.getUsername(), userDetails);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return authService.extractUsername(token);
+    }
+
+    @Benchmark
+    public LoginUserDetails extractUserDetails() {
+        return authService.extractUserDetailsFromToken(token);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ls.jmh;
+
+import com.ls.auth.model.entity.Member;
+import com.ls.comitte.model.entity.Bid;
+import com.ls.comitte.model.entity.Comitte;
+import com.ls.comitte.model.entity.ComitteMemberMap;
+import com.ls.comitte.model.response.BidResponse;
+import com.ls.comitte.model.response.ComitteMemberMapResponse;
+import com.ls.comitte.model.response.ComitteResponse;
+import com.ls.comitte.util.ResponseMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ResponseMapper} entity-to-DTO mapping: one of each entity, and the bid history of a member's comittes
+ * (8 comittes with 16 rounds each), as the entity-returning service paths map it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMapperBenchmark {
+
+    private final ResponseMapper mapper = ResponseMapper.INSTANCE;
+    private Comitte comitte;
+    private Bid bid;
+    private ComitteMemberMap membership;
+    private List<Bid> bidHistory;
+
+    @Setup
+    public void setUp() {
+        Member owner = Fixtures.member(1);
+        comitte = Fixtures.comitte(1, owner);
+        bid = Fixtures.bid(1, comitte, 3, Fixtures.member(2));
+        membership = Fixtures.membership(1, comitte, Fixtures.member(2));
+        bidHistory = new ArrayList<>();
+        for (int c = 1; c <= 8; c++) {
+            Comitte history = Fixtures.comitte(c, owner);
+            for (int round = 1; round <= 16; round++) {
+                bidHistory.add(Fixtures.bid(bidHistory.size() + 1, history, round, Fixtures.member(round + 1)));
+            }
+        }
+    }
+
+    @Benchmark
+    public ComitteResponse comitte() {
+        return mapper.toResponse(comitte);
+    }
+
+    @Benchmark
+    public BidResponse bid() {
+        return mapper.toResponse(bid);
+    }
+
+    @Benchmark
+    public ComitteMemberMapResponse membership() {
+        return mapper.toResponse(membership);
+    }
+
+    @Benchmark
+    public List<BidResponse> bidHistory() {
+        return bidHistory.stream().map(mapper::toResponse).toList();
+    }
+}
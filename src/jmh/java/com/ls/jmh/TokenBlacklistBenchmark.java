@@ -0,0 +1,74 @@
+package com.ls.jmh;
+
+import com.ls.auth.service.TokenBlacklistService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Base64;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The blacklist and session checks every authenticated request makes, with as many tokens logged out in the last
+ * hour as {@code blacklisted}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBlacklistBenchmark {
+
+    @Param({"0", "10000", "100000"})
+    private int blacklisted;
+
+    private TokenBlacklistService tokenBlacklistService;
+    private String activeToken;
+    private String blacklistedToken;
+
+    @Setup
+    public void setUp() {
+        Fixtures.quietLogging();
+        tokenBlacklistService = new TokenBlacklistService();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < blacklisted; i++) {
+            tokenBlacklistService.blacklistToken(fakeToken(random));
+        }
+        blacklistedToken = fakeToken(random);
+        tokenBlacklistService.blacklistToken(blacklistedToken);
+        activeToken = fakeToken(random);
+        tokenBlacklistService.updateActivity(activeToken);
+    }
+
+    @Benchmark
+    public boolean activeTokenLookup() {
+        return tokenBlacklistService.isTokenBlacklisted(activeToken);
+    }
+
+    @Benchmark
+    public boolean blacklistedTokenLookup() {
+        return tokenBlacklistService.isTokenBlacklisted(blacklistedToken);
+    }
+
+    @Benchmark
+    public boolean sessionExpiryCheck() {
+        return tokenBlacklistService.isSessionExpired(activeToken);
+    }
+
+    // the length of a real token with the demo claims; the map only hashes and compares it
+    private static String fakeToken(SplittableRandom random) {
+        byte[] bytes = new byte[480];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
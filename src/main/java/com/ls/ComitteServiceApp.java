@@ -2,8 +2,10 @@ package com.ls;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ComitteServiceApp {
     public static void main(String[] args) {
         SpringApplication.run(ComitteServiceApp.class, args);
@@ -1,17 +1,31 @@
 package com.ls.auth.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.ls.auth.model.request.MemberRequest;
+import com.ls.auth.model.response.MemberImportSummary;
 import com.ls.auth.model.response.MemberResponse;
+import com.ls.auth.service.MemberImportService;
 import com.ls.auth.service.MemberService;
+import com.ls.common.util.ETagUtil;
+import com.ls.common.util.RowFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -42,6 +56,8 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class MemberController {
     private final MemberService memberService;
+    private final MemberImportService memberImportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new member.
@@ -73,6 +89,56 @@ public class MemberController {
         return ResponseEntity.status(201).body(response);
     }
 
+    /**
+     * Imports members in bulk from a CSV or NDJSON stream.
+     * 
+     * <p><b>Endpoint:</b> POST /api/members/import</p>
+     * <p><b>Request Body:</b> {@code text/csv} with a header row, or {@code application/x-ndjson} with one
+     * MemberRequest object per line; columns/fields are the MemberRequest properties</p>
+     * <p><b>Response:</b> {@code application/x-ndjson}: one MemberImportResult per row, in row order, then a
+     * MemberImportSummary line</p>
+     * 
+     * <p><b>Developer Notes:</b>
+     * <ul>
+     *   <li>Requires the MEMBER_CREATE authority</li>
+     *   <li>Both bodies are streamed: rows are read, written and reported in chunks of member-import.batch-size,
+     *       so memory does not grow with the file (see MEMBER_IMPORT.md)</li>
+     *   <li>Rejected rows (invalid, duplicate in file, already registered) do not stop the import</li>
+     *   <li>The status is 200 once the report has started; read the per-row statuses and the summary</li>
+     *   <li>Imported members get the COMITTE_MEMBER role, like self-registration</li>
+     * </ul>
+     * </p>
+     * 
+     * @param contentType text/csv or application/x-ndjson
+     * @param request the request whose body is read as a stream
+     * @param response the response the report is streamed to
+     * @throws IOException if the request cannot be read or the report cannot be written
+     */
+    @PostMapping(value = "/import", consumes = {RowFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('MEMBER_CREATE')")
+    @Operation(summary = "Bulk import members", description = "Streams CSV or NDJSON rows into members and streams back a per-row NDJSON report. Requires MEMBER_CREATE.")
+    public void importMembers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        RowFormat format = RowFormat.of(contentType);
+        log.info("Importing members from {}", format);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (SequenceWriter report = objectMapper.writer().withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            MemberImportSummary summary = memberImportService.importMembers(request.getInputStream(), format, results -> {
+                try {
+                    report.writeAll(results);
+                    // hand each committed chunk's lines to the client right away
+                    report.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            report.write(summary);
+            log.info("Imported {} of {} members", summary.created(), summary.rows());
+        }
+    }
+
     /**
      * Retrieves a member by their ID.
      * 
@@ -86,17 +152,22 @@ public class MemberController {
      *   <li>Returns HTTP 404 if member not found (handled by service layer)</li>
      *   <li>Avoid exposing sensitive PII in responses - use DTOs to control data exposure</li>
      *   <li>Consider caching for frequently accessed member profiles</li>
+     *   <li>Honours If-None-Match with a weak ETag (see ETagUtil); a match answers 304 after one version-stamp query</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
      * </ul>
      * </p>
      * 
      * @param memberId the ID of the member to retrieve
+     * @param webRequest the current request, used for the conditional GET check
      * @return ResponseEntity with MemberResponse and HTTP 200 status
      */
     @GetMapping("/{memberId}")
     @Operation(summary = "Get member by ID", description = "Retrieves a member's details by their unique identifier. Requires authentication.")
-    public ResponseEntity<MemberResponse> get(@PathVariable Long memberId) {
+    public ResponseEntity<MemberResponse> get(@PathVariable Long memberId, ServletWebRequest webRequest) {
         log.info("Fetching member with ID: {}", memberId);
+        if (ETagUtil.checkNotModified(webRequest, memberService.getETag(memberId))) {
+            return null;
+        }
         MemberResponse response = memberService.get(memberId);
         return ResponseEntity.ok(response);
     }
@@ -2,9 +2,12 @@ package com.ls.auth.model.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "authorities")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authority")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -3,11 +3,14 @@ package com.ls.auth.model.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_password_reset_token_token", columnNames = "token"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +21,9 @@ public class PasswordResetToken {
 
     private String token;
     private String otp;
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Member member;
 
     private LocalDateTime expiryDate;
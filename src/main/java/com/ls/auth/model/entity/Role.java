@@ -2,11 +2,14 @@ package com.ls.auth.model.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
 @Entity
 @Table(name = "roles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,8 +26,13 @@ public class Role {
     @Column(name = "DETAILS", length = 500)
     private String details;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Login fetches authorities with the member's roles (MemberRepository.findByUsernameWithRoles);
+    // elsewhere they load lazily, batched by hibernate.default_batch_fetch_size
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "roles_authorities_map",
             joinColumns = @JoinColumn(name = "ROLE_ID"), inverseJoinColumns = @JoinColumn(name = "AUTHORITY_ID"))
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role.authorities")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Set<Authority> authorities;
 }
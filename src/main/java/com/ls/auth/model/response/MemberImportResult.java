@@ -0,0 +1,35 @@
+package com.ls.auth.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one row of a bulk member import; {@code row} is 1-based and counts data rows only.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MemberImportResult(
+        long row,
+        String username,
+        Status status,
+        Long memberId,
+        String message
+) {
+    public enum Status {
+        CREATED,
+        // failed validation or could not be parsed
+        INVALID,
+        // an earlier row of the same file has the username or email
+        DUPLICATE_IN_FILE,
+        // a member with the username or email already exists
+        ALREADY_EXISTS,
+        // the batch holding the row could not be written
+        FAILED
+    }
+
+    public static MemberImportResult created(long row, String username, Long memberId) {
+        return new MemberImportResult(row, username, Status.CREATED, memberId, null);
+    }
+
+    public static MemberImportResult rejected(long row, String username, Status status, String message) {
+        return new MemberImportResult(row, username, status, null, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ls.auth.model.response;
+
+/**
+ * Last line of a bulk member import report.
+ */
+public record MemberImportSummary(
+        long rows,
+        long created,
+        long rejected,
+        boolean truncated
+) {}
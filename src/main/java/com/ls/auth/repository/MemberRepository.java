@@ -1,6 +1,7 @@
 package com.ls.auth.repository;
 
 import com.ls.auth.model.entity.Member;
+import com.ls.common.model.VersionStamp;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -40,4 +41,8 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
      * Example usage: repository.findByNameContainingIgnoreCaseOrMobileContaining("john", "9876");
      */
     List<Member> findByNameContainingIgnoreCaseOrMobileContaining(String name, String mobile);
-}
\ No newline at end of file
+
+    // ETag source for MemberResponse; role changes bump updatedTimestamp (see MemberService.assignRoles)
+    @Query("SELECT NEW com.ls.common.model.VersionStamp(m.updatedTimestamp, 1L) FROM Member m WHERE m.memberId = :memberId")
+    Optional<VersionStamp> findVersionById(@Param("memberId") Long memberId);
+}
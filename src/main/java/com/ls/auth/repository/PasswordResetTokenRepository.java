@@ -2,11 +2,14 @@ package com.ls.auth.repository;
 
 import com.ls.auth.model.entity.PasswordResetToken;
 import com.ls.auth.model.entity.Member;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+    // The reset flow always needs the member behind the token
+    @EntityGraph(attributePaths = "member")
     Optional<PasswordResetToken> findByToken(String token);
     Optional<PasswordResetToken> findByMember(Member member);
 }
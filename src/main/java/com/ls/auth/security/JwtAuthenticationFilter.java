@@ -2,6 +2,11 @@ package com.ls.auth.security;
 
 import com.ls.auth.service.AuthService;
 import com.ls.auth.service.TokenBlacklistService;
+import com.ls.common.jfr.JwtVerificationEvent;
+import com.ls.common.jfr.TokenCheckEvent;
+import com.ls.common.timing.ServerTiming;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,14 +28,23 @@ import java.util.stream.Collectors;
 /**
  * JWT Authentication Filter that validates tokens on every request.
  * This filter runs before Spring Security's authentication process.
+ * Each protected request increments {@code auth.jwt.requests}, tagged with one of the OUTCOME_* values.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String OUTCOME_AUTHENTICATED = "authenticated";
+    private static final String OUTCOME_MISSING_TOKEN = "missing_token";
+    private static final String OUTCOME_BLACKLISTED = "blacklisted";
+    private static final String OUTCOME_SESSION_EXPIRED = "session_expired";
+    private static final String OUTCOME_INVALID = "invalid";
+    private static final String OUTCOME_ERROR = "error";
+
     private final AuthService authService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -51,22 +65,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
                 // No token provided for protected endpoint
+                countOutcome(OUTCOME_MISSING_TOKEN);
                 sendUnauthorizedResponse(response, "Authentication required. Please provide a valid token.");
                 return;
             }
 
             String token = authHeader.substring(7);
 
+            long checksStart = ServerTiming.start();
+            TokenCheckEvent checkEvent = new TokenCheckEvent();
+            checkEvent.begin();
+            boolean blacklisted = tokenBlacklistService.isTokenBlacklisted(token);
+            boolean sessionExpired = !blacklisted && tokenBlacklistService.isSessionExpired(token);
+            ServerTiming.stop(ServerTiming.Phase.BLACKLIST, checksStart);
+            checkEvent.blacklisted = blacklisted;
+            checkEvent.sessionExpired = sessionExpired;
+            checkEvent.commit();
+
             // Check if token is blacklisted
-            if (tokenBlacklistService.isTokenBlacklisted(token)) {
+            if (blacklisted) {
                 log.warn("Blacklisted token attempted to access: {}", path);
+                countOutcome(OUTCOME_BLACKLISTED);
                 sendUnauthorizedResponse(response, "Token has been invalidated. Please login again.");
                 return;
             }
 
             // Check if session expired due to inactivity
-            if (tokenBlacklistService.isSessionExpired(token)) {
+            if (sessionExpired) {
                 log.warn("Expired session attempted to access: {}", path);
+                countOutcome(OUTCOME_SESSION_EXPIRED);
                 // Automatically blacklist expired session
                 tokenBlacklistService.blacklistToken(token);
                 sendUnauthorizedResponse(response, "Session expired due to inactivity. Please login again.");
@@ -74,14 +101,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             // Validate and extract claims from JWT
-            String username = authService.extractUsername(token);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            long jwtStart = ServerTiming.start();
+            JwtVerificationEvent jwtEvent = new JwtVerificationEvent();
+            jwtEvent.begin();
+            String username;
+            boolean authenticate;
+            com.ls.auth.model.response.LoginUserDetails userDetails = null;
+            try {
+                username = authService.extractUsername(token);
+                authenticate = username != null && SecurityContextHolder.getContext().getAuthentication() == null;
                 // Validate token
-                if (authService.validateToken(token, username)) {
+                if (authenticate && authService.validateToken(token, username)) {
                     // Extract user details from JWT token (without DB call)
-                    com.ls.auth.model.response.LoginUserDetails userDetails = authService.extractUserDetailsFromToken(token);
-                    
+                    userDetails = authService.extractUserDetailsFromToken(token);
+                    jwtEvent.valid = true;
+                }
+            } finally {
+                // also for a token the parser rejects with an exception
+                ServerTiming.stop(ServerTiming.Phase.JWT, jwtStart);
+                jwtEvent.commit();
+            }
+
+            if (authenticate) {
+                if (userDetails != null) {
                     // Create authentication token with LoginUserDetails as principal
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -94,7 +136,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     tokenBlacklistService.updateActivity(token);
                     
                     log.debug("User '{}' authenticated successfully for path: {}", username, path);
+                    countOutcome(OUTCOME_AUTHENTICATED);
                 } else {
+                    countOutcome(OUTCOME_INVALID);
                     sendUnauthorizedResponse(response, "Invalid or expired token.");
                     return;
                 }
@@ -102,6 +146,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         } catch (Exception e) {
             log.error("JWT authentication error: {}", e.getMessage());
+            // a malformed, expired or wrongly signed token is the client's problem, not the filter's
+            countOutcome(e instanceof JwtException ? OUTCOME_INVALID : OUTCOME_ERROR);
             sendUnauthorizedResponse(response, "Authentication failed: " + e.getMessage());
             return;
         }
@@ -121,9 +167,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 || path.startsWith("/swagger-resources")
                 || path.startsWith("/webjars/")
                 || path.equals("/swagger-ui.html")
+                || path.startsWith("/actuator/health")
+                || path.equals("/actuator/prometheus")
                 || path.equals("/error");
     }
 
+    // fixed outcome values only: a tag value taken from the request would make the series count unbounded
+    private void countOutcome(String outcome) {
+        meterRegistry.counter("auth.jwt.requests", "outcome", outcome).increment();
+    }
+
     /**
      * Send unauthorized response with JSON error message
      */
@@ -1,5 +1,7 @@
 package com.ls.auth.security;
 
+import com.ls.comitte.cache.ComitteResponseCacheFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -9,6 +11,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -18,14 +21,17 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ComitteResponseCacheFilter comitteResponseCacheFilter;
 
-    public SecurityConfig(@Lazy JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(@Lazy JwtAuthenticationFilter jwtAuthenticationFilter,
+                          @Lazy ComitteResponseCacheFilter comitteResponseCacheFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.comitteResponseCacheFilter = comitteResponseCacheFilter;
     }
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedBCryptPasswordEncoder(meterRegistry);
     }
 
     @Bean
@@ -44,6 +50,8 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll()
                         .requestMatchers("/api/auth/register", "/api/auth/login").permitAll()
                         .requestMatchers("/api/password/**").permitAll()
+                        // Health and the Prometheus scrape; restrict /actuator to the monitoring network at the ingress
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                         // Require ADMIN role for admin endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         // All other requests require authentication (JWT validation)
@@ -51,7 +59,10 @@ public class SecurityConfig {
                 )
 
                 // 4. Add JWT authentication filter before UsernamePasswordAuthenticationFilter
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // 5. Serve cached comitte GET responses once the request is authenticated and authorized
+                .addFilterAfter(comitteResponseCacheFilter, AuthorizationFilter.class);
 
         return http.build();
     }
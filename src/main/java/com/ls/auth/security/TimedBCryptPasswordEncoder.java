@@ -0,0 +1,37 @@
+package com.ls.auth.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * {@link BCryptPasswordEncoder} that records every hash in the {@code auth.password.hash} timer, tagged with the
+ * operation: {@code encode} (registration, password reset, member import) or {@code matches} (login).
+ */
+public class TimedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public TimedBCryptPasswordEncoder(MeterRegistry meterRegistry) {
+        this.encodeTimer = timer(meterRegistry, "encode");
+        this.matchesTimer = timer(meterRegistry, "matches");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> super.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matchesTimer.record(() -> super.matches(rawPassword, encodedPassword));
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash")
+                .description("BCrypt hashing time")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -78,11 +78,22 @@ public class AuthService {
             throw new RuntimeException("invalid credentials");
         }
         log.info("Creating token for user: {}", loginRequest.getUsernameOrEmail());
-        byte[] decodedSecret = Base64.getDecoder().decode(jwtSecret);
-        
-        // Prepare user details
         LoginUserDetails loginUserDetails = prepareLoginUserDetails(user);
-        
+        String token = createToken(user.getUsername(), loginUserDetails);
+
+        log.info("Login successful for user: {}", user.getUsername());
+
+        // Initialize session tracking
+        tokenBlacklistService.updateActivity(token);
+        return new LoginResponse(token, "Bearer", jwtExpirationMs, loginUserDetails);
+    }
+
+    /**
+     * Signs a JWT carrying all user details as claims, so requests authenticate without a DB call
+     */
+    public String createToken(String username, LoginUserDetails loginUserDetails) {
+        byte[] decodedSecret = Base64.getDecoder().decode(jwtSecret);
+
         // Store all user details in claims
         Map<String, Object> claims = new HashMap<>();
         claims.put("memberId", loginUserDetails.getMemberId());
@@ -92,20 +103,14 @@ public class AuthService {
         claims.put("roleIds", new ArrayList<>(loginUserDetails.getGrantedRoleIds()));
         claims.put("roleNames", new ArrayList<>(loginUserDetails.getGrantedRoleNames()));
         claims.put("authorityNames", new ArrayList<>(loginUserDetails.getGrantedAuthorities()));
-        
-        String token = Jwts.builder()
+
+        return Jwts.builder()
                 .setClaims(claims)
-                .setSubject(user.getUsername())
+                .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
                 .signWith(SignatureAlgorithm.HS512, decodedSecret)
                 .compact();
-
-        log.info("Login successful for user: {}", user.getUsername());
-
-        // Initialize session tracking
-        tokenBlacklistService.updateActivity(token);
-        return new LoginResponse(token, "Bearer", jwtExpirationMs, loginUserDetails);
     }
 
     public LoginUserDetails prepareLoginUserDetails(Member member) {
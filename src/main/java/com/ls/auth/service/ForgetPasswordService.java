@@ -6,6 +6,7 @@ import com.ls.auth.model.entity.PasswordResetToken;
 import com.ls.auth.repository.PasswordResetTokenRepository;
 import com.ls.auth.model.entity.Member;
 import com.ls.auth.repository.MemberRepository;
+import com.ls.common.cache.CacheInvalidationBus;
 import com.ls.common.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +37,8 @@ public class ForgetPasswordService {
     MemberRepository memberRepository;
     @Autowired
     private PasswordResetTokenRepository passwordResetTokenRepository;
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
 
     @Value("${email.password-reset-email-subject}")
     private String passwordResetEmailSubject;
@@ -61,6 +64,7 @@ public class ForgetPasswordService {
         Member member = validateTokenAndGetMember(request);
         member.setPassword(passwordEncoder.encode(request.getNewPassword()));
         memberRepository.save(member);
+        cacheInvalidationBus.memberChanged(member.getMemberId());
         log.info("Password reset successfull for user: {}", member.getUsername());
     }
 
@@ -0,0 +1,293 @@
+package com.ls.auth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ls.auth.model.entity.Role;
+import com.ls.auth.model.request.MemberRequest;
+import com.ls.auth.model.response.MemberImportResult;
+import com.ls.auth.model.response.MemberImportResult.Status;
+import com.ls.auth.model.response.MemberImportSummary;
+import com.ls.auth.repository.RoleRepository;
+import com.ls.common.util.ImportRowReader;
+import com.ls.common.util.ImportRowReader.Row;
+import com.ls.common.util.RowFormat;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk member import from a CSV or NDJSON stream.
+ *
+ * <p>Rows are parsed one at a time and processed in chunks of {@code member-import.batch-size}, so memory
+ * stays flat whatever the file size. Per chunk:
+ * <ol>
+ *   <li>Bean validation plus in-chunk duplicate detection</li>
+ *   <li>One query for usernames and emails that already exist (earlier chunks are committed, so this
+ *       also catches duplicates across chunks)</li>
+ *   <li>BCrypt on the shared, bounded {@code passwordHashExecutor}</li>
+ *   <li>One JDBC batch of {@code INSERT ... ON CONFLICT DO NOTHING RETURNING member_id}, plus one batch of
+ *       default role mappings, in a transaction of its own</li>
+ * </ol>
+ * Each chunk's per-row results go to the caller's sink as soon as the chunk commits.</p>
+ */
+@Service
+@Slf4j
+public class MemberImportService {
+
+    // same default role as self-registration (AuthService.register)
+    private static final String DEFAULT_ROLE = "COMITTE_MEMBER";
+
+    private static final String INSERT_MEMBER = "INSERT INTO members " +
+            "(username, email, password, mobile, name, aadhar_no, address, dob, created_timestamp, updated_timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, now(), now()) ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService passwordHashExecutor;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long maxRows;
+
+    public MemberImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                               @Qualifier("passwordHashExecutor") ExecutorService passwordHashExecutor,
+                               Validator validator, ObjectMapper objectMapper,
+                               @Value("${member-import.batch-size:500}") int batchSize,
+                               @Value("${member-import.max-rows:100000}") long maxRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Imports every row of {@code input}; results are handed to {@code sink} one chunk at a time, in row order.
+     * Rows past {@code member-import.max-rows} are not read and the summary is marked truncated.
+     */
+    public MemberImportSummary importMembers(InputStream input, RowFormat format, Consumer<List<MemberImportResult>> sink)
+            throws IOException {
+        Long defaultRoleId = roleRepository.findByRoleName(DEFAULT_ROLE).map(Role::getRoleId).orElse(null);
+        Counts counts = new Counts();
+        boolean truncated = false;
+
+        try (ImportRowReader<MemberRequest> rows = ImportRowReader.open(input, format, objectMapper, MemberRequest.class)) {
+            List<Row<MemberRequest>> chunk = new ArrayList<>(batchSize);
+            for (Row<MemberRequest> row = rows.next(); row != null; row = rows.next()) {
+                if (row.number() > maxRows) {
+                    truncated = true;
+                    break;
+                }
+                chunk.add(row);
+                if (chunk.size() == batchSize || row.fatal()) {
+                    counts.add(importChunk(chunk, defaultRoleId), sink);
+                    chunk = new ArrayList<>(batchSize);
+                }
+                if (row.fatal()) {
+                    break;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                counts.add(importChunk(chunk, defaultRoleId), sink);
+            }
+        }
+        log.info("Member import: {} rows, {} created, {} rejected{}", counts.rows, counts.created,
+                counts.rows - counts.created, truncated ? " (truncated at max-rows)" : "");
+        return new MemberImportSummary(counts.rows, counts.created, counts.rows - counts.created, truncated);
+    }
+
+    // SQL: 1 select (existing usernames/emails), 1 batch insert members, 1 batch insert role mappings
+    private List<MemberImportResult> importChunk(List<Row<MemberRequest>> chunk, Long defaultRoleId) {
+        MemberImportResult[] results = new MemberImportResult[chunk.size()];
+        List<Integer> candidates = validateAndDedupe(chunk, results);
+        candidates = rejectExisting(chunk, candidates, results);
+
+        List<Future<String>> hashes = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            String password = chunk.get(i).value().getPassword();
+            hashes.add(password == null ? null : passwordHashExecutor.submit(() -> passwordEncoder.encode(password)));
+        }
+
+        try {
+            List<String> encoded = new ArrayList<>(hashes.size());
+            for (Future<String> hash : hashes) {
+                encoded.add(hash == null ? null : hash.get());
+            }
+            List<Integer> toInsert = candidates;
+            transactionTemplate.executeWithoutResult(status -> insert(chunk, toInsert, encoded, defaultRoleId, results));
+        } catch (DataAccessException | ExecutionException e) {
+            log.warn("Member import batch of {} rows failed: {}", candidates.size(), e.getMessage());
+            for (int i : candidates) {
+                results[i] = MemberImportResult.rejected(chunk.get(i).number(), chunk.get(i).value().getUsername(),
+                        Status.FAILED, "batch failed: " + e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Member import interrupted", e);
+        }
+        return List.of(results);
+    }
+
+    // returns the indexes of rows still eligible; rejected rows get their result filled in
+    private List<Integer> validateAndDedupe(List<Row<MemberRequest>> chunk, MemberImportResult[] results) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Row<MemberRequest> row = chunk.get(i);
+            if (row.error() != null) {
+                results[i] = MemberImportResult.rejected(row.number(), null, Status.INVALID, row.error());
+                continue;
+            }
+            MemberRequest request = row.value();
+            String problem = validate(request);
+            if (problem != null) {
+                results[i] = MemberImportResult.rejected(row.number(), request.getUsername(), Status.INVALID, problem);
+            } else if (usernames.contains(request.getUsername()) || emails.contains(request.getEmail())) {
+                results[i] = MemberImportResult.rejected(row.number(), request.getUsername(), Status.DUPLICATE_IN_FILE,
+                        "username or email repeats an earlier row");
+            } else {
+                usernames.add(request.getUsername());
+                emails.add(request.getEmail());
+                candidates.add(i);
+            }
+        }
+        return candidates;
+    }
+
+    private String validate(MemberRequest request) {
+        Set<ConstraintViolation<MemberRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted().collect(Collectors.joining(", "));
+        }
+        // members.email is NOT NULL UNIQUE
+        if (request.getEmail() == null || request.getEmail().isBlank()) {
+            return "email must not be blank";
+        }
+        return null;
+    }
+
+    // SQL: 1 select for the whole chunk
+    private List<Integer> rejectExisting(List<Row<MemberRequest>> chunk, List<Integer> candidates, MemberImportResult[] results) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        String[] usernames = candidates.stream().map(i -> chunk.get(i).value().getUsername()).toArray(String[]::new);
+        String[] emails = candidates.stream().map(i -> chunk.get(i).value().getEmail()).toArray(String[]::new);
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        jdbcTemplate.query("SELECT username, email FROM members WHERE username = ANY (?) OR email = ANY (?)",
+                (RowCallbackHandler) rs -> {
+                    takenUsernames.add(rs.getString(1));
+                    takenEmails.add(rs.getString(2));
+                }, usernames, emails);
+
+        List<Integer> remaining = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            MemberRequest request = chunk.get(i).value();
+            if (takenUsernames.contains(request.getUsername()) || takenEmails.contains(request.getEmail())) {
+                results[i] = MemberImportResult.rejected(chunk.get(i).number(), request.getUsername(),
+                        Status.ALREADY_EXISTS, "username or email already registered");
+            } else {
+                remaining.add(i);
+            }
+        }
+        return remaining;
+    }
+
+    private void insert(List<Row<MemberRequest>> chunk, List<Integer> rows, List<String> encodedPasswords, Long defaultRoleId,
+                        MemberImportResult[] results) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Long> memberIds = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_MEMBER, new String[]{"member_id"})) {
+                for (int k = 0; k < rows.size(); k++) {
+                    MemberRequest request = chunk.get(rows.get(k)).value();
+                    ps.setString(1, request.getUsername());
+                    ps.setString(2, request.getEmail());
+                    ps.setString(3, encodedPasswords.get(k));
+                    ps.setString(4, request.getMobile());
+                    ps.setString(5, request.getName());
+                    ps.setString(6, request.getAadharNo());
+                    ps.setString(7, request.getAddress());
+                    ps.setDate(8, request.getDob() == null ? null : Date.valueOf(request.getDob()));
+                    ps.addBatch();
+                }
+                int[] counts = ps.executeBatch();
+                // generated keys come back only for inserted rows, in batch order
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (int count : counts) {
+                        ids.add(count > 0 && keys.next() ? keys.getLong(1) : null);
+                    }
+                }
+                return ids;
+            }
+        });
+
+        List<Long> created = new ArrayList<>(rows.size());
+        for (int k = 0; k < rows.size(); k++) {
+            Row<MemberRequest> row = chunk.get(rows.get(k));
+            Long memberId = memberIds.get(k);
+            if (memberId == null) {
+                // inserted by someone else between the existence check and the batch
+                results[rows.get(k)] = MemberImportResult.rejected(row.number(), row.value().getUsername(),
+                        Status.ALREADY_EXISTS, "username or email already registered");
+            } else {
+                results[rows.get(k)] = MemberImportResult.created(row.number(), row.value().getUsername(), memberId);
+                created.add(memberId);
+            }
+        }
+        if (defaultRoleId != null && !created.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO user_role_map (user_id, role_id) VALUES (?, ?)", created, created.size(),
+                    (ps, memberId) -> {
+                        ps.setLong(1, memberId);
+                        ps.setLong(2, defaultRoleId);
+                    });
+        }
+    }
+
+    private static final class Counts {
+        private long rows;
+        private long created;
+
+        void add(List<MemberImportResult> results, Consumer<List<MemberImportResult>> sink) {
+            rows += results.size();
+            created += results.stream().filter(r -> r.status() == Status.CREATED).count();
+            sink.accept(results);
+        }
+    }
+}
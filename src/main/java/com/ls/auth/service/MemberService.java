@@ -9,10 +9,12 @@ import com.ls.auth.model.entity.Member;
 import com.ls.auth.model.entity.Role;
 import com.ls.auth.repository.MemberRepository;
 import com.ls.auth.repository.RoleRepository;
+import com.ls.common.cache.CacheInvalidationBus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import jakarta.transaction.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -24,6 +26,7 @@ public class MemberService {
     private static final String MEMBER_NOT_FOUND = "Member not found";
     private final MemberRepository memberRepository;
     private final RoleRepository roleRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
 
     public MemberResponse get(Long id) {
@@ -31,6 +34,11 @@ public class MemberService {
                 .orElseThrow(() -> new RuntimeException(MEMBER_NOT_FOUND));
     }
 
+    // weak ETag for get(id); null if the member does not exist
+    public String getETag(Long id) {
+        return memberRepository.findVersionById(id).map(version -> version.toWeakETag(id)).orElse(null);
+    }
+
     @Transactional
     public MemberResponse create(MemberRequest memberRequest) {
         Member member = mapper.toEntity(memberRequest);
@@ -43,12 +51,15 @@ public class MemberService {
         Member member = memberRepository.findById(id).orElseThrow(() -> new RuntimeException(MEMBER_NOT_FOUND));
         ServiceUtil.update(member, memberRequest);
         memberRepository.save(member);
+        // member names and mobiles are embedded in cached comitte, member and bid responses
+        cacheInvalidationBus.memberChanged(id);
         return mapper.toResponse(member);
     }
 
     @Transactional
     public void delete(Long id) {
         memberRepository.deleteById(id);
+        cacheInvalidationBus.memberChanged(id);
     }
 
     @Transactional
@@ -57,7 +68,10 @@ public class MemberService {
         Set<Role> roles = dto.getRoleNames().stream().map(rn -> roleRepository.findByRoleName(rn)
                 .orElseThrow(() -> new RuntimeException(MEMBER_NOT_FOUND + rn))).collect(Collectors.toSet());
         member.setRoles(roles);
+        // a collection-only change leaves the row clean; touch it so updatedTimestamp (and the ETag) moves
+        member.setUpdatedTimestamp(LocalDateTime.now());
         memberRepository.save(member);
+        cacheInvalidationBus.memberChanged(id);
         return mapper.toResponse(member);
     }
 
@@ -80,6 +80,20 @@ public class TokenBlacklistService {
         return SESSION_TIMEOUT_SECONDS;
     }
     
+    /**
+     * Number of blacklisted tokens held in memory (auth.token.blacklist.size gauge)
+     */
+    public int getBlacklistedTokenCount() {
+        return blacklistedTokens.size();
+    }
+
+    /**
+     * Number of tokens with tracked session activity (auth.session.tracked gauge)
+     */
+    public int getTrackedSessionCount() {
+        return tokenLastActivity.size();
+    }
+
     /**
      * Remove tokens that have been blacklisted for more than 1 hour
      */
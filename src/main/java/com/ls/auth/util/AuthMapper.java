@@ -3,13 +3,14 @@ package com.ls.auth.util;
 import com.ls.auth.model.entity.Member;
 import com.ls.auth.model.request.MemberRequest;
 import com.ls.auth.model.response.MemberResponse;
+import com.ls.common.jfr.MapperEvents;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
 public interface AuthMapper {
-    AuthMapper INSTANCE = Mappers.getMapper(AuthMapper.class);
+    AuthMapper INSTANCE = MapperEvents.instrument(AuthMapper.class, Mappers.getMapper(AuthMapper.class));
 
     MemberResponse toResponse(Member member);
 
@@ -0,0 +1,101 @@
+package com.ls.comitte.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ls.common.cache.CacheInvalidation;
+import com.ls.common.cache.LocalCacheInvalidator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Serialized JSON of the per-comitte GET endpoints, keyed by comitte id and resource.
+ *
+ * <p>The response cache is bounded by total bytes (Caffeine's size-based W-TinyLFU eviction) and a TTL.
+ * Writers report every comitte id they touch to {@link com.ls.common.cache.CacheInvalidationBus}, which calls
+ * {@link #invalidate} after commit on every node; a per-comitte generation counter keeps a response rendered
+ * from pre-commit data from being stored after that eviction ran.</p>
+ */
+@Slf4j
+public class ComitteResponseCache implements LocalCacheInvalidator {
+
+    public enum Resource { COMITTE, MEMBERS, BIDS }
+
+    /**
+     * A rendered 200 response: its JSON body and the ETag the controller sent with it (may be null).
+     */
+    public record CachedResponse(byte[] body, String eTag) {}
+
+    private record Key(long comitteId, Resource resource) {}
+
+    // Rough per-entry overhead (key, node, array header) so many small bodies still count against the bound
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int GENERATION_STRIPES = 64;
+
+    private final Cache<Key, CachedResponse> responses;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ComitteResponseCache(ResponseCacheProperties properties) {
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((Key key, CachedResponse response) -> response.body().length + ENTRY_OVERHEAD_BYTES)
+                .expireAfterWrite(properties.getTimeToLive())
+                .build();
+    }
+
+    public CachedResponse get(long comitteId, Resource resource) {
+        return responses.getIfPresent(new Key(comitteId, resource));
+    }
+
+    /**
+     * @return the current generation of the comitte; pass it back to {@link #put} once the response is rendered
+     */
+    public long generation(long comitteId) {
+        return generations.get(stripe(comitteId));
+    }
+
+    /**
+     * Stores a rendered response unless the comitte was evicted since {@code generation} was read.
+     */
+    public void put(long comitteId, Resource resource, CachedResponse response, long generation) {
+        Key key = new Key(comitteId, resource);
+        responses.put(key, response);
+        // Evictions bump the generation before invalidating, so either they removed this entry or we see the bump
+        if (generations.get(stripe(comitteId)) != generation) {
+            responses.invalidate(key);
+        }
+    }
+
+    /**
+     * Evicts the comittes' responses. Member changes evict everything, because member names
+     * and mobiles show up in every comitte the member belongs to.
+     */
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        if (invalidation.all() || !invalidation.memberIds().isEmpty()) {
+            evictAll();
+            return;
+        }
+        invalidation.comitteIds().forEach(this::evict);
+    }
+
+    private void evict(long comitteId) {
+        generations.incrementAndGet(stripe(comitteId));
+        for (Resource resource : Resource.values()) {
+            responses.invalidate(new Key(comitteId, resource));
+        }
+        log.debug("Evicted cached responses for comitte {}", comitteId);
+    }
+
+    private void evictAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        responses.invalidateAll();
+        log.debug("Evicted all cached comitte responses");
+    }
+
+    private static int stripe(long comitteId) {
+        return Long.hashCode(comitteId) & (GENERATION_STRIPES - 1);
+    }
+}
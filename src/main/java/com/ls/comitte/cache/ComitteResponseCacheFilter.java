@@ -0,0 +1,136 @@
+package com.ls.comitte.cache;
+
+import com.ls.comitte.security.ComitteAccess;
+import com.ls.common.datasource.ReplicaRoutingDataSource;
+import com.ls.common.util.ETagUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves {@code GET /api/comittes/{id}}, {@code /{id}/members} and {@code /{id}/bids} from
+ * {@link ComitteResponseCache}, skipping the queries, mapping and JSON serialization on a hit.
+ *
+ * <p>Runs inside the security chain after authorization, so the caller is authenticated. A cached body is
+ * only served when {@link ComitteAccess#canRead} allows it (owner, mapped members, admins); everyone else
+ * goes through the controller, whose {@code @PreAuthorize} rejects them.</p>
+ *
+ * <p>Misses are rendered from the primary, never from a read replica, so a stored body is never older than
+ * the eviction that preceded it.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ComitteResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern CACHEABLE_PATH = Pattern.compile("^/api/comittes/(\\d+)(/members|/bids)?/?$");
+
+    private final ComitteResponseCache cache;
+    private final ComitteAccess comitteAccess;
+    private final ResponseCacheProperties properties;
+    private final HandlerMappingIntrospector corsConfigurationSource;
+    private final DefaultCorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        Matcher matcher = CACHEABLE_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long comitteId;
+        try {
+            comitteId = Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ComitteResponseCache.Resource resource = resourceOf(matcher.group(2));
+
+        if (!comitteAccess.canRead(comitteId)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ComitteResponseCache.CachedResponse cached = cache.get(comitteId, resource);
+        if (cached != null) {
+            log.debug("Serving cached {} response for comitte {}", resource, comitteId);
+            writeCached(request, response, cached);
+            return;
+        }
+
+        long generation = cache.generation(comitteId);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        // A miss usually follows an eviction, whose write a replica may not have replayed yet; what is stored is
+        // served until the next eviction, so it is rendered from the primary
+        try (ReplicaRoutingDataSource.PrimaryOnly primaryOnly = ReplicaRoutingDataSource.primaryOnly()) {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() == HttpStatus.OK.value() && isJson(wrapper.getContentType())) {
+                cache.put(comitteId, resource, new ComitteResponseCache.CachedResponse(
+                        wrapper.getContentAsByteArray(), wrapper.getHeader(HttpHeaders.ETAG)), generation);
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void writeCached(HttpServletRequest request, HttpServletResponse response,
+                             ComitteResponseCache.CachedResponse cached) throws IOException {
+        // MVC applies CORS headers in the handler mapping, which a cache hit never reaches
+        if (CorsUtils.isCorsRequest(request)) {
+            CorsConfiguration corsConfiguration = corsConfigurationSource.getCorsConfiguration(request);
+            if (!corsProcessor.processRequest(corsConfiguration, request, response)) {
+                return;
+            }
+        }
+        // The stored ETag is current for as long as the entry lives, so a match needs no query at all
+        if (ETagUtil.checkNotModified(new ServletWebRequest(request, response), cached.eTag())) {
+            return;
+        }
+        byte[] body = cached.body();
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static ComitteResponseCache.Resource resourceOf(String suffix) {
+        if (suffix == null) {
+            return ComitteResponseCache.Resource.COMITTE;
+        }
+        return "/members".equals(suffix) ? ComitteResponseCache.Resource.MEMBERS : ComitteResponseCache.Resource.BIDS;
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+}
@@ -0,0 +1,271 @@
+package com.ls.comitte.cache;
+
+import com.ls.common.cache.CacheInvalidation;
+import com.ls.common.cache.LocalCacheInvalidator;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory adjacency between members and comittes (ownership and membership), held in primitive long
+ * collections, so "which comittes is this member in" needs no query and the comittes can be fetched by
+ * primary key.
+ *
+ * <p>Loaded once at startup and on every full flush. Afterwards it follows {@link CacheInvalidation}s: each
+ * changed comitte's owner and members are re-read from the primary (a committed write here or on another
+ * node). Refreshes run one at a time, so a refresh that queried earlier can never overwrite one that queried
+ * later. Member-only changes need nothing: a member with comittes cannot be deleted.</p>
+ *
+ * <p>A failed load or refresh leaves it unloaded; {@link #retryLoad} loads it again on a schedule, so it
+ * recovers even when no full flush ever comes (e.g. with {@code cache-invalidation.enabled=false}).</p>
+ */
+@Slf4j
+public class MembershipIndex implements LocalCacheInvalidator, ApplicationListener<ApplicationReadyEvent> {
+
+    private static final long[] NONE = new long[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Orders query + apply of concurrent refreshes
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private Graph graph = new Graph();
+    private volatile boolean loaded;
+
+    /**
+     * @param jdbcTemplate        template on the primary with a fetch size suited to streaming the full load
+     * @param transactionTemplate read-write {@code PROPAGATION_REQUIRES_NEW} template; Postgres only streams with a
+     *                            cursor inside a transaction, and invalidations run in the writer's {@code afterCommit},
+     *                            whose finished transaction still holds its connection
+     */
+    public MembershipIndex(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return false until the first load finished (or when disabled); callers then fall back to queries
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // comittes the member owns or is mapped to
+    public long[] myComitteIds(long memberId) {
+        lock.readLock().lock();
+        try {
+            LongOpenHashSet owned = graph.comittesByOwner.get(memberId);
+            LongOpenHashSet mapped = graph.comittesByMember.get(memberId);
+            if (owned == null) {
+                return toArray(mapped);
+            }
+            if (mapped == null) {
+                return owned.toLongArray();
+            }
+            LongOpenHashSet all = new LongOpenHashSet(owned);
+            all.addAll(mapped);
+            return all.toLongArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // comittes the member is mapped to
+    public long[] memberComitteIds(long memberId) {
+        lock.readLock().lock();
+        try {
+            return toArray(graph.comittesByMember.get(memberId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] ownedComitteIds(long ownerId) {
+        lock.readLock().lock();
+        try {
+            return toArray(graph.comittesByOwner.get(ownerId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] memberIds(long comitteId) {
+        lock.readLock().lock();
+        try {
+            return toArray(graph.membersByComitte.get(comitteId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull ApplicationReadyEvent event) {
+        // The invalidation listener's flush on connect may already have loaded it (or be loading it)
+        loadIfUnloaded();
+    }
+
+    /**
+     * Loads the index if a load or refresh failed since the last successful one; a no-op otherwise.
+     */
+    @Scheduled(initialDelayString = "${membership-index.retry-interval-ms:30000}",
+            fixedDelayString = "${membership-index.retry-interval-ms:30000}")
+    public void retryLoad() {
+        loadIfUnloaded();
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        if (!enabled) {
+            return;
+        }
+        if (invalidation.all()) {
+            load();
+        } else if (!invalidation.comitteIds().isEmpty()) {
+            refresh(invalidation.comitteIds());
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from the primary; readers keep using the previous one until it is swapped in.
+     */
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            long start = System.nanoTime();
+            Graph loading = new Graph();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.query("SELECT comitte_id, owner_id FROM comittes",
+                        rs -> { loading.setOwner(rs.getLong(1), rs.getLong(2)); });
+                jdbcTemplate.query("SELECT comitte_id, member_id FROM comitte_member_map",
+                        rs -> { loading.addMember(rs.getLong(1), rs.getLong(2)); });
+            });
+            lock.writeLock().lock();
+            try {
+                graph = loading;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loaded = true;
+            log.info("Loaded membership index: {} comittes, {} members in {} ms", loading.ownerByComitte.size(),
+                    loading.comittesByMember.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Until a later flush or retry loads it, callers keep querying the database
+            log.error("Loading the membership index failed", e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void loadIfUnloaded() {
+        if (!enabled) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            if (!loaded) {
+                load();
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void refresh(Set<Long> comitteIds) {
+        Long[] ids = comitteIds.toArray(Long[]::new);
+        refreshLock.lock();
+        try {
+            // Checked under the lock: a load in progress may have read the comittes before this change committed,
+            // so the refresh has to wait for it rather than skip
+            if (!loaded) {
+                return;
+            }
+            Graph changed = new Graph();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.query("SELECT comitte_id, owner_id FROM comittes WHERE comitte_id = ANY (?)",
+                        rs -> { changed.setOwner(rs.getLong(1), rs.getLong(2)); }, (Object) ids);
+                jdbcTemplate.query("SELECT comitte_id, member_id FROM comitte_member_map WHERE comitte_id = ANY (?)",
+                        rs -> { changed.addMember(rs.getLong(1), rs.getLong(2)); }, (Object) ids);
+            });
+            lock.writeLock().lock();
+            try {
+                for (Long comitteId : ids) {
+                    graph.removeComitte(comitteId);
+                }
+                graph.merge(changed);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            // A partially known comitte would answer wrongly; fall back to queries until the next (retried) load
+            loaded = false;
+            log.error("Refreshing the membership index for comittes {} failed", comitteIds, e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private static long[] toArray(LongOpenHashSet ids) {
+        return ids == null ? NONE : ids.toLongArray();
+    }
+
+    /**
+     * Both directions of both relations; not thread-safe on its own.
+     */
+    private static class Graph {
+        private final Long2LongOpenHashMap ownerByComitte = new Long2LongOpenHashMap();
+        private final Long2ObjectOpenHashMap<LongOpenHashSet> comittesByOwner = new Long2ObjectOpenHashMap<>();
+        private final Long2ObjectOpenHashMap<LongOpenHashSet> membersByComitte = new Long2ObjectOpenHashMap<>();
+        private final Long2ObjectOpenHashMap<LongOpenHashSet> comittesByMember = new Long2ObjectOpenHashMap<>();
+
+        void setOwner(long comitteId, long ownerId) {
+            ownerByComitte.put(comitteId, ownerId);
+            comittesByOwner.computeIfAbsent(ownerId, id -> new LongOpenHashSet(4)).add(comitteId);
+        }
+
+        void addMember(long comitteId, long memberId) {
+            membersByComitte.computeIfAbsent(comitteId, id -> new LongOpenHashSet(8)).add(memberId);
+            comittesByMember.computeIfAbsent(memberId, id -> new LongOpenHashSet(4)).add(comitteId);
+        }
+
+        void removeComitte(long comitteId) {
+            if (ownerByComitte.containsKey(comitteId)) {
+                unlink(comittesByOwner, ownerByComitte.remove(comitteId), comitteId);
+            }
+            LongOpenHashSet memberIds = membersByComitte.remove(comitteId);
+            if (memberIds != null) {
+                memberIds.forEach(memberId -> unlink(comittesByMember, memberId, comitteId));
+            }
+        }
+
+        void merge(Graph other) {
+            other.ownerByComitte.long2LongEntrySet().fastForEach(e -> setOwner(e.getLongKey(), e.getLongValue()));
+            other.membersByComitte.long2ObjectEntrySet().fastForEach(
+                    e -> e.getValue().forEach(memberId -> addMember(e.getLongKey(), memberId)));
+        }
+
+        private static void unlink(Long2ObjectOpenHashMap<LongOpenHashSet> index, long key, long comitteId) {
+            LongOpenHashSet comitteIds = index.get(key);
+            if (comitteIds != null && comitteIds.remove(comitteId) && comitteIds.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ls.comitte.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the serialized comitte response cache, bound from the {@code response-cache.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on the cached JSON bytes; least valuable entries are evicted beyond it
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    // Safety net for changes that bypass the services (manual SQL)
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
@@ -1,17 +1,28 @@
 package com.ls.comitte.controller;
 
 import com.ls.comitte.model.request.BidRequest;
+import com.ls.comitte.model.response.BidImportResponse;
 import com.ls.comitte.model.response.BidResponse;
+import com.ls.comitte.service.BidImportService;
 import com.ls.comitte.service.BidService;
+import com.ls.common.util.ETagUtil;
+import com.ls.common.util.RowFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -41,7 +52,10 @@ import java.util.List;
 @Tag(name = "Bids", description = "Bid management APIs")
 @SecurityRequirement(name = "bearerAuth")
 public class BidController {
+    private static final String MEMBER_OR_ADMIN = "hasRole('ADMIN') or principal.memberId == #memberId";
+
     private final BidService bidService;
+    private final BidImportService bidImportService;
 
     /**
      * Creates a new bid.
@@ -72,6 +86,48 @@ public class BidController {
         return ResponseEntity.status(201).body(response);
     }
 
+    /**
+     * Imports the past rounds of a committee from a CSV or NDJSON stream.
+     * 
+     * <p><b>Endpoint:</b> POST /api/bids/comitte/{comitteId}/import</p>
+     * <p><b>Path Variable:</b> comitteId (Long) - The committee the rounds belong to</p>
+     * <p><b>Request Body:</b> {@code text/csv} with a header row, or {@code application/x-ndjson}; one
+     * HistoricalBidRequest (finalBidder, finalBidAmt, bidDate) per row</p>
+     * <p><b>Response:</b> BidImportResponse (JSON) with HTTP 200 OK, or HTTP 422 with the rejected rows</p>
+     * 
+     * <p><b>Developer Notes:</b>
+     * <ul>
+     *   <li>Restricted to the committee's owner and admins via @comitteAccess.isOwner</li>
+     *   <li>All or nothing: any rejected row (unreadable, invalid, unknown or unmapped bidder, amount above
+     *       fullAmount, date before startDate, more rounds than totalShares) writes nothing</li>
+     *   <li>comitteNumber follows bidDate across imported and existing bids; existing bids are renumbered if needed</li>
+     *   <li>Rows are staged and checked set-based, then written with one insert (see BID_IMPORT.md)</li>
+     *   <li>Returns HTTP 404 if the committee does not exist</li>
+     * </ul>
+     * </p>
+     * 
+     * @param comitteId the ID of the committee to import rounds into
+     * @param contentType text/csv or application/x-ndjson
+     * @param request the request whose body is read as a stream
+     * @return ResponseEntity with BidImportResponse and HTTP 200, or HTTP 422 if rows were rejected
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/comitte/{comitteId}/import",
+            consumes = {RowFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("@comitteAccess.isOwner(#comitteId)")
+    @Operation(summary = "Import historical bids", description = "Imports a committee's past rounds from CSV or NDJSON in one all-or-nothing batch; comitteNumber follows bidDate. Owner or admin only.")
+    public ResponseEntity<BidImportResponse> importHistory(@PathVariable Long comitteId,
+                                                           @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                           HttpServletRequest request) throws IOException {
+        log.info("Importing historical bids for comitte ID: {}", comitteId);
+        BidImportResponse response = bidImportService.importBids(comitteId, request.getInputStream(),
+                RowFormat.of(contentType));
+        if (response.rejected() > 0) {
+            return ResponseEntity.unprocessableEntity().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Retrieves a bid by its ID.
      * 
@@ -81,21 +137,28 @@ public class BidController {
      * 
      * <p><b>Developer Notes:</b>
      * <ul>
-     *   <li>TODO: Add @PreAuthorize to ensure users can only view authorized bids</li>
+     *   <li>Restricted to the bid's committee owner, its members and admins via @PostAuthorize on the loaded bid's comitteId (cached decision, see COMITTE_ACCESS.md); others get 403</li>
+     *   <li>A 304 carries no body and is not re-checked; it requires the exact current ETag, which only an earlier authorized 200 reveals</li>
      *   <li>Returns HTTP 404 if bid not found (handled by service layer)</li>
      *   <li>Response includes bid details but should not expose sensitive PII</li>
      *   <li>Consider caching for frequently accessed bids</li>
+     *   <li>Honours If-None-Match with a weak ETag (see ETagUtil); a match answers 304 after one version-stamp query</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
      * </ul>
      * </p>
      * 
      * @param bidId the ID of the bid to retrieve
+     * @param webRequest the current request, used for the conditional GET check
      * @return ResponseEntity with BidResponse and HTTP 200 status
      */
     @GetMapping("/{bidId}")
+    @PostAuthorize("returnObject == null or @comitteAccess.canRead(returnObject.body.comitteId)")
     @Operation(summary = "Get bid by ID", description = "Retrieves detailed information about a bid by its unique identifier. Requires authentication.")
-    public ResponseEntity<BidResponse> get(@PathVariable Long bidId) {
+    public ResponseEntity<BidResponse> get(@PathVariable Long bidId, ServletWebRequest webRequest) {
         log.info("Fetching bid with ID: {}", bidId);
+        if (ETagUtil.checkNotModified(webRequest, bidService.getETag(bidId))) {
+            return null;
+        }
         BidResponse response = bidService.get(bidId);
         return ResponseEntity.ok(response);
     }
@@ -113,7 +176,7 @@ public class BidController {
      *   <li>Input validation is performed via @Valid annotation</li>
      *   <li>TODO: Add @PreAuthorize to ensure only bid owners/admins can update</li>
      *   <li>Returns HTTP 404 if bid not found</li>
-     *   <li>Consider implementing optimistic locking to prevent concurrent update issues</li>
+     *   <li>Optimistic locking: send the "version" from the last read to get 409 instead of overwriting a newer change; concurrent races retry automatically (see OPTIMISTIC_LOCKING.md)</li>
      *   <li>Maintain audit trail of updates for compliance</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
      * </ul>
@@ -173,7 +236,7 @@ public class BidController {
      * <p><b>Developer Notes:</b>
      * <ul>
      *   <li>Currently returns the same data as GET /api/bids/{bidId}</li>
-     *   <li>TODO: Add @PreAuthorize for access control</li>
+     *   <li>Restricted like GET /api/bids/{bidId} via @PostAuthorize on the loaded bid's comitteId</li>
      *   <li>TODO: Implement dedicated history tracking with timestamps</li>
      *   <li>Consider pagination for bids with extensive history</li>
      *   <li>Include all bid placements with timestamps and member info</li>
@@ -185,6 +248,7 @@ public class BidController {
      * @return ResponseEntity with BidResponse and HTTP 200 status
      */
     @GetMapping("/{bidId}/history")
+    @PostAuthorize("returnObject == null or @comitteAccess.canRead(returnObject.body.comitteId)")
     @Operation(summary = "Get bid history", description = "Retrieves the bid history for a specific bid including all placements with timestamps. Requires authentication.")
     public ResponseEntity<BidResponse> history(@PathVariable Long bidId) {
         log.info("Fetching history for bid ID: {}", bidId);
@@ -201,22 +265,28 @@ public class BidController {
      * 
      * <p><b>Developer Notes:</b>
      * <ul>
-     *   <li>TODO: Add @PreAuthorize to ensure users can only view authorized committees</li>
+     *   <li>Restricted to the committee's owner, its members and admins via @comitteAccess.canRead (cached decision, see COMITTE_ACCESS.md); others get 403</li>
      *   <li>TODO: Implement pagination using @RequestParam (page, size, sort)</li>
      *   <li>Returns empty list if no bids found for the committee</li>
      *   <li>Consider caching for frequently accessed committees</li>
      *   <li>May return large datasets - pagination strongly recommended</li>
+     *   <li>Honours If-None-Match with a weak ETag (see ETagUtil); a match answers 304 after one version-stamp query</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
      * </ul>
      * </p>
      * 
      * @param comitteId the ID of the committee to retrieve bids for
+     * @param webRequest the current request, used for the conditional GET check
      * @return ResponseEntity with List of BidResponse and HTTP 200 status
      */
     @GetMapping("/comitte/{comitteId}")
+    @PreAuthorize("@comitteAccess.canRead(#comitteId)")
     @Operation(summary = "Get bids by committee ID", description = "Retrieves all bids associated with a specific committee. Returns empty list if no bids found. Requires authentication.")
-    public ResponseEntity<List<BidResponse>> getBidsByComitteId(@PathVariable Long comitteId) {
+    public ResponseEntity<List<BidResponse>> getBidsByComitteId(@PathVariable Long comitteId, ServletWebRequest webRequest) {
         log.info("Fetching bids for comitte ID: {}", comitteId);
+        if (ETagUtil.checkNotModified(webRequest, bidService.getBidsByComitteIdETag(comitteId))) {
+            return null;
+        }
         List<BidResponse> bids = bidService.getBidsByComitteId(comitteId);
         return ResponseEntity.ok(bids);
     }
@@ -234,9 +304,8 @@ public class BidController {
      * 
      * <p><b>Security Considerations:</b>
      * <ul>
-     *   <li>Ensure proper authorization - members should only access their own data</li>
+     *   <li>Only the member themselves or an admin; others get 403</li>
      *   <li>Consider implementing pagination for members with many committee memberships</li>
-     *   <li>Validate memberId to prevent unauthorized data access</li>
      * </ul>
      * </p>
      * 
@@ -244,7 +313,8 @@ public class BidController {
      * @return ResponseEntity with List of BidResponse (including receiversList) and HTTP 200 status
      */
     @GetMapping("/member/{memberId}/committee-bids")
-    @Operation(summary = "Get bids for member's committees", description = "Retrieves all bids from committees where the specified member is a participant. Uses optimized query with JOIN FETCH. Requires authentication.")
+    @PreAuthorize(MEMBER_OR_ADMIN)
+    @Operation(summary = "Get bids for member's committees", description = "Retrieves all bids from committees where the specified member is a participant. Uses optimized query with JOIN FETCH. The member or an admin only.")
     public ResponseEntity<List<BidResponse>> getBidsForMemberCommittees(@PathVariable Long memberId) {
         log.info("Fetching bids for all committees where member ID {} belongs", memberId);
         List<BidResponse> bids = bidService.getBidsForMemberCommittees(memberId);
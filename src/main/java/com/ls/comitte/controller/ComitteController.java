@@ -2,17 +2,21 @@ package com.ls.comitte.controller;
 
 import com.ls.comitte.model.response.BidResponse;
 import com.ls.comitte.model.response.ComitteMemberMapResponse;
+import com.ls.comitte.model.response.ComitteDeletionResponse;
 import com.ls.comitte.model.request.ComitteRequest;
 import com.ls.comitte.model.response.ComitteResponse;
 import com.ls.comitte.service.BidService;
 import com.ls.comitte.service.ComitteService;
+import com.ls.common.util.ETagUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import jakarta.validation.Valid;
 
 import java.util.List;
@@ -45,6 +49,9 @@ import java.util.List;
 @Tag(name = "Committees", description = "Committee management APIs")
 @SecurityRequirement(name = "bearerAuth")
 public class ComitteController {
+    private static final String MEMBER_OR_ADMIN = "hasRole('ADMIN') or principal.memberId == #memberId";
+    private static final String OWNER_OR_ADMIN = "hasRole('ADMIN') or principal.memberId == #ownerId";
+
     private final ComitteService comitteService;
     private final BidService bidService;
 
@@ -86,21 +93,27 @@ public class ComitteController {
      * 
      * <p><b>Developer Notes:</b>
      * <ul>
-     *   <li>TODO: Add @PreAuthorize to ensure users can only view authorized committees</li>
+     *   <li>Restricted to the committee's owner, its members and admins via @comitteAccess.canRead (cached decision, see COMITTE_ACCESS.md); others get 403</li>
      *   <li>Returns HTTP 404 if committee not found (handled by service layer)</li>
      *   <li>Response includes committee details but should not expose sensitive PII</li>
-     *   <li>Consider caching for frequently accessed committees</li>
+     *   <li>Served from the serialized response cache for the same callers (see RESPONSE_CACHE.md)</li>
+     *   <li>Honours If-None-Match with a weak ETag (see ETagUtil); a match answers 304 after one version-stamp query</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
      * </ul>
      * </p>
      * 
      * @param comitteId the ID of the committee to retrieve
+     * @param webRequest the current request, used for the conditional GET check
      * @return ResponseEntity with ComitteResponse and HTTP 200 status
      */
     @GetMapping("/{comitteId}")
+    @PreAuthorize("@comitteAccess.canRead(#comitteId)")
     @Operation(summary = "Get committee by ID", description = "Retrieves detailed information about a committee by its unique identifier. Requires authentication.")
-    public ResponseEntity<ComitteResponse> get(@PathVariable Long comitteId) {
+    public ResponseEntity<ComitteResponse> get(@PathVariable Long comitteId, ServletWebRequest webRequest) {
         log.info("Fetching comitte with ID: {}", comitteId);
+        if (ETagUtil.checkNotModified(webRequest, comitteService.getETag(comitteId))) {
+            return null;
+        }
         ComitteResponse response = comitteService.get(comitteId);
         return ResponseEntity.ok(response);
     }
@@ -114,11 +127,11 @@ public class ComitteController {
      * 
      * <p><b>Developer Notes:</b>
      * <ul>
-     *   <li>TODO: Add @PreAuthorize to ensure users can only view their own committees</li>
+     *   <li>Only the member themselves or an admin; others get 403</li>
      *   <li>TODO: Implement pagination using @RequestParam (page, size, sort)</li>
      *   <li>Returns empty list if member has no committee associations</li>
      *   <li>May return large datasets - pagination strongly recommended</li>
-     *   <li>Consider caching member-committee associations</li>
+     *   <li>Committee ids come from the in-memory MembershipIndex; only a primary-key fetch hits the database</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
      * </ul>
      * </p>
@@ -127,7 +140,8 @@ public class ComitteController {
      * @return ResponseEntity with List of ComitteResponse and HTTP 200 status
      */
     @GetMapping("/member/{memberId}")
-    @Operation(summary = "Get committees by member ID", description = "Retrieves all committees associated with a specific member. Returns empty list if member has no committee associations. Requires authentication.")
+    @PreAuthorize(MEMBER_OR_ADMIN)
+    @Operation(summary = "Get committees by member ID", description = "Retrieves all committees associated with a specific member. Returns empty list if member has no committee associations. The member or an admin only.")
     public ResponseEntity<List<ComitteResponse>> getMemberComittes(@PathVariable Long memberId) {
         log.info("Fetching comittes for member ID: {}", memberId);
         List<ComitteResponse> comittes = comitteService.getMemberComittes(memberId);
@@ -143,11 +157,11 @@ public class ComitteController {
      * 
      * <p><b>Developer Notes:</b>
      * <ul>
-     *   <li>TODO: Add @PreAuthorize to ensure users can only view their owned committees</li>
+     *   <li>Only the owner themselves or an admin; others get 403</li>
      *   <li>TODO: Implement pagination using @RequestParam (page, size, sort)</li>
      *   <li>Returns empty list if owner has no committees</li>
      *   <li>May return large datasets - pagination strongly recommended</li>
-     *   <li>Consider caching owner-committee associations</li>
+     *   <li>Committee ids come from the in-memory MembershipIndex; only a primary-key fetch hits the database</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
      * </ul>
      * </p>
@@ -156,7 +170,8 @@ public class ComitteController {
      * @return ResponseEntity with List of ComitteResponse and HTTP 200 status
      */
     @GetMapping("/owner/{ownerId}")
-    @Operation(summary = "Get committees by owner ID", description = "Retrieves all committees owned by a specific owner. Returns empty list if owner has no committees. Requires authentication.")
+    @PreAuthorize(OWNER_OR_ADMIN)
+    @Operation(summary = "Get committees by owner ID", description = "Retrieves all committees owned by a specific owner. Returns empty list if owner has no committees. The owner or an admin only.")
     public ResponseEntity<List<ComitteResponse>> getOwnerComittes(@PathVariable Long ownerId) {
         log.info("Fetching comittes for owner ID: {}", ownerId);
         List<ComitteResponse> comittes = comitteService.getOwnerComittes(ownerId);
@@ -173,12 +188,12 @@ public class ComitteController {
      * <p><b>Developer Notes:</b>
      * <ul>
      *   <li>Returns committees where user is either the owner OR a member</li>
-     *   <li>Uses DISTINCT to avoid duplicate results when user is both owner and member</li>
-     *   <li>TODO: Add @PreAuthorize to ensure users can only view their own committees</li>
+     *   <li>Each committee appears once, even when the user is both owner and member</li>
+     *   <li>Only the member themselves or an admin; others get 403</li>
      *   <li>TODO: Implement pagination using @RequestParam (page, size, sort)</li>
      *   <li>Returns empty list if user has no committee associations</li>
      *   <li>May return large datasets - pagination strongly recommended</li>
-     *   <li>Consider caching user-committee associations</li>
+     *   <li>Committee ids come from the in-memory MembershipIndex; only a primary-key fetch hits the database</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
      * </ul>
      * </p>
@@ -187,7 +202,8 @@ public class ComitteController {
      * @return ResponseEntity with List of ComitteResponse and HTTP 200 status
      */
     @GetMapping("/my/{memberId}")
-    @Operation(summary = "Get all user's committees", description = "Retrieves all committees where the user is either the owner OR a member. Uses DISTINCT to avoid duplicate results. Requires authentication.")
+    @PreAuthorize(MEMBER_OR_ADMIN)
+    @Operation(summary = "Get all user's committees", description = "Retrieves all committees where the user is either the owner OR a member. Each committee appears once. The member or an admin only.")
     public ResponseEntity<List<ComitteResponse>> findAllMyComittes(@PathVariable Long memberId) {
         log.info("Fetching all comittes for user ID: {}", memberId);
         List<ComitteResponse> comittes = comitteService.findAllMyComittes(memberId);
@@ -205,9 +221,10 @@ public class ComitteController {
      * <p><b>Developer Notes:</b>
      * <ul>
      *   <li>Input validation is performed via @Valid annotation</li>
-     *   <li>TODO: Add @PreAuthorize to ensure only committee owners/admins can update</li>
+     *   <li>Restricted to the committee's owner and admins via @comitteAccess.isOwner (cached decision, see COMITTE_ACCESS.md); others get 403</li>
      *   <li>Returns HTTP 404 if committee not found</li>
-     *   <li>Consider implementing optimistic locking to prevent concurrent updates</li>
+     *   <li>Optimistic locking: send the "version" from the last read to get 409 instead of overwriting a newer change; concurrent races retry automatically (see OPTIMISTIC_LOCKING.md)</li>
+     *   <li>totalShares below the shares already assigned returns 409 (see SHARE_CAPACITY.md)</li>
      *   <li>Maintain audit trail of updates for compliance</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
      * </ul>
@@ -218,6 +235,7 @@ public class ComitteController {
      * @return ResponseEntity with updated ComitteResponse and HTTP 200 status
      */
     @PutMapping("/{comitteId}")
+    @PreAuthorize("@comitteAccess.isOwner(#comitteId)")
     @Operation(summary = "Update committee", description = "Updates an existing committee's information such as name, amounts, payment terms, etc. Requires authentication.")
     public ResponseEntity<ComitteResponse> update(@PathVariable Long comitteId, @Valid @RequestBody ComitteRequest dto) {
         log.info("Updating comitte with ID: {}", comitteId);
@@ -230,30 +248,31 @@ public class ComitteController {
      * 
      * <p><b>Endpoint:</b> DELETE /api/comittes/{comitteId}</p>
      * <p><b>Path Variable:</b> comitteId (Long) - The unique identifier of the committee</p>
-     * <p><b>Response:</b> HTTP 204 No Content on success</p>
+     * <p><b>Response:</b> ComitteDeletionResponse (JSON) - counts of deleted bids and memberships and written tombstones</p>
      * 
      * <p><b>Developer Notes:</b>
      * <ul>
-     *   <li>TODO: Add @PreAuthorize to restrict deletion to committee owners/admins only</li>
+     *   <li>Restricted to the committee's owner and admins via @comitteAccess.isOwner (cached decision, see COMITTE_ACCESS.md); others get 403</li>
      *   <li>Returns HTTP 404 if committee not found</li>
+     *   <li>Returns HTTP 409 while rounds are open (some but not all rounds have a bid)</li>
+     *   <li>Cascades to bids and memberships with one DELETE statement each, in one transaction (see COMITTE_DELETION.md)</li>
      *   <li>TODO: Implement soft-delete instead of hard-delete for audit purposes</li>
-     *   <li>Consider maintaining audit log of all delete operations</li>
-     *   <li>Verify no dependent records (members, bids) exist before deletion</li>
-     *   <li>May require cascading deletes or relationship cleanup</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
      * </ul>
      * </p>
      * 
      * @param comitteId the ID of the committee to delete
-     * @return ResponseEntity with HTTP 204 No Content status
+     * @return ResponseEntity with ComitteDeletionResponse and HTTP 200 status
      */
     @DeleteMapping("/{comitteId}")
-    @Operation(summary = "Delete committee", description = "Deletes a committee by its ID. This may cascade to related data. Requires authentication.")
-    public ResponseEntity<?> delete(@PathVariable Long comitteId) {
+    @PreAuthorize("@comitteAccess.isOwner(#comitteId)")
+    @Operation(summary = "Delete committee", description = "Deletes a committee together with its bids and memberships, unless rounds are still open. Requires authentication.")
+    public ResponseEntity<ComitteDeletionResponse> delete(@PathVariable Long comitteId) {
         log.info("Deleting comitte with ID: {}", comitteId);
-        comitteService.delete(comitteId);
-        log.info("Deleted comitte with ID: {}", comitteId);
-        return ResponseEntity.noContent().build();
+        ComitteDeletionResponse response = comitteService.delete(comitteId);
+        log.info("Deleted comitte with ID: {} ({} bids, {} memberships)", comitteId,
+                response.bidsDeleted(), response.membershipsDeleted());
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -267,8 +286,9 @@ public class ComitteController {
      * <p><b>Developer Notes:</b>
      * <ul>
      *   <li>TODO: Add @Valid annotation with custom validator for member ID list</li>
-     *   <li>TODO: Add @PreAuthorize to restrict to committee owners/admins only</li>
+     *   <li>Restricted to the committee's owner and admins via @comitteAccess.isOwner (cached decision, see COMITTE_ACCESS.md); others get 403</li>
      *   <li>Verify all member IDs exist before assignment</li>
+     *   <li>One share per member, reserved atomically for the whole list; returns 409 if the committee has too few free shares (see SHARE_CAPACITY.md)</li>
      *   <li>Consider checking for duplicate assignments</li>
      *   <li>Handle partial failures gracefully (e.g., some IDs invalid)</li>
      *   <li>Consider implementing bulk operations with transaction support</li>
@@ -281,6 +301,7 @@ public class ComitteController {
      * @return ResponseEntity with updated ComitteResponse and HTTP 200 status
      */
     @PostMapping("/{comitteId}/assign-members")
+    @PreAuthorize("@comitteAccess.isOwner(#comitteId)")
     @Operation(summary = "Assign members to committee", description = "Assigns multiple members to a committee by their IDs. Returns the updated committee information. Requires authentication.")
     public ResponseEntity<ComitteResponse> assign(@PathVariable Long comitteId, @RequestBody List<Long> memberIds) {
         log.info("Assigning members to comitte ID: {}", comitteId);
@@ -297,22 +318,28 @@ public class ComitteController {
      * 
      * <p><b>Developer Notes:</b>
      * <ul>
-     *   <li>TODO: Add @PreAuthorize to ensure users can only view authorized committees</li>
+     *   <li>Restricted to the committee's owner, its members and admins via @comitteAccess.canRead (cached decision, see COMITTE_ACCESS.md); others get 403</li>
      *   <li>TODO: Implement pagination using @RequestParam (page, size, sort)</li>
      *   <li>Returns empty list if no bids found for the committee</li>
      *   <li>May return large datasets - pagination strongly recommended</li>
-     *   <li>Consider caching for frequently accessed committees</li>
+     *   <li>Served from the serialized response cache for the same callers (see RESPONSE_CACHE.md)</li>
+     *   <li>Honours If-None-Match with a weak ETag (see ETagUtil); a match answers 304 after one version-stamp query</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
      * </ul>
      * </p>
      * 
      * @param comitteId the ID of the committee to retrieve bids for
+     * @param webRequest the current request, used for the conditional GET check
      * @return ResponseEntity with List of BidResponse and HTTP 200 status
      */
     @GetMapping("/{comitteId}/bids")
+    @PreAuthorize("@comitteAccess.canRead(#comitteId)")
     @Operation(summary = "Get bids by committee ID", description = "Retrieves all bids associated with a specific committee. Returns empty list if no bids found. Requires authentication.")
-    public ResponseEntity<List<BidResponse>> getBidsByComitteId(@PathVariable Long comitteId) {
+    public ResponseEntity<List<BidResponse>> getBidsByComitteId(@PathVariable Long comitteId, ServletWebRequest webRequest) {
         log.info("Fetching bids for comitte ID: {}", comitteId);
+        if (ETagUtil.checkNotModified(webRequest, bidService.getBidsByComitteIdETag(comitteId))) {
+            return null;
+        }
         List<BidResponse> bids = bidService.getBidsByComitteId(comitteId);
         return ResponseEntity.ok(bids);
     }
@@ -326,23 +353,30 @@ public class ComitteController {
      * 
      * <p><b>Developer Notes:</b>
      * <ul>
-     *   <li>TODO: Add @PreAuthorize to ensure users can only view authorized committees</li>
+     *   <li>Restricted to the committee's owner, its members and admins via @comitteAccess.canRead (cached decision, see COMITTE_ACCESS.md); others get 403</li>
      *   <li>TODO: Implement pagination using @RequestParam (page, size, sort)</li>
      *   <li>TODO: Add logging for audit purposes</li>
      *   <li>Returns empty list if no members assigned to the committee</li>
      *   <li>May return large datasets - pagination strongly recommended</li>
      *   <li>Avoid exposing sensitive member PII in responses</li>
+     *   <li>Served from the serialized response cache for the same callers (see RESPONSE_CACHE.md)</li>
+     *   <li>Honours If-None-Match with a weak ETag (see ETagUtil); a match answers 304 after one version-stamp query</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
      * </ul>
      * </p>
      * 
      * @param comitteId the ID of the committee to retrieve members for
+     * @param webRequest the current request, used for the conditional GET check
      * @return ResponseEntity with List of ComitteMemberMapResponse and HTTP 200 status
      */
     @GetMapping("/{comitteId}/members")
+    @PreAuthorize("@comitteAccess.canRead(#comitteId)")
     @Operation(summary = "Get members by committee ID", description = "Retrieves all members associated with a specific committee including their share information. Returns empty list if no members assigned. Requires authentication.")
-    public ResponseEntity<List<ComitteMemberMapResponse>> getAllAssociatedMembers(@PathVariable Long comitteId) {
+    public ResponseEntity<List<ComitteMemberMapResponse>> getAllAssociatedMembers(@PathVariable Long comitteId, ServletWebRequest webRequest) {
         log.info("Fetching ComitteMemberMapResponse for comitte ID: {}", comitteId);
+        if (ETagUtil.checkNotModified(webRequest, comitteService.getAllAssociatedMembersETag(comitteId))) {
+            return null;
+        }
         List<ComitteMemberMapResponse> members = comitteService.getAllAssociatedMembers(comitteId);
         return ResponseEntity.ok(members);
     }
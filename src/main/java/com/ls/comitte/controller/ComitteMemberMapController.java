@@ -9,6 +9,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
@@ -54,6 +55,7 @@ public class ComitteMemberMapController {
      *   <li>Input validation is performed via @Valid annotation</li>
      *   <li>TODO: Add @PreAuthorize to restrict mapping creation to authorized users</li>
      *   <li>Verify both committee and member exist before creating mapping</li>
+     *   <li>shareCount is reserved atomically against the committee's totalShares; returns 409 when the committee is full (see SHARE_CAPACITY.md)</li>
      *   <li>Prevent duplicate mappings at service layer</li>
      *   <li>Consider setting default role/permissions for new mappings</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
@@ -81,7 +83,7 @@ public class ComitteMemberMapController {
      * 
      * <p><b>Developer Notes:</b>
      * <ul>
-     *   <li>TODO: Add @PreAuthorize to ensure users can only view authorized mappings</li>
+     *   <li>Restricted to the mapping's committee owner, its members and admins via @PostAuthorize on the loaded mapping's comitteId (cached decision, see COMITTE_ACCESS.md); others get 403</li>
      *   <li>Returns HTTP 404 if mapping not found (handled by service layer)</li>
      *   <li>Response includes mapping details but should not expose sensitive PII</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
@@ -92,7 +94,8 @@ public class ComitteMemberMapController {
      * @return ResponseEntity with ComitteMemberMapResponse and HTTP 200 status
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Get committee-member mapping by ID", description = "Retrieves detailed information about a committee-member mapping by its unique identifier. Requires authentication.")
+    @PostAuthorize("returnObject == null or @comitteAccess.canRead(returnObject.body.comitteId)")
+    @Operation(summary = "Get committee-member mapping by ID", description = "Retrieves detailed information about a committee-member mapping by its unique identifier. Requires read access to the mapping's committee.")
     public ResponseEntity<ComitteMemberMapResponse> get(@PathVariable Long id) {
         log.info("Fetching comitte member map for ID: {}", id);
         ComitteMemberMapResponse response = service.get(id);
@@ -112,7 +115,7 @@ public class ComitteMemberMapController {
      *   <li>Input validation is performed via @Valid annotation</li>
      *   <li>TODO: Add @PreAuthorize to ensure only authorized users can update mappings</li>
      *   <li>Returns HTTP 404 if mapping not found</li>
-     *   <li>Consider implementing optimistic locking to prevent concurrent updates</li>
+     *   <li>Optimistic locking: send the "version" from the last read to get 409 instead of overwriting a newer change; concurrent races retry automatically (see OPTIMISTIC_LOCKING.md)</li>
      *   <li>Maintain audit trail of updates for compliance</li>
      *   <li>Verify that committee and member IDs remain valid</li>
      *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
@@ -0,0 +1,163 @@
+package com.ls.comitte.controller;
+
+import com.ls.comitte.service.ExportService;
+import com.ls.common.util.RowFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * REST controller for streaming exports of bids and memberships.
+ *
+ * <p>Every endpoint answers {@code application/x-ndjson} (default) or {@code text/csv} by Accept header and
+ * streams rows from a database cursor straight into the response, so a ten-million-row export uses the same
+ * heap as a hundred-row one (see EXPORT.md).</p>
+ *
+ * <p><b>Best Practices:</b>
+ * <ul>
+ *   <li>Use these endpoints, not the JSON list endpoints, for anything that may grow without bound</li>
+ *   <li>Consume the body incrementally; a client that stops reading stalls the export, and one that disconnects aborts it</li>
+ * </ul>
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Export", description = "Streaming NDJSON/CSV exports")
+@SecurityRequirement(name = "bearerAuth")
+public class ExportController {
+    private static final String MEMBER_OR_ADMIN = "hasRole('ADMIN') or principal.memberId == #memberId";
+
+    private final ExportService exportService;
+
+    /**
+     * Streams every bid of a committee.
+     *
+     * <p><b>Endpoint:</b> GET /api/export/comittes/{comitteId}/bids</p>
+     * <p><b>Response:</b> BidResponse rows, ordered by comitteNumber, as NDJSON or CSV</p>
+     *
+     * <p><b>Developer Notes:</b>
+     * <ul>
+     *   <li>Restricted like GET /api/bids/comitte/{comitteId} via @comitteAccess.canRead</li>
+     *   <li>Same fields as the JSON endpoint; CSV has a header row</li>
+     * </ul>
+     * </p>
+     *
+     * @param comitteId the ID of the committee to export bids for
+     * @param accept the Accept header, choosing CSV or NDJSON
+     * @param response the response the rows are streamed to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping(value = "/comittes/{comitteId}/bids", produces = {MediaType.APPLICATION_NDJSON_VALUE, RowFormat.TEXT_CSV_VALUE})
+    @PreAuthorize("@comitteAccess.canRead(#comitteId)")
+    @Operation(summary = "Export committee bids", description = "Streams all bids of a committee as NDJSON or CSV (by Accept header). Requires read access to the committee.")
+    public void exportComitteBids(@PathVariable Long comitteId,
+                                  @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_NDJSON_VALUE) String accept,
+                                  HttpServletResponse response) throws IOException {
+        RowFormat format = start(response, accept, "bids-comitte-" + comitteId);
+        exportService.exportBidsByComitteId(comitteId, format, response.getOutputStream());
+    }
+
+    /**
+     * Streams every bid of the committees a member owns or belongs to.
+     *
+     * <p><b>Endpoint:</b> GET /api/export/members/{memberId}/bids</p>
+     * <p><b>Response:</b> BidResponse rows, ordered by bidId, as NDJSON or CSV</p>
+     *
+     * <p><b>Developer Notes:</b>
+     * <ul>
+     *   <li>Only the member themselves or an admin</li>
+     *   <li>Streaming counterpart of GET /api/bids/member/{memberId}/committee-bids</li>
+     * </ul>
+     * </p>
+     *
+     * @param memberId the ID of the member whose committees' bids are exported
+     * @param accept the Accept header, choosing CSV or NDJSON
+     * @param response the response the rows are streamed to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping(value = "/members/{memberId}/bids", produces = {MediaType.APPLICATION_NDJSON_VALUE, RowFormat.TEXT_CSV_VALUE})
+    @PreAuthorize(MEMBER_OR_ADMIN)
+    @Operation(summary = "Export member's committee bids", description = "Streams all bids of the committees the member owns or belongs to as NDJSON or CSV (by Accept header). The member or an admin only.")
+    public void exportMemberBids(@PathVariable Long memberId,
+                                 @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_NDJSON_VALUE) String accept,
+                                 HttpServletResponse response) throws IOException {
+        RowFormat format = start(response, accept, "bids-member-" + memberId);
+        exportService.exportBidsForMemberCommittees(memberId, format, response.getOutputStream());
+    }
+
+    /**
+     * Streams every membership of a committee.
+     *
+     * <p><b>Endpoint:</b> GET /api/export/comittes/{comitteId}/memberships</p>
+     * <p><b>Response:</b> ComitteMemberMapResponse rows, ordered by id, as NDJSON or CSV</p>
+     *
+     * <p><b>Developer Notes:</b>
+     * <ul>
+     *   <li>Restricted via @comitteAccess.canRead</li>
+     * </ul>
+     * </p>
+     *
+     * @param comitteId the ID of the committee to export memberships for
+     * @param accept the Accept header, choosing CSV or NDJSON
+     * @param response the response the rows are streamed to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping(value = "/comittes/{comitteId}/memberships", produces = {MediaType.APPLICATION_NDJSON_VALUE, RowFormat.TEXT_CSV_VALUE})
+    @PreAuthorize("@comitteAccess.canRead(#comitteId)")
+    @Operation(summary = "Export committee memberships", description = "Streams all member mappings of a committee as NDJSON or CSV (by Accept header). Requires read access to the committee.")
+    public void exportComitteMemberships(@PathVariable Long comitteId,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_NDJSON_VALUE) String accept,
+                                         HttpServletResponse response) throws IOException {
+        RowFormat format = start(response, accept, "memberships-comitte-" + comitteId);
+        exportService.exportMembershipsByComitteId(comitteId, format, response.getOutputStream());
+    }
+
+    /**
+     * Streams every membership of the committees a member owns or belongs to.
+     *
+     * <p><b>Endpoint:</b> GET /api/export/members/{memberId}/memberships</p>
+     * <p><b>Response:</b> ComitteMemberMapResponse rows, ordered by id, as NDJSON or CSV</p>
+     *
+     * <p><b>Developer Notes:</b>
+     * <ul>
+     *   <li>Only the member themselves or an admin</li>
+     * </ul>
+     * </p>
+     *
+     * @param memberId the ID of the member whose committees' memberships are exported
+     * @param accept the Accept header, choosing CSV or NDJSON
+     * @param response the response the rows are streamed to
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping(value = "/members/{memberId}/memberships", produces = {MediaType.APPLICATION_NDJSON_VALUE, RowFormat.TEXT_CSV_VALUE})
+    @PreAuthorize(MEMBER_OR_ADMIN)
+    @Operation(summary = "Export member's committee memberships", description = "Streams all member mappings of the committees the member owns or belongs to as NDJSON or CSV (by Accept header). The member or an admin only.")
+    public void exportMemberMemberships(@PathVariable Long memberId,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_NDJSON_VALUE) String accept,
+                                        HttpServletResponse response) throws IOException {
+        RowFormat format = start(response, accept, "memberships-member-" + memberId);
+        exportService.exportMembershipsForMemberCommittees(memberId, format, response.getOutputStream());
+    }
+
+    // headers go out before the first row; the status is 200 from here on
+    private static RowFormat start(HttpServletResponse response, String accept, String name) {
+        RowFormat format = RowFormat.negotiate(MediaType.parseMediaTypes(accept));
+        log.info("Exporting {} as {}", name, format);
+        response.setContentType(format.mediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + (format == RowFormat.CSV ? ".csv" : ".ndjson")).build().toString());
+        return format;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ls.comitte.controller;
+
+import com.ls.comitte.model.response.SyncChangesResponse;
+import com.ls.comitte.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for delta sync of a member's comittes, memberships and bids.
+ *
+ * <p>Replaces the "fetch /api/comittes/my/{memberId} and every bid on launch" pattern of offline-capable
+ * clients: after one full sync, each launch only transfers what changed since the client's cursor.</p>
+ */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Sync", description = "Delta sync APIs for offline-capable clients")
+@SecurityRequirement(name = "bearerAuth")
+public class SyncController {
+    private static final String MEMBER_OR_ADMIN = "hasRole('ADMIN') or principal.memberId == #memberId";
+
+    private final SyncService syncService;
+
+    /**
+     * Returns the comittes, memberships and bids visible to a member that changed since a cursor.
+     *
+     * <p><b>Endpoint:</b> GET /api/sync/{memberId}/changes?cursor={cursor}</p>
+     * <p><b>Path Variable:</b> memberId (Long) - The member whose comittes are synced</p>
+     * <p><b>Query Parameter:</b> cursor (Long, optional) - The cursor returned by the previous sync</p>
+     * <p><b>Response:</b> SyncChangesResponse (JSON) with HTTP 200 OK</p>
+     *
+     * <p><b>Developer Notes:</b>
+     * <ul>
+     *   <li>Without a cursor (or with one older than the tombstone retention) the full state is returned
+     *       with fullResync=true</li>
+     *   <li>Clients apply "deleted" tombstones first, then upsert comittes, memberships and bids</li>
+     *   <li>A membership tombstone for the member's own membership means access to that comitte may be gone;
+     *       drop it locally unless the member still owns it or holds another membership in it</li>
+     *   <li>The cursor is opaque to clients and never decreases; overlapping pages may repeat a few rows</li>
+     *   <li>Only the member themselves or an admin</li>
+     *   <li>Errors are mapped to structured JSON responses via ApiExceptionHandler</li>
+     * </ul>
+     * </p>
+     *
+     * @param memberId the ID of the member to sync
+     * @param cursor the cursor from the previous response, or null for a full sync
+     * @return ResponseEntity with SyncChangesResponse and HTTP 200 status
+     */
+    @GetMapping("/{memberId}/changes")
+    @PreAuthorize(MEMBER_OR_ADMIN)
+    @Operation(summary = "Get changes since cursor", description = "Returns comittes, memberships and bids visible to the member that were created, updated or deleted since the cursor, plus the next cursor. The member or an admin only.")
+    public ResponseEntity<SyncChangesResponse> changes(@PathVariable Long memberId,
+                                                       @RequestParam(required = false) Long cursor) {
+        log.info("Fetching changes for member ID: {} since cursor {}", memberId, cursor);
+        return ResponseEntity.ok(syncService.getChanges(memberId, cursor));
+    }
+}
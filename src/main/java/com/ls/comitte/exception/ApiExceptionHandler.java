@@ -1,9 +1,12 @@
 package com.ls.comitte.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
@@ -102,6 +105,78 @@ public class ApiExceptionHandler {
         return buildResponseEntity(ex.getStatusCode(), ex.getReason(), errorId);
     }
 
+    /**
+     * Handles OptimisticLockingFailureException, returning 409 Conflict.
+     * 
+     * <p>Raised when a concurrent transaction updated the same versioned row first and
+     * {@code @RetryOnConflict} ran out of attempts (or the method is not retried).</p>
+     * 
+     * <p><b>Developer Notes:</b>
+     * <ul>
+     *   <li>Logged at WARN without stack trace; contention is expected under load, not a server error</li>
+     *   <li>Clients should reload the resource and re-apply their change</li>
+     * </ul>
+     * </p>
+     * 
+     * @param ex the OptimisticLockingFailureException that was thrown
+     * @param request the web request during which the exception occurred
+     * @return ResponseEntity with error details and HTTP 409 status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+        String errorId = UUID.randomUUID().toString();
+        log.warn("Error ID: {}, Concurrent update conflict: {}", errorId, request.getDescription(false));
+        return buildResponseEntity(HttpStatus.CONFLICT,
+                "The resource was modified concurrently; reload and retry", errorId);
+    }
+
+    /**
+     * Handles DataIntegrityViolationException, returning 409 Conflict.
+     * 
+     * <p>Raised when a write breaks a database constraint, e.g. mapping a member to a comitte they are
+     * already in (uk_comitte_member_map_comitte_member) or a duplicate username/email.</p>
+     * 
+     * <p><b>Developer Notes:</b>
+     * <ul>
+     *   <li>Logged at WARN with the constraint message; the client gets a generic message without SQL</li>
+     *   <li>Check for the common cases in the service when a specific message is worth the extra query</li>
+     * </ul>
+     * </p>
+     * 
+     * @param ex the DataIntegrityViolationException that was thrown
+     * @param request the web request during which the exception occurred
+     * @return ResponseEntity with error details and HTTP 409 status
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> handleDataIntegrityViolationException(DataIntegrityViolationException ex, WebRequest request) {
+        String errorId = UUID.randomUUID().toString();
+        log.warn("Error ID: {}, Constraint violation on {}: {}", errorId, request.getDescription(false),
+                ex.getMostSpecificCause().getMessage());
+        return buildResponseEntity(HttpStatus.CONFLICT,
+                "The change conflicts with existing data (e.g. the member is already in this comitte)", errorId);
+    }
+
+    /**
+     * Handles AccessDeniedException thrown by method security ({@code @PreAuthorize}), returning 403.
+     * 
+     * <p><b>Developer Notes:</b>
+     * <ul>
+     *   <li>Logged at WARN without stack trace; a denial is an expected outcome, not a server error</li>
+     *   <li>The message is generic so it does not reveal whether the resource exists</li>
+     * </ul>
+     * </p>
+     * 
+     * @param ex the AccessDeniedException that was thrown
+     * @param request the web request during which the exception occurred
+     * @return ResponseEntity with error details and HTTP 403 status
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<?> handleAccessDeniedException(AccessDeniedException ex, WebRequest request) {
+        String errorId = UUID.randomUUID().toString();
+        log.warn("Error ID: {}, Access denied: {}", errorId, request.getDescription(false));
+        return buildResponseEntity(HttpStatus.FORBIDDEN, "Access denied", errorId);
+    }
+
     /**
      * Builds a structured error response entity with HttpStatus.
      * 
@@ -4,31 +4,50 @@ import com.ls.auth.model.entity.Member;
 import com.ls.common.model.AuditMetadata;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "bids")
+// (comitte_id, updated_timestamp) serves delta sync's "changed since cursor", (comitte_id, bid_date) a comitte's bids by date
+@Table(name = "bids",
+        indexes = {
+                @Index(name = "idx_bids_comitte_updated_timestamp", columnList = "comitte_id, updated_timestamp"),
+                @Index(name = "idx_bids_comitte_bid_date", columnList = "comitte_id, bid_date"),
+                @Index(name = "idx_bids_final_bidder", columnList = "final_bidder")
+        })
+@NamedEntityGraph(name = Bid.WITH_DETAILS,
+        attributeNodes = {
+                @NamedAttributeNode(value = "comitte", subgraph = "comitte"),
+                @NamedAttributeNode("finalBidder")
+        },
+        subgraphs = @NamedSubgraph(name = "comitte", attributeNodes = @NamedAttributeNode("owner")))
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Bid {
+    public static final String WITH_DETAILS = "Bid.withDetails";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long bidId;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "COMITTE_ID", referencedColumnName = "comitteId")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Comitte comitte;
     
     private Integer comitteNumber;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "FINAL_BIDDER", referencedColumnName = "memberId")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Member finalBidder;
     
     private Integer finalBidAmt;
@@ -39,4 +58,10 @@ public class Bid {
 
     @Embedded
     private AuditMetadata audit;
+
+    // optimistic locking: bumped on every update, checked in the UPDATE's WHERE clause
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
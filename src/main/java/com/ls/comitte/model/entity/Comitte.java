@@ -4,13 +4,26 @@ import com.ls.auth.model.entity.Member;
 import com.ls.common.model.AuditMetadata;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Check;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comittes")
+// updated_timestamp drives delta sync ("changed since cursor"), owner_id "comittes I own"
+@Table(name = "comittes",
+        indexes = {
+                @Index(name = "idx_comittes_updated_timestamp", columnList = "updated_timestamp"),
+                @Index(name = "idx_comittes_owner", columnList = "owner_id")
+        })
+@Check(name = "ck_comittes_reserved_shares", constraints = "reserved_shares >= 0 AND reserved_shares <= total_shares")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "comitte")
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @NoArgsConstructor
@@ -19,8 +32,10 @@ public class Comitte {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long comitteId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "OWNER_ID", referencedColumnName = "memberId", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Member owner;
 
     private String comitteName;
@@ -31,6 +46,14 @@ public class Comitte {
     private Integer totalShares;
     
     private Integer fullShare;
+
+    // Sum of the mappings' shareCount. Only ComitteRepository.reserveShares/releaseShares write it
+    // (conditional UPDATEs), never an entity flush, so a stale entity cannot overwrite a concurrent reservation.
+    // The insert reads the column default back, so a new comitte has 0, not null
+    @ColumnDefault("0")
+    @Generated(event = EventType.INSERT)
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer reservedShares;
     private Integer dueDateDays;
     private Integer paymentDateDays;
     
@@ -46,6 +69,12 @@ public class Comitte {
     @Embedded
     private AuditMetadata audit;
 
+    // optimistic locking: bumped on every update, checked in the UPDATE's WHERE clause
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // All args constructor (needed for Lombok @Builder and JPQL)
     public Comitte(Long comitteId, Member owner, String comitteName, LocalDate startDate, 
                    Integer fullAmount, Integer totalShares, Integer fullShare, 
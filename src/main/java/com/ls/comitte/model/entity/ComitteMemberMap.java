@@ -4,30 +4,54 @@ import com.ls.auth.model.entity.Member;
 import com.ls.common.model.AuditMetadata;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@Table(name = "comitte_member_map")
+// A member is in a comitte at most once (share_count carries the shares); the unique pair also serves per-comitte
+// lookups, (member_id, comitte_id) a member's comittes, (comitte_id, updated_timestamp) delta sync's "changed since cursor"
+@Table(name = "comitte_member_map",
+        uniqueConstraints = @UniqueConstraint(name = "uk_comitte_member_map_comitte_member",
+                columnNames = {"comitte_id", "member_id"}),
+        indexes = {
+                @Index(name = "idx_comitte_member_map_comitte_updated_timestamp",
+                        columnList = "comitte_id, updated_timestamp"),
+                @Index(name = "idx_comitte_member_map_member_comitte", columnList = "member_id, comitte_id")
+        })
+@NamedEntityGraph(name = ComitteMemberMap.WITH_DETAILS,
+        attributeNodes = {@NamedAttributeNode("comitte"), @NamedAttributeNode("member")})
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class ComitteMemberMap {
+    public static final String WITH_DETAILS = "ComitteMemberMap.withDetails";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "COMITTE_ID", referencedColumnName = "comitteId")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Comitte comitte;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "MEMBER_ID", referencedColumnName = "memberId")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Member member;
     
     private Integer shareCount;
     
     @Embedded
     private AuditMetadata audit;
+
+    // optimistic locking: bumped on every update, checked in the UPDATE's WHERE clause
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,45 @@
+package com.ls.comitte.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted (or moved) comitte, membership or bid, so delta-sync clients can drop it locally.
+ * Kept for {@code sync.tombstone-retention}; clients with an older cursor get a full resync instead.
+ */
+@Entity
+@Table(name = "sync_tombstones",
+        indexes = @Index(name = "idx_sync_tombstones_deleted_timestamp", columnList = "deleted_timestamp"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncTombstone {
+
+    public enum EntityType { COMITTE, MEMBERSHIP, BID }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    private Long comitteId;
+
+    // member who lost access through this delete (the membership's member, the deleted comitte's owner)
+    private Long memberId;
+
+    @Column(name = "deleted_timestamp", nullable = false)
+    private LocalDateTime deletedTimestamp;
+
+    public static SyncTombstone of(EntityType entityType, Long entityId, Long comitteId, Long memberId) {
+        return new SyncTombstone(null, entityType, entityId, comitteId, memberId, LocalDateTime.now());
+    }
+}
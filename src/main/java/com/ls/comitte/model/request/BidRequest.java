@@ -14,4 +14,7 @@ public class BidRequest {
     private Long finalBidder;
     private Integer finalBidAmt;
     private LocalDateTime bidDate;
+
+    // Version from the last read; null applies the update to whatever version is current
+    private Long version;
 }
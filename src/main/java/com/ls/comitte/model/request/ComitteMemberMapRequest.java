@@ -9,5 +9,9 @@ public class ComitteMemberMapRequest {
     private Long comitteId;
     @NotNull
     private Long memberId;
+    @Positive
     private Integer shareCount;
+
+    // Version from the last read; null applies the update to whatever version is current
+    private Long version;
 }
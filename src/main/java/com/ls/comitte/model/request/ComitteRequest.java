@@ -19,4 +19,7 @@ public class ComitteRequest {
     private Integer fullShare;
     private Integer dueDateDays;
     private Integer paymentDateDays;
+
+    // Version from the last read; null applies the update to whatever version is current
+    private Long version;
 }
@@ -0,0 +1,21 @@
+package com.ls.comitte.model.request;
+
+import lombok.Data;
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One past round in a historical bid import; the comitte comes from the path and comitteNumber is
+ * assigned from bidDate order.
+ */
+@Data
+public class HistoricalBidRequest {
+    @NotNull
+    private Long finalBidder;
+    @NotNull
+    @PositiveOrZero
+    private Integer finalBidAmt;
+    @NotNull
+    private LocalDateTime bidDate;
+}
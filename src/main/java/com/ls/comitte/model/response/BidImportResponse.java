@@ -0,0 +1,23 @@
+package com.ls.comitte.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Outcome of a historical bid import. The import is all or nothing: with any rejected row nothing is
+ * written and {@code imported} is 0.
+ */
+public record BidImportResponse(
+        Long comitteId,
+        long rows,
+        int imported,
+        // existing bids whose comitteNumber moved because imported rounds were dated before them
+        int renumbered,
+        long rejected,
+        // the first bid-import.max-errors problems: unreadable or invalid rows, then failed member/amount/date checks
+        List<RowError> errors
+) {
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record RowError(Long row, String message) {}
+}
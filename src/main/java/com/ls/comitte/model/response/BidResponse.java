@@ -18,5 +18,7 @@ public record BidResponse(
         Integer monthlyShare,
         LocalDateTime bidDate,
         LocalDateTime createdTimestamp,
-        LocalDateTime updatedTimestamp
+        LocalDateTime updatedTimestamp,
+        // send back in the update request to reject it (409) if someone else changed the row meanwhile
+        Long version
 ) {}
@@ -0,0 +1,11 @@
+package com.ls.comitte.model.response;
+
+/**
+ * Rows removed (and tombstones written) by a cascading comitte delete.
+ */
+public record ComitteDeletionResponse(
+        Long comitteId,
+        int bidsDeleted,
+        int membershipsDeleted,
+        int tombstonesWritten
+) {}
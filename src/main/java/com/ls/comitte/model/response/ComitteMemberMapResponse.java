@@ -13,5 +13,7 @@ public record ComitteMemberMapResponse(
         String memberMobile,
         Integer shareCount,
         LocalDateTime createdTimestamp,
-        LocalDateTime updatedTimestamp
+        LocalDateTime updatedTimestamp,
+        // send back in the update request to reject it (409) if someone else changed the row meanwhile
+        Long version
 ) {}
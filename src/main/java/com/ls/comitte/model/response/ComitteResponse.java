@@ -22,7 +22,9 @@ public record ComitteResponse(
         Integer associatedSharesCount,
         Integer associatedMembersCount,
         LocalDateTime createdTimestamp,
-        LocalDateTime updatedTimestamp
+        LocalDateTime updatedTimestamp,
+        // send back in the update request to reject it (409) if someone else changed the row meanwhile
+        Long version
 ) {
     // Method to calculate the custom formatted string
     public String getCalculatedComitteName() {
@@ -0,0 +1,17 @@
+package com.ls.comitte.model.response;
+
+import java.util.List;
+
+/**
+ * Delta-sync page for one member. Clients apply {@code deleted} first, then upsert the rest, and send
+ * {@code cursor} back on the next sync. With {@code fullResync} the lists hold everything the member can see
+ * and local state should be replaced.
+ */
+public record SyncChangesResponse(
+        Long cursor,
+        boolean fullResync,
+        List<ComitteResponse> comittes,
+        List<ComitteMemberMapResponse> memberships,
+        List<BidResponse> bids,
+        List<SyncTombstoneResponse> deleted
+) {}
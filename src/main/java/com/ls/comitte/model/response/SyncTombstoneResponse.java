@@ -0,0 +1,14 @@
+package com.ls.comitte.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ls.comitte.model.entity.SyncTombstone;
+
+import java.time.LocalDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SyncTombstoneResponse(
+        SyncTombstone.EntityType entityType,
+        Long entityId,
+        Long comitteId,
+        LocalDateTime deletedTimestamp
+) {}
@@ -1,33 +1,84 @@
 package com.ls.comitte.repository;
 
 import com.ls.comitte.model.entity.Bid;
+import com.ls.comitte.model.response.BidResponse;
+import com.ls.common.model.VersionStamp;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface BidRepository extends JpaRepository<Bid, Long> {
-    
-    // Get all bids for a specific committee with all related entities eagerly fetched
-    @Query("SELECT DISTINCT b FROM Bid b " +
-           "LEFT JOIN FETCH b.comitte c " +
-           "LEFT JOIN FETCH c.owner " +
-           "LEFT JOIN FETCH b.finalBidder " +
-           "WHERE b.comitte.comitteId = :comitteId " +
+
+    // Projection building BidResponse straight from columns; monthlyShare mirrors
+    // ResponseMapper.calculateMonthlyShare: (fullAmount - finalBidAmt) / totalShares
+    String BID_RESPONSE_SELECT = "SELECT NEW com.ls.comitte.model.response.BidResponse(" +
+           "b.bidId, c.comitteId, c.comitteName, o.memberId, o.name, b.comitteNumber, " +
+           "fb.memberId, fb.name, b.finalBidAmt, " +
+           "CASE WHEN b.finalBidAmt IS NULL OR c.fullAmount IS NULL OR c.totalShares IS NULL OR c.totalShares = 0 " +
+           "THEN NULL ELSE (c.fullAmount - b.finalBidAmt) / c.totalShares END, " +
+           "b.bidDate, b.audit.createdTimestamp, b.audit.updatedTimestamp, b.version) " +
+           "FROM Bid b " +
+           "LEFT JOIN b.comitte c " +
+           "LEFT JOIN c.owner o " +
+           "LEFT JOIN b.finalBidder fb ";
+
+    @Query(BID_RESPONSE_SELECT + "WHERE b.bidId = :bidId")
+    Optional<BidResponse> findResponseById(@Param("bidId") Long bidId);
+
+    // Get all bids for a specific committee
+    @Query(BID_RESPONSE_SELECT +
+           "WHERE c.comitteId = :comitteId " +
            "ORDER BY b.bidDate DESC")
-    List<Bid> findByComitteIdWithDetails(@Param("comitteId") Long comitteId);
-    
-    // Get all bids for committees where a member belongs as member or owner with essential data only
-    @Query("SELECT DISTINCT b FROM Bid b " +
-           "LEFT JOIN FETCH b.comitte c " +
-           "LEFT JOIN FETCH c.owner " +
-           "LEFT JOIN FETCH b.finalBidder " +
-           "LEFT JOIN ComitteMemberMap cmm ON b.comitte = cmm.comitte " +
-           "WHERE cmm.member.memberId = :memberId OR c.owner.memberId = :memberId " +
+    List<BidResponse> findResponsesByComitteId(@Param("comitteId") Long comitteId);
+
+    // Get all bids for committees where a member belongs as member or owner
+    @Query(BID_RESPONSE_SELECT +
+           "WHERE b.comitte.comitteId IN " + ComitteRepository.MEMBER_COMITTE_IDS +
            "ORDER BY b.bidDate DESC")
-    List<Bid> findBidsForMemberCommittees(@Param("memberId") Long memberId);
-    
+    List<BidResponse> findResponsesForMemberCommittees(@Param("memberId") Long memberId);
+
+    // find bid entity with comitte, comitte owner and final bidder in one select
+    @EntityGraph(Bid.WITH_DETAILS)
+    Optional<Bid> findWithDetailsByBidId(Long bidId);
+
     // Count existing bids for a committee to calculate next comitteNumber
     Integer countByComitte_ComitteId(Long comitteId);
+
+    // ETag source for BidResponse: the bid and the comitte, owner and final bidder rows it shows
+    @Query("SELECT NEW com.ls.common.model.VersionStamp(" +
+           "greatest(b.audit.updatedTimestamp, c.audit.updatedTimestamp, o.updatedTimestamp, fb.updatedTimestamp), 1L) " +
+           "FROM Bid b LEFT JOIN b.comitte c LEFT JOIN c.owner o LEFT JOIN b.finalBidder fb " +
+           "WHERE b.bidId = :bidId")
+    Optional<VersionStamp> findVersionById(@Param("bidId") Long bidId);
+
+    // ETag source for a comitte's bid list: one aggregate row, no bid is read into memory
+    @Query("SELECT NEW com.ls.common.model.VersionStamp(" +
+           "greatest(max(b.audit.updatedTimestamp), max(c.audit.updatedTimestamp), " +
+           "max(o.updatedTimestamp), max(fb.updatedTimestamp)), count(b)) " +
+           "FROM Bid b JOIN b.comitte c LEFT JOIN c.owner o LEFT JOIN b.finalBidder fb " +
+           "WHERE c.comitteId = :comitteId")
+    VersionStamp findVersionByComitteId(@Param("comitteId") Long comitteId);
+
+    // delta sync: bids in the member's comittes that changed since the cursor; every bid of a comitte that the
+    // member joined or whose row changed since then, because the client may not hold them yet
+    @Query(BID_RESPONSE_SELECT +
+           "WHERE b.comitte.comitteId IN " + ComitteRepository.MEMBER_COMITTE_IDS +
+           "AND (b.audit.updatedTimestamp > :since OR c.audit.updatedTimestamp > :since " +
+           "OR o.updatedTimestamp > :since OR fb.updatedTimestamp > :since " +
+           "OR EXISTS (SELECT 1 FROM ComitteMemberMap j WHERE j.comitte = c AND j.member.memberId = :memberId " +
+           "AND j.audit.updatedTimestamp > :since)) " +
+           "ORDER BY b.bidDate DESC")
+    List<BidResponse> findChangedResponsesForMemberCommittees(@Param("memberId") Long memberId,
+                                                              @Param("since") LocalDateTime since);
+
+    // set-based cascade for ComitteService.delete: one statement, no entities loaded
+    @Modifying
+    @Query("DELETE FROM Bid b WHERE b.comitte.comitteId = :comitteId")
+    int bulkDeleteByComitteId(@Param("comitteId") Long comitteId);
 }
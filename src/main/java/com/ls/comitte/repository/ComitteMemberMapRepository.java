@@ -1,24 +1,68 @@
 package com.ls.comitte.repository;
 
 import com.ls.comitte.model.entity.ComitteMemberMap;
+import com.ls.comitte.model.response.ComitteMemberMapResponse;
 import com.ls.auth.model.entity.Member;
+import com.ls.common.model.VersionStamp;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ComitteMemberMapRepository extends JpaRepository<ComitteMemberMap, Long> {
 
+    // Projection building ComitteMemberMapResponse from the mapping row plus comitte name and member name/mobile
+    String COMITTE_MEMBER_MAP_RESPONSE_SELECT = "SELECT NEW com.ls.comitte.model.response.ComitteMemberMapResponse(" +
+           "cmm.id, c.comitteId, m.memberId, c.comitteName, m.name, m.mobile, cmm.shareCount, " +
+           "cmm.audit.createdTimestamp, cmm.audit.updatedTimestamp, cmm.version) " +
+           "FROM ComitteMemberMap cmm " +
+           "LEFT JOIN cmm.comitte c " +
+           "LEFT JOIN cmm.member m ";
+
     @Query("SELECT m FROM Member m JOIN ComitteMemberMap cmm ON m.memberId = cmm.member.memberId WHERE cmm.comitte.comitteId = :comitteId")
     List<Member> findMembersByComitteId(Long comitteId);
 
-    // Find ComitteMemberMap entities by comitte ID with related entities eagerly fetched
+    // find mapping entity with its comitte and member in one select
+    @EntityGraph(ComitteMemberMap.WITH_DETAILS)
+    Optional<ComitteMemberMap> findWithDetailsById(Long id);
+
+    @Query(COMITTE_MEMBER_MAP_RESPONSE_SELECT + "WHERE cmm.id = :id")
+    Optional<ComitteMemberMapResponse> findResponseById(@Param("id") Long id);
+
     // To find all associated members for a comitte
-    @Query("SELECT cmm FROM ComitteMemberMap cmm " +
-           "LEFT JOIN FETCH cmm.comitte c " +
-           "LEFT JOIN FETCH c.owner " +
-           "LEFT JOIN FETCH cmm.member " +
-           "WHERE cmm.comitte.comitteId = :comitteId")
-    List<ComitteMemberMap> findByComitteIdWithDetails(Long comitteId);
+    @Query(COMITTE_MEMBER_MAP_RESPONSE_SELECT + "WHERE c.comitteId = :comitteId")
+    List<ComitteMemberMapResponse> findResponsesByComitteId(@Param("comitteId") Long comitteId);
+
+    // ETag source for a comitte's member list: one aggregate row over the mappings and the comitte/member rows they show
+    @Query("SELECT NEW com.ls.common.model.VersionStamp(" +
+           "greatest(max(cmm.audit.updatedTimestamp), max(c.audit.updatedTimestamp), max(m.updatedTimestamp)), " +
+           "count(cmm)) " +
+           "FROM ComitteMemberMap cmm JOIN cmm.comitte c JOIN cmm.member m " +
+           "WHERE c.comitteId = :comitteId")
+    VersionStamp findVersionByComitteId(@Param("comitteId") Long comitteId);
+
+    // memberships of every comitte the member owns or belongs to (delta sync full resync)
+    @Query(COMITTE_MEMBER_MAP_RESPONSE_SELECT +
+           "WHERE cmm.comitte.comitteId IN " + ComitteRepository.MEMBER_COMITTE_IDS)
+    List<ComitteMemberMapResponse> findResponsesForMemberCommittees(@Param("memberId") Long memberId);
+
+    // delta sync: memberships in the member's comittes that changed since the cursor; all memberships of a comitte
+    // that the member joined or whose row changed since then
+    @Query(COMITTE_MEMBER_MAP_RESPONSE_SELECT +
+           "WHERE cmm.comitte.comitteId IN " + ComitteRepository.MEMBER_COMITTE_IDS +
+           "AND (cmm.audit.updatedTimestamp > :since OR c.audit.updatedTimestamp > :since OR m.updatedTimestamp > :since " +
+           "OR EXISTS (SELECT 1 FROM ComitteMemberMap j WHERE j.comitte = c AND j.member.memberId = :memberId " +
+           "AND j.audit.updatedTimestamp > :since))")
+    List<ComitteMemberMapResponse> findChangedResponsesForMemberCommittees(@Param("memberId") Long memberId,
+                                                                           @Param("since") LocalDateTime since);
 
+    // set-based cascade for ComitteService.delete: one statement, no entities loaded
+    @Modifying
+    @Query("DELETE FROM ComitteMemberMap cmm WHERE cmm.comitte.comitteId = :comitteId")
+    int bulkDeleteByComitteId(@Param("comitteId") Long comitteId);
 }
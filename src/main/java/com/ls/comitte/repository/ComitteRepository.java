@@ -1,58 +1,123 @@
 package com.ls.comitte.repository;
 
 import com.ls.comitte.model.entity.Comitte;
+import com.ls.comitte.model.response.ComitteResponse;
+import com.ls.common.model.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ComitteRepository extends JpaRepository<Comitte, Long> {
 
-    // find all comittes where a member belongs with bids count
-    @Query("SELECT NEW com.ls.comitte.model.entity.Comitte(" +
-           "c.comitteId, c.owner, c.comitteName, c.startDate, c.fullAmount, " +
+    // Projection building ComitteResponse straight from columns: only the owner's id and name are read,
+    // so no Member entity (password hash, aadhar no) is hydrated or tracked by the persistence context
+    String COMITTE_RESPONSE_SELECT = "SELECT NEW com.ls.comitte.model.response.ComitteResponse(" +
+           "c.comitteId, o.memberId, o.name, c.comitteName, c.startDate, c.fullAmount, " +
            "c.totalShares, c.fullShare, c.dueDateDays, c.paymentDateDays, " +
            "CAST((SELECT COUNT(b) FROM Bid b WHERE b.comitte = c) AS int), " +
-           "CAST((SELECT COALESCE(SUM(cmm2.shareCount), 0) FROM ComitteMemberMap cmm2 WHERE cmm2.comitte = c) AS int), " +
+           "c.reservedShares, " +
            "CAST((SELECT COUNT(DISTINCT cmm2.member) FROM ComitteMemberMap cmm2 WHERE cmm2.comitte = c) AS int), " +
-           "c.audit) " +
-           "FROM Comitte c JOIN ComitteMemberMap cmm ON c = cmm.comitte " +
-           "WHERE cmm.member.memberId = :memberId")
-    List<Comitte> findComittesByMemberIdWithBidsCount(@Param("memberId") Long memberId);
+           "c.audit.createdTimestamp, c.audit.updatedTimestamp, c.version) " +
+           "FROM Comitte c JOIN c.owner o ";
+
+    // ids of the comittes :memberId owns or belongs to, for "c.comitteId IN " + MEMBER_COMITTE_IDS. A UNION of two
+    // index lookups (idx_comittes_owner, idx_comitte_member_map_member_comitte); "owner = :memberId OR EXISTS (...)"
+    // cannot use either index and scans every comitte
+    String MEMBER_COMITTE_IDS = "(SELECT mo.comitteId FROM Comitte mo WHERE mo.owner.memberId = :memberId " +
+           "UNION SELECT mm.comitte.comitteId FROM ComitteMemberMap mm WHERE mm.member.memberId = :memberId) ";
+
+    // find all comittes where a member belongs with bids count
+    @Query(COMITTE_RESPONSE_SELECT +
+           "WHERE EXISTS (SELECT 1 FROM ComitteMemberMap cmm WHERE cmm.comitte = c AND cmm.member.memberId = :memberId)")
+    List<ComitteResponse> findResponsesByMemberId(@Param("memberId") Long memberId);
 
     // find all comittes for a owner with bids count
-    @Query("SELECT NEW com.ls.comitte.model.entity.Comitte(" +
-           "c.comitteId, c.owner, c.comitteName, c.startDate, c.fullAmount, " +
-           "c.totalShares, c.fullShare, c.dueDateDays, c.paymentDateDays, " +
-           "CAST((SELECT COUNT(b) FROM Bid b WHERE b.comitte = c) AS int), " +
-           "CAST((SELECT COALESCE(SUM(cmm.shareCount), 0) FROM ComitteMemberMap cmm WHERE cmm.comitte = c) AS int), " +
-           "CAST((SELECT COUNT(DISTINCT cmm.member) FROM ComitteMemberMap cmm WHERE cmm.comitte = c) AS int), " +
-           "c.audit) " +
-           "FROM Comitte c WHERE c.owner.memberId = :ownerId")
-    List<Comitte> findComittesByOwnerIdWithBidsCount(@Param("ownerId") Long ownerId);
+    @Query(COMITTE_RESPONSE_SELECT + "WHERE o.memberId = :ownerId")
+    List<ComitteResponse> findResponsesByOwnerId(@Param("ownerId") Long ownerId);
 
     // find single comitte by ID with bids count
-    @Query("SELECT NEW com.ls.comitte.model.entity.Comitte(" +
-           "c.comitteId, c.owner, c.comitteName, c.startDate, c.fullAmount, " +
-           "c.totalShares, c.fullShare, c.dueDateDays, c.paymentDateDays, " +
-           "CAST((SELECT COUNT(b) FROM Bid b WHERE b.comitte = c) AS int), " +
-           "CAST((SELECT COALESCE(SUM(cmm.shareCount), 0) FROM ComitteMemberMap cmm WHERE cmm.comitte = c) AS int), " +
-           "CAST((SELECT COUNT(DISTINCT cmm.member) FROM ComitteMemberMap cmm WHERE cmm.comitte = c) AS int), " +
-           "c.audit) " +
-           "FROM Comitte c WHERE c.comitteId = :comitteId")
-    Optional<Comitte> findByIdWithBidsCount(@Param("comitteId") Long comitteId);
+    @Query(COMITTE_RESPONSE_SELECT + "WHERE c.comitteId = :comitteId")
+    Optional<ComitteResponse> findResponseById(@Param("comitteId") Long comitteId);
+
+    // comittes by primary key; ids come from MembershipIndex
+    @Query(COMITTE_RESPONSE_SELECT + "WHERE c.comitteId IN :comitteIds")
+    List<ComitteResponse> findResponsesByIds(@Param("comitteIds") Collection<Long> comitteIds);
 
     // find all comittes where user is either owner or member with bids count
-    @Query("SELECT DISTINCT NEW com.ls.comitte.model.entity.Comitte(" +
-           "c.comitteId, c.owner, c.comitteName, c.startDate, c.fullAmount, " +
-           "c.totalShares, c.fullShare, c.dueDateDays, c.paymentDateDays, " +
-           "CAST((SELECT COUNT(b) FROM Bid b WHERE b.comitte = c) AS int), " +
-           "CAST((SELECT COALESCE(SUM(cmm2.shareCount), 0) FROM ComitteMemberMap cmm2 WHERE cmm2.comitte = c) AS int), " +
-           "CAST((SELECT COUNT(DISTINCT cmm2.member) FROM ComitteMemberMap cmm2 WHERE cmm2.comitte = c) AS int), " +
-           "c.audit) " +
-           "FROM Comitte c LEFT JOIN ComitteMemberMap cmm ON c = cmm.comitte " +
-           "WHERE c.owner.memberId = :memberId OR cmm.member.memberId = :memberId")
-    List<Comitte> findAllMyComittesWithBidsCount(@Param("memberId") Long memberId);
+    // IN instead of LEFT JOIN + DISTINCT: one row per comitte without de-duplicating the join
+    @Query(COMITTE_RESPONSE_SELECT + "WHERE c.comitteId IN " + MEMBER_COMITTE_IDS)
+    List<ComitteResponse> findAllMyResponses(@Param("memberId") Long memberId);
+
+    // Query space of the native writes below. It matches no entity table, so Hibernate's bulk-operation cleanup
+    // leaves the second-level cache alone; with JPQL, or with no space at all, every write would empty the whole
+    // Comitte region (no space: every region). The one comitte written is evicted after commit, on every node,
+    // through CacheInvalidationBus instead: callers report it with comittesChanged.
+    String NO_CACHED_TABLES = "";
+
+    // Capacity check and reservation in one statement: the row lock taken by the UPDATE serializes concurrent
+    // sign-ups for the same comitte only, and the WHERE clause re-reads the committed count after waiting.
+    // 0 rows: the comitte does not exist or has fewer than :shares free. Bumps version like an entity update.
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = NO_CACHED_TABLES))
+    @Query(value = "UPDATE comittes SET reserved_shares = reserved_shares + :shares, version = version + 1 " +
+           "WHERE comitte_id = :comitteId " +
+           "AND (total_shares IS NULL OR reserved_shares + :shares <= total_shares)", nativeQuery = true)
+    int reserveShares(@Param("comitteId") Long comitteId, @Param("shares") int shares);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = NO_CACHED_TABLES))
+    @Query(value = "UPDATE comittes SET reserved_shares = reserved_shares - :shares, version = version + 1 " +
+           "WHERE comitte_id = :comitteId", nativeQuery = true)
+    int releaseShares(@Param("comitteId") Long comitteId, @Param("shares") int shares);
+
+    // shares still free, for the "comitte is full" message; empty when the comitte does not exist
+    @Query("SELECT c.totalShares - c.reservedShares FROM Comitte c WHERE c.comitteId = :comitteId")
+    Optional<Integer> findFreeSharesById(@Param("comitteId") Long comitteId);
+
+    // FOR UPDATE blocks bid and mapping inserts for this comitte (their foreign-key check needs a KEY SHARE lock)
+    // until the caller commits, so a cascading delete cannot race a new child row
+    @Query(value = "SELECT comitte_id FROM comittes WHERE comitte_id = :comitteId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("comitteId") Long comitteId);
+
+    // native for the same reason as reserveShares; ComitteService.delete reports the comitte to the bus
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = NO_CACHED_TABLES))
+    @Query(value = "DELETE FROM comittes WHERE comitte_id = :comitteId", nativeQuery = true)
+    int bulkDeleteById(@Param("comitteId") Long comitteId);
+
+    @Query("SELECT c.owner.memberId FROM Comitte c WHERE c.comitteId = :comitteId")
+    Optional<Long> findOwnerIdById(@Param("comitteId") Long comitteId);
+
+    // members allowed to read a comitte: its owner plus every mapped member
+    @Query("SELECT c.owner.memberId FROM Comitte c WHERE c.comitteId = :comitteId " +
+           "UNION " +
+           "SELECT cmm.member.memberId FROM ComitteMemberMap cmm WHERE cmm.comitte.comitteId = :comitteId")
+    List<Long> findReaderIds(@Param("comitteId") Long comitteId);
+
+    // ETag source for ComitteResponse: comitte and owner rows, membership rows, plus the bid and mapping counts
+    @Query("SELECT NEW com.ls.common.model.VersionStamp(" +
+           "greatest(c.audit.updatedTimestamp, o.updatedTimestamp, " +
+           "(SELECT max(cmm.audit.updatedTimestamp) FROM ComitteMemberMap cmm WHERE cmm.comitte = c)), " +
+           "(SELECT count(b) FROM Bid b WHERE b.comitte = c) + " +
+           "(SELECT count(cmm) FROM ComitteMemberMap cmm WHERE cmm.comitte = c)) " +
+           "FROM Comitte c JOIN c.owner o WHERE c.comitteId = :comitteId")
+    Optional<VersionStamp> findVersionById(@Param("comitteId") Long comitteId);
+
+    // delta sync: the member's comittes whose row, owner, memberships or bids changed (or were deleted) since the cursor
+    @Query(COMITTE_RESPONSE_SELECT +
+           "WHERE c.comitteId IN " + MEMBER_COMITTE_IDS +
+           "AND (c.audit.updatedTimestamp > :since OR o.updatedTimestamp > :since " +
+           "OR EXISTS (SELECT 1 FROM ComitteMemberMap x WHERE x.comitte = c AND x.audit.updatedTimestamp > :since) " +
+           "OR EXISTS (SELECT 1 FROM Bid y WHERE y.comitte = c AND y.audit.updatedTimestamp > :since) " +
+           "OR EXISTS (SELECT 1 FROM SyncTombstone t WHERE t.comitteId = c.comitteId AND t.deletedTimestamp > :since))")
+    List<ComitteResponse> findChangedMyResponses(@Param("memberId") Long memberId, @Param("since") LocalDateTime since);
 }
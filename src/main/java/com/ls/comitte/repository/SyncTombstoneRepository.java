@@ -0,0 +1,38 @@
+package com.ls.comitte.repository;
+
+import com.ls.comitte.model.entity.SyncTombstone;
+import com.ls.comitte.model.response.SyncTombstoneResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    // deletes since the cursor in comittes the member can still see, plus those that took the member's access away
+    @Query("SELECT NEW com.ls.comitte.model.response.SyncTombstoneResponse(" +
+           "t.entityType, t.entityId, t.comitteId, t.deletedTimestamp) " +
+           "FROM SyncTombstone t " +
+           "WHERE t.deletedTimestamp > :since " +
+           "AND (t.memberId = :memberId OR t.comitteId IN " + ComitteRepository.MEMBER_COMITTE_IDS + ") " +
+           "ORDER BY t.deletedTimestamp")
+    List<SyncTombstoneResponse> findResponsesForMemberSince(@Param("memberId") Long memberId,
+                                                            @Param("since") LocalDateTime since);
+
+    // one COMITTE tombstone per mapped member (other than the owner), so every member drops the deleted comitte
+    @Modifying
+    @Query("INSERT INTO SyncTombstone (entityType, entityId, comitteId, memberId, deletedTimestamp) " +
+           "SELECT DISTINCT com.ls.comitte.model.entity.SyncTombstone.EntityType.COMITTE, " +
+           "cmm.comitte.comitteId, cmm.comitte.comitteId, cmm.member.memberId, CAST(:deletedTimestamp AS LocalDateTime) " +
+           "FROM ComitteMemberMap cmm " +
+           "WHERE cmm.comitte.comitteId = :comitteId AND cmm.member.memberId <> :ownerId")
+    int insertComitteTombstonesForMembers(@Param("comitteId") Long comitteId, @Param("ownerId") Long ownerId,
+                                          @Param("deletedTimestamp") LocalDateTime deletedTimestamp);
+
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.deletedTimestamp < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
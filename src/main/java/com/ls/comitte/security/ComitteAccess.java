@@ -0,0 +1,113 @@
+package com.ls.comitte.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ls.auth.model.response.LoginUserDetails;
+import com.ls.comitte.repository.ComitteRepository;
+import com.ls.common.cache.CacheInvalidation;
+import com.ls.common.cache.LocalCacheInvalidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Comitte-level authorization for {@code @PreAuthorize}, e.g. {@code @comitteAccess.canRead(#comitteId)}.
+ *
+ * <p>Decisions come from a bounded cache of each comitte's owner and sorted member ids, so a check is a hash
+ * lookup plus a binary search; a miss costs two primary-key queries, always on the primary. Assignments, removals
+ * and ownership changes all report the comitte to the invalidation bus, which evicts its entry on every node after
+ * commit. {@code ROLE_ADMIN} passes every check.</p>
+ */
+@Component("comitteAccess")
+public class ComitteAccess implements LocalCacheInvalidator {
+
+    private static final String ROLE_ADMIN = "ROLE_ADMIN";
+    private static final long NO_OWNER = -1L;
+
+    /**
+     * Owner and sorted, distinct member ids of one comitte; no owner for a comitte that does not exist.
+     */
+    private record Readers(long ownerId, long[] memberIds) {
+        boolean contains(long memberId) {
+            return ownerId == memberId || Arrays.binarySearch(memberIds, memberId) >= 0;
+        }
+    }
+
+    private final ComitteRepository comitteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<Long, Readers> readers;
+
+    public ComitteAccess(ComitteRepository comitteRepository, PlatformTransactionManager transactionManager,
+                         @Value("${comitte-access.max-comittes:10000}") long maxComittes,
+                         @Value("${comitte-access.time-to-live:10m}") Duration timeToLive) {
+        this.comitteRepository = comitteRepository;
+        // A miss usually follows an eviction for a membership change. Joined to a caller's read-only transaction,
+        // the queries would be routed to a replica that may not have replayed that change yet, and the stale
+        // decision would then be cached for the whole time-to-live; read-write and in its own transaction, they
+        // read the primary
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readers = Caffeine.newBuilder()
+                .maximumSize(maxComittes)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    /**
+     * @return true if the current user owns or is mapped to the comitte, or is an admin
+     */
+    public boolean canRead(Long comitteId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (isAdmin(authentication)) {
+            return true;
+        }
+        Long memberId = memberId(authentication);
+        return memberId != null && comitteId != null && readers(comitteId).contains(memberId);
+    }
+
+    /**
+     * @return true if the current user owns the comitte, or is an admin
+     */
+    public boolean isOwner(Long comitteId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (isAdmin(authentication)) {
+            return true;
+        }
+        Long memberId = memberId(authentication);
+        return memberId != null && comitteId != null && readers(comitteId).ownerId() == memberId;
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        if (invalidation.all()) {
+            readers.invalidateAll();
+            return;
+        }
+        readers.invalidateAll(invalidation.comitteIds());
+    }
+
+    private Readers readers(long comitteId) {
+        return readers.get(comitteId, id -> transactionTemplate.execute(status -> new Readers(
+                comitteRepository.findOwnerIdById(id).orElse(NO_OWNER),
+                comitteRepository.findReaderIds(id).stream().mapToLong(Long::longValue).sorted().distinct().toArray())));
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication != null
+                && authentication.getAuthorities().stream().anyMatch(a -> ROLE_ADMIN.equals(a.getAuthority()));
+    }
+
+    private static Long memberId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof LoginUserDetails userDetails) {
+            return userDetails.getMemberId();
+        }
+        return null;
+    }
+}
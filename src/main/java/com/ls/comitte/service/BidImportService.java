@@ -0,0 +1,244 @@
+package com.ls.comitte.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ls.comitte.model.request.HistoricalBidRequest;
+import com.ls.comitte.model.response.BidImportResponse;
+import com.ls.comitte.model.response.BidImportResponse.RowError;
+import com.ls.comitte.repository.ComitteRepository;
+import com.ls.common.cache.CacheInvalidationBus;
+import com.ls.common.util.ImportRowReader;
+import com.ls.common.util.ImportRowReader.Row;
+import com.ls.common.util.RowFormat;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Historical bid import for comittes migrated from spreadsheets.
+ *
+ * <p>Rows are streamed into a transaction-scoped temp table in JDBC batches, then checked against members,
+ * mappings and the comitte with one set-based query. If every row passes, one {@code INSERT ... SELECT} writes
+ * them and one {@code UPDATE} renumbers the comitte's bids by date. Per-row work never touches the bids
+ * table, and nothing is counted per row.</p>
+ */
+@Slf4j
+@Service
+public class BidImportService {
+    private static final String COMITTE_NOT_FOUND = "Committee not found";
+
+    private static final String CREATE_STAGING = "CREATE TEMP TABLE bid_import (" +
+            "row_no bigint PRIMARY KEY, final_bidder bigint NOT NULL, final_bid_amt integer NOT NULL, " +
+            "bid_date timestamp NOT NULL) ON COMMIT DROP";
+
+    private static final String INSERT_STAGING = "INSERT INTO bid_import VALUES (?, ?, ?, ?)";
+
+    // the first problem of each staged row that fails a check, plus the total number of failing rows
+    private static final String FIND_PROBLEMS = "SELECT row_no, problem, count(*) OVER () AS total FROM (" +
+            "SELECT s.row_no, CASE " +
+            "WHEN m.member_id IS NULL THEN 'member ' || s.final_bidder || ' does not exist' " +
+            "WHEN s.final_bidder <> c.owner_id AND NOT EXISTS (SELECT 1 FROM comitte_member_map cmm " +
+            "WHERE cmm.comitte_id = c.comitte_id AND cmm.member_id = s.final_bidder) " +
+            "THEN 'member ' || s.final_bidder || ' is not in the comitte' " +
+            "WHEN s.final_bid_amt > c.full_amount THEN 'finalBidAmt is above the comitte fullAmount ' || c.full_amount " +
+            "WHEN s.bid_date < c.start_date THEN 'bidDate is before the comitte startDate ' || c.start_date " +
+            "END AS problem " +
+            "FROM bid_import s JOIN comittes c ON c.comitte_id = ? LEFT JOIN members m ON m.member_id = s.final_bidder" +
+            ") p WHERE problem IS NOT NULL ORDER BY row_no LIMIT ?";
+
+    private static final String FIND_ROUNDS = "SELECT c.total_shares, " +
+            "(SELECT count(*) FROM bids b WHERE b.comitte_id = c.comitte_id) AS recorded " +
+            "FROM comittes c WHERE c.comitte_id = ?";
+
+    // comitte_number is left null and set by RENUMBER; ids follow date order so ties keep file order
+    private static final String INSERT_BIDS = "INSERT INTO bids " +
+            "(comitte_id, final_bidder, final_bid_amt, bid_date, created_by, created_timestamp, updated_by, " +
+            "updated_timestamp, version) " +
+            "SELECT ?, final_bidder, final_bid_amt, bid_date, ?, now(), ?, now(), 0 " +
+            "FROM bid_import ORDER BY bid_date, row_no";
+
+    // one pass over the comitte's bids; only rows whose number changes are written (and, unless new, versioned)
+    private static final String RENUMBER = "UPDATE bids b SET comitte_number = n.rn, " +
+            "version = CASE WHEN b.comitte_number IS NULL THEN b.version ELSE b.version + 1 END, " +
+            "updated_by = ?, updated_timestamp = now() " +
+            "FROM (SELECT bid_id, row_number() OVER (ORDER BY bid_date, bid_id) AS rn FROM bids WHERE comitte_id = ?) n " +
+            "WHERE b.bid_id = n.bid_id AND b.comitte_number IS DISTINCT FROM n.rn";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ComitteRepository comitteRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final AuditorAware<Long> auditorAware;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long maxRows;
+    private final int maxErrors;
+
+    public BidImportService(JdbcTemplate jdbcTemplate, ComitteRepository comitteRepository,
+                            CacheInvalidationBus cacheInvalidationBus, AuditorAware<Long> auditorAware,
+                            Validator validator, ObjectMapper objectMapper,
+                            @Value("${bid-import.batch-size:500}") int batchSize,
+                            @Value("${bid-import.max-rows:10000}") long maxRows,
+                            @Value("${bid-import.max-errors:100}") int maxErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.comitteRepository = comitteRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.auditorAware = auditorAware;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Imports past rounds of one comitte. All or nothing: if any row is rejected, nothing is written and the
+     * response lists the problems.
+     */
+    // SQL: 1 exists, create temp table, 1 batch insert per batch-size rows, lock comitte,
+    //      1 select (set-based checks), 1 select (rounds), 1 insert ... select, 1 update (renumber)
+    @Transactional
+    public BidImportResponse importBids(Long comitteId, InputStream input, RowFormat format) throws IOException {
+        if (!comitteRepository.existsById(comitteId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, COMITTE_NOT_FOUND);
+        }
+        jdbcTemplate.execute(CREATE_STAGING);
+
+        Problems problems = new Problems(maxErrors);
+        long rows = 0;
+        long staged = 0;
+        try (ImportRowReader<HistoricalBidRequest> reader =
+                     ImportRowReader.open(input, format, objectMapper, HistoricalBidRequest.class)) {
+            List<Row<HistoricalBidRequest>> batch = new ArrayList<>(batchSize);
+            for (Row<HistoricalBidRequest> row = reader.next(); row != null; row = reader.next()) {
+                if (row.number() > maxRows) {
+                    problems.add(null, "more than " + maxRows + " rows; split the file");
+                    break;
+                }
+                rows++;
+                String problem = row.error() != null ? row.error() : validate(row.value());
+                if (problem != null) {
+                    problems.add(row.number(), problem);
+                    if (row.fatal()) {
+                        break;
+                    }
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    staged += stage(batch);
+                    batch.clear();
+                }
+            }
+            staged += stage(batch);
+        }
+
+        // The lock is taken only now, so a slow upload does not block bids and mappings of the comitte. The checks
+        // come after it: each statement reads what was committed when it started, so a mapping removed or a
+        // fullAmount lowered before the lock was granted is seen
+        comitteRepository.lockById(comitteId);
+        problems.addAll(findProblems(comitteId, problems.remaining()));
+        checkRounds(comitteId, staged, problems);
+
+        if (problems.total > 0) {
+            log.info("Bid import for comitte {} rejected: {} of {} rows", comitteId, problems.total, rows);
+            return new BidImportResponse(comitteId, rows, 0, 0, problems.total, problems.errors);
+        }
+
+        Long auditor = auditorAware.getCurrentAuditor().orElse(null);
+        int imported = jdbcTemplate.update(INSERT_BIDS, comitteId, auditor, auditor);
+        int renumbered = jdbcTemplate.update(RENUMBER, auditor, comitteId) - imported;
+        cacheInvalidationBus.comittesChanged(comitteId);
+        log.info("Bid import for comitte {}: {} bids imported, {} existing bids renumbered", comitteId, imported, renumbered);
+        return new BidImportResponse(comitteId, rows, imported, renumbered, 0, List.of());
+    }
+
+    private String validate(HistoricalBidRequest request) {
+        Set<ConstraintViolation<HistoricalBidRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted().collect(Collectors.joining(", "));
+    }
+
+    private int stage(List<Row<HistoricalBidRequest>> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_STAGING, batch, batch.size(), (ps, row) -> {
+            ps.setLong(1, row.number());
+            ps.setLong(2, row.value().getFinalBidder());
+            ps.setInt(3, row.value().getFinalBidAmt());
+            ps.setTimestamp(4, Timestamp.valueOf(row.value().getBidDate()));
+        });
+        return batch.size();
+    }
+
+    // returns the number of failing rows; at most `limit` of them are listed
+    private Problems findProblems(Long comitteId, int limit) {
+        Problems found = new Problems(limit);
+        jdbcTemplate.query(FIND_PROBLEMS, rs -> {
+            found.total = rs.getLong("total");
+            found.errors.add(new RowError(rs.getLong("row_no"), rs.getString("problem")));
+        }, comitteId, Math.max(limit, 1));
+        return found;
+    }
+
+    // a comitte runs one round per share, so recorded plus imported bids cannot exceed totalShares
+    private void checkRounds(Long comitteId, long staged, Problems problems) {
+        Map<String, Object> rounds = jdbcTemplate.queryForMap(FIND_ROUNDS, comitteId);
+        Number totalShares = (Number) rounds.get("total_shares");
+        long recorded = ((Number) rounds.get("recorded")).longValue();
+        if (totalShares != null && recorded + staged > totalShares.longValue()) {
+            problems.add(null, "Comitte " + comitteId + " has " + totalShares + " rounds: " + recorded
+                    + " already recorded, " + staged + " imported");
+        }
+    }
+
+    // rejected row count plus the first `limit` problems
+    private static final class Problems {
+        private final int limit;
+        private final List<RowError> errors = new ArrayList<>();
+        private long total;
+
+        Problems(int limit) {
+            this.limit = limit;
+        }
+
+        void add(Long row, String message) {
+            total++;
+            if (errors.size() < limit) {
+                errors.add(new RowError(row, message));
+            }
+        }
+
+        void addAll(Problems other) {
+            total += other.total;
+            for (RowError error : other.errors) {
+                if (errors.size() < limit) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        int remaining() {
+            return limit - errors.size();
+        }
+    }
+}
@@ -2,22 +2,31 @@ package com.ls.comitte.service;
 
 import com.ls.comitte.model.entity.Bid;
 import com.ls.comitte.model.entity.Comitte;
+import com.ls.comitte.model.entity.SyncTombstone;
 import com.ls.auth.model.entity.Member;
 import com.ls.comitte.model.request.BidRequest;
 import com.ls.comitte.model.response.BidResponse;
 import com.ls.comitte.repository.BidRepository;
 import com.ls.comitte.repository.ComitteRepository;
+import com.ls.comitte.repository.SyncTombstoneRepository;
 import com.ls.auth.repository.MemberRepository;
 import com.ls.comitte.util.ServiceUtil;
 import com.ls.comitte.util.ResponseMapper;
+import com.ls.common.cache.CacheInvalidationBus;
+import com.ls.common.jfr.BidCreationEvent;
+import com.ls.common.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+/**
+ * Bid use cases. Each method notes the SQL statements it issues ("SQL:"); associations are LAZY,
+ * so anything beyond that list is a fetch-plan regression.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -30,19 +39,40 @@ public class BidService {
     private final BidRepository bidRepository;
     private final ComitteRepository comitteRepository;
     private final MemberRepository memberRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
+    // SQL: 1 select (projection)
+    @Transactional(readOnly = true)
     public BidResponse get(Long id) {
-        return bidRepository.findById(id).map(mapper::toResponse)
+        return bidRepository.findResponseById(id)
                 .orElseThrow(() -> new RuntimeException(BID_NOT_FOUND));
     }
 
+    // SQL: 1 select (version stamp); null if the bid does not exist
+    @Transactional(readOnly = true)
+    public String getETag(Long id) {
+        return bidRepository.findVersionById(id).map(version -> version.toWeakETag(id)).orElse(null);
+    }
+
+    // SQL: 1 select (aggregate version stamp)
+    @Transactional(readOnly = true)
+    public String getBidsByComitteIdETag(Long comitteId) {
+        return bidRepository.findVersionByComitteId(comitteId).toWeakETag(comitteId);
+    }
+
+    // SQL: 1 select (projection)
+    @Transactional(readOnly = true)
     public List<BidResponse> getBidsByComitteId(Long comitteId) {
-        return bidRepository.findByComitteIdWithDetails(comitteId).stream().map(mapper::toResponse)
-                .toList();
+        return bidRepository.findResponsesByComitteId(comitteId);
     }
 
+    // SQL: count bids, insert bid (comitte, owner and final bidder come from the second-level cache once warm)
+    // JFR: com.ls.BidCreation covers the method body; the transaction commits after the event ends
     @Transactional
     public BidResponse create(BidRequest bidRequest) {
+        BidCreationEvent event = new BidCreationEvent();
+        event.begin();
         Bid bid = mapper.toEntity(bidRequest);
         
         // Initialize audit metadata object (required for JPA auditing to populate fields)
@@ -79,13 +109,27 @@ public class BidService {
         }
         
         Bid savedBid = bidRepository.save(bid);
+        cacheInvalidationBus.comittesChanged(bidRequest.getComitteId());
         log.info("Bid saved - audit after save: {}", savedBid.getAudit());
-        return mapper.toResponse(savedBid);
+        BidResponse response = mapper.toResponse(savedBid);
+        event.end();
+        if (event.shouldCommit()) {
+            event.comitteId = bidRequest.getComitteId() != null ? bidRequest.getComitteId() : 0;
+            event.bidId = savedBid.getBidId();
+            event.comitteNumber = savedBid.getComitteNumber() != null ? savedBid.getComitteNumber() : 0;
+            event.commit();
+        }
+        return response;
     }
 
+    // SQL: select bid + comitte + owner + final bidder, [select comitte if changed and not cached],
+    //      [select final bidder if changed and not cached], [insert tombstone if moved], update bid if changed (version-checked)
+    @RetryOnConflict
     @Transactional
     public BidResponse update(Long bidId, BidRequest bidRequest) {
-        Bid bid = bidRepository.findById(bidId).orElseThrow(() -> new RuntimeException(BID_NOT_FOUND));
+        Bid bid = bidRepository.findWithDetailsByBidId(bidId).orElseThrow(() -> new RuntimeException(BID_NOT_FOUND));
+        ServiceUtil.checkVersion("Bid", bid.getVersion(), bidRequest.getVersion());
+        Long previousComitteId = bid.getComitte() != null ? bid.getComitte().getComitteId() : null;
         
         ServiceUtil.update(bid, bidRequest);
         
@@ -94,40 +138,52 @@ public class BidService {
             bid.setAudit(new com.ls.common.model.AuditMetadata());
         }
         
-        // Update committee relationship if provided
-        if (bidRequest.getComitteId() != null) {
+        // Update committee relationship if it changed
+        if (bidRequest.getComitteId() != null
+                && (bid.getComitte() == null || !bid.getComitte().getComitteId().equals(bidRequest.getComitteId()))) {
             Comitte comitte = comitteRepository.findById(bidRequest.getComitteId())
                     .orElseThrow(() -> new RuntimeException(COMITTE_NOT_FOUND));
             bid.setComitte(comitte);
+            // members of the previous comitte must drop the bid on their next sync
+            if (previousComitteId != null) {
+                syncTombstoneRepository.save(SyncTombstone.of(SyncTombstone.EntityType.BID, bidId, previousComitteId, null));
+            }
         }
         
-        // Update final bidder relationship if provided
-        if (bidRequest.getFinalBidder() != null) {
+        // Update final bidder relationship if it changed
+        if (bidRequest.getFinalBidder() != null
+                && (bid.getFinalBidder() == null || !bid.getFinalBidder().getMemberId().equals(bidRequest.getFinalBidder()))) {
             Member finalBidder = memberRepository.findById(bidRequest.getFinalBidder())
                     .orElseThrow(() -> new RuntimeException(MEMBER_NOT_FOUND));
             bid.setFinalBidder(finalBidder);
         }
         
         bidRepository.save(bid);
+        cacheInvalidationBus.comittesChanged(previousComitteId, bidRequest.getComitteId());
         return mapper.toResponse(bid);
     }
 
+    // SQL: select bid, delete bid, insert tombstone
     @Transactional
     public void delete(Long id) {
-        bidRepository.deleteById(id);
+        bidRepository.findById(id).ifPresent(bid -> {
+            Long comitteId = bid.getComitte() != null ? bid.getComitte().getComitteId() : null;
+            bidRepository.delete(bid);
+            syncTombstoneRepository.save(SyncTombstone.of(SyncTombstone.EntityType.BID, id, comitteId, null));
+            cacheInvalidationBus.comittesChanged(comitteId);
+        });
     }
     
     /**
-     * Get all bids for committees where the member belongs.
-     * Uses single query with JOIN FETCH for receiversList.
+     * Get all bids for committees where the member belongs (as member or owner).
+     * Uses a single projection query, so no Bid/Comitte/Member entities are hydrated.
      * 
      * @param memberId the ID of the member
-     * @return List of BidResponse with receiversList populated
+     * @return List of BidResponse ordered by bid date, newest first
      */
+    // SQL: 1 select (projection)
+    @Transactional(readOnly = true)
     public List<BidResponse> getBidsForMemberCommittees(Long memberId) {
-        List<Bid> bids = bidRepository.findBidsForMemberCommittees(memberId);
-        return bids.stream()
-                .map(mapper::toResponse)
-                .toList();
+        return bidRepository.findResponsesForMemberCommittees(memberId);
     }
 }
@@ -4,15 +4,24 @@ import com.ls.comitte.model.request.ComitteMemberMapRequest;
 import com.ls.comitte.model.response.ComitteMemberMapResponse;
 import com.ls.comitte.model.entity.ComitteMemberMap;
 import com.ls.comitte.model.entity.Comitte;
+import com.ls.comitte.model.entity.SyncTombstone;
 import com.ls.auth.model.entity.Member;
 import com.ls.comitte.repository.ComitteMemberMapRepository;
 import com.ls.comitte.repository.ComitteRepository;
+import com.ls.comitte.repository.SyncTombstoneRepository;
 import com.ls.auth.repository.MemberRepository;
 import com.ls.comitte.util.ResponseMapper;
+import com.ls.comitte.util.ServiceUtil;
+import com.ls.common.cache.CacheInvalidationBus;
+import com.ls.common.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Committee membership use cases. Each method notes the SQL statements it issues ("SQL:"); associations
+ * are LAZY, so anything beyond that list is a fetch-plan regression.
+ */
 @Service
 @RequiredArgsConstructor
 public class ComitteMemberMapService {
@@ -21,9 +30,16 @@ public class ComitteMemberMapService {
     private final ComitteMemberMapRepository repo;
     private final ComitteRepository comitteRepository;
     private final MemberRepository memberRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ShareCapacityService shareCapacityService;
 
+    // SQL: reserve shares (conditional update), select comitte, select member, insert mapping
     @Transactional
     public ComitteMemberMapResponse create(ComitteMemberMapRequest comitteMemberMapRequest) {
+        // fails with 409 when the comitte has too few free shares; nothing else has been written yet
+        shareCapacityService.reserve(comitteMemberMapRequest.getComitteId(), comitteMemberMapRequest.getShareCount());
+        
         ComitteMemberMap comitteMemberMap = mapper.toEntity(comitteMemberMapRequest);
         
         // Initialize audit metadata object (required for JPA auditing to populate fields)
@@ -42,13 +58,21 @@ public class ComitteMemberMapService {
         comitteMemberMap.setShareCount(comitteMemberMapRequest.getShareCount());
         
         repo.save(comitteMemberMap);
+        cacheInvalidationBus.comittesChanged(comitte.getComitteId());
         return mapper.toResponse(comitteMemberMap);
     }
 
+    // SQL: select mapping + comitte + member, [select comitte if changed], [select member if changed],
+    //      [insert tombstone if moved], [reserve/release shares if the comitte or share count changed],
+    //      update mapping if changed (version-checked)
+    @RetryOnConflict
     @Transactional
     public ComitteMemberMapResponse update(Long id, ComitteMemberMapRequest comitteMemberMapRequest) {
-        ComitteMemberMap comitteMemberMap = repo.findById(id)
+        ComitteMemberMap comitteMemberMap = repo.findWithDetailsById(id)
                 .orElseThrow(() -> new RuntimeException(COMITTE_MEMBER_MAPPING_NOT_FOUND));
+        ServiceUtil.checkVersion("Comitte member mapping", comitteMemberMap.getVersion(), comitteMemberMapRequest.getVersion());
+        Long previousComitteId = comitteMemberMap.getComitte().getComitteId();
+        Long previousMemberId = comitteMemberMap.getMember().getMemberId();
         
         // Initialize audit metadata if null (shouldn't happen on update, but safe check)
         if (comitteMemberMap.getAudit() == null) {
@@ -68,19 +92,39 @@ public class ComitteMemberMapService {
             comitteMemberMap.setMember(member);
         }
         
+        // a mapping moved to another comitte or member is gone for the previous member and comitte on their next sync
+        if (!previousComitteId.equals(comitteMemberMap.getComitte().getComitteId())
+                || !previousMemberId.equals(comitteMemberMap.getMember().getMemberId())) {
+            syncTombstoneRepository.save(SyncTombstone.of(
+                    SyncTombstone.EntityType.MEMBERSHIP, id, previousComitteId, previousMemberId));
+        }
+        
+        shareCapacityService.move(previousComitteId, comitteMemberMap.getShareCount(),
+                comitteMemberMapRequest.getComitteId(), comitteMemberMapRequest.getShareCount());
         comitteMemberMap.setShareCount(comitteMemberMapRequest.getShareCount());
         repo.save(comitteMemberMap);
+        cacheInvalidationBus.comittesChanged(previousComitteId, comitteMemberMapRequest.getComitteId());
         return mapper.toResponse(comitteMemberMap);
     }
 
+    // SQL: 1 select (projection)
+    @Transactional(readOnly = true)
     public ComitteMemberMapResponse get(Long id) {
-        return repo.findById(id).map(mapper::toResponse)
+        return repo.findResponseById(id)
                 .orElseThrow(() -> new RuntimeException(COMITTE_MEMBER_MAPPING_NOT_FOUND));
     }
 
+    // SQL: select mapping, release shares, delete mapping, insert tombstone
     @Transactional
     public void delete(Long id) {
-        repo.deleteById(id);
+        repo.findById(id).ifPresent(comitteMemberMap -> {
+            Long comitteId = comitteMemberMap.getComitte().getComitteId();
+            shareCapacityService.release(comitteId, comitteMemberMap.getShareCount());
+            repo.delete(comitteMemberMap);
+            syncTombstoneRepository.save(SyncTombstone.of(SyncTombstone.EntityType.MEMBERSHIP, id, comitteId,
+                    comitteMemberMap.getMember().getMemberId()));
+            cacheInvalidationBus.comittesChanged(comitteId);
+        });
     }
 
 }
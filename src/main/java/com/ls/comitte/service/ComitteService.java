@@ -1,22 +1,41 @@
 package com.ls.comitte.service;
 
+import com.ls.comitte.cache.MembershipIndex;
 import com.ls.comitte.model.request.ComitteRequest;
+import com.ls.comitte.model.response.ComitteDeletionResponse;
 import com.ls.comitte.model.response.ComitteResponse;
 import com.ls.comitte.model.entity.Comitte;
 import com.ls.comitte.model.entity.ComitteMemberMap;
+import com.ls.comitte.model.entity.SyncTombstone;
 import com.ls.auth.model.entity.Member;
 import com.ls.comitte.model.response.ComitteMemberMapResponse;
+import com.ls.comitte.repository.BidRepository;
 import com.ls.comitte.repository.ComitteMemberMapRepository;
 import com.ls.comitte.repository.ComitteRepository;
+import com.ls.comitte.repository.SyncTombstoneRepository;
 import com.ls.auth.repository.MemberRepository;
 import com.ls.comitte.util.ServiceUtil;
 import com.ls.comitte.util.ResponseMapper;
+import com.ls.common.cache.CacheInvalidationBus;
+import com.ls.common.retry.RetryOnConflict;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.text.MessageFormat;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Committee use cases. Each method notes the SQL statements it issues ("SQL:"); associations are LAZY,
+ * so anything beyond that list is a fetch-plan regression.
+ */
 @Service
 @RequiredArgsConstructor
 public class ComitteService {
@@ -26,13 +45,26 @@ public class ComitteService {
     private final ComitteRepository comitteRepository;
     private final MemberRepository memberRepository;
     private final ComitteMemberMapRepository comitteMemberMapRepository;
+    private final BidRepository bidRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final MembershipIndex membershipIndex;
+    private final ShareCapacityService shareCapacityService;
 
+    // SQL: 1 select (projection)
+    @Transactional(readOnly = true)
     public ComitteResponse get(Long comitteId) {
-        Comitte comitte = comitteRepository.findByIdWithBidsCount(comitteId)
+        return comitteRepository.findResponseById(comitteId)
                 .orElseThrow(() -> new RuntimeException(COMITTE_NOT_FOUND));
-        return mapper.toResponse(comitte);
     }
 
+    // SQL: 1 select (version stamp); null if the comitte does not exist
+    @Transactional(readOnly = true)
+    public String getETag(Long comitteId) {
+        return comitteRepository.findVersionById(comitteId).map(version -> version.toWeakETag(comitteId)).orElse(null);
+    }
+
+    // SQL: select owner, insert comitte
     @Transactional
     public ComitteResponse create(ComitteRequest comitteRequest) {
         Comitte comitte = mapper.toEntity(comitteRequest);
@@ -48,13 +80,25 @@ public class ComitteService {
         comitte.setOwner(owner);
         
         comitteRepository.save(comitte);
+        // drops a reader list cached for this id by a request made before the comitte existed
+        cacheInvalidationBus.comittesChanged(comitte.getComitteId());
         return mapper.toResponse(comitte);
     }
 
+    // SQL: select comitte (owner stays unloaded), update comitte if changed (version-checked), select response projection
+    @RetryOnConflict
     @Transactional
     public ComitteResponse update(Long comitteId, ComitteRequest comitteRequest) {
-        Comitte comitte = comitteRepository.findByIdWithBidsCount(comitteId)
+        Comitte comitte = comitteRepository.findById(comitteId)
                 .orElseThrow(() -> new RuntimeException(COMITTE_NOT_FOUND));
+        ServiceUtil.checkVersion("Comitte", comitte.getVersion(), comitteRequest.getVersion());
+        // a reservation bumps the version, so a stale reservedShares here fails the version check and is retried
+        int reservedShares = comitte.getReservedShares() == null ? 0 : comitte.getReservedShares();
+        if (comitteRequest.getTotalShares() != null && comitteRequest.getTotalShares() < reservedShares) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, MessageFormat.format(
+                    "Comitte {0} has {1} share(s) assigned; totalShares cannot be lower",
+                    comitteId, reservedShares));
+        }
         ServiceUtil.update(comitte, comitteRequest);
         
         // Initialize audit metadata if null (shouldn't happen on update, but safe check)
@@ -62,23 +106,64 @@ public class ComitteService {
             comitte.setAudit(new com.ls.common.model.AuditMetadata());
         }
         
-        comitteRepository.save(comitte);
-        return mapper.toResponse(comitte);
+        comitteRepository.saveAndFlush(comitte);
+        cacheInvalidationBus.comittesChanged(comitteId);
+        return comitteRepository.findResponseById(comitteId)
+                .orElseThrow(() -> new RuntimeException(COMITTE_NOT_FOUND));
     }
 
+    /**
+     * Deletes a comitte with its bids and memberships using set-based statements; no bid or mapping entity is
+     * loaded, however large the comitte. Refused with 409 while rounds are still open: some but not all of
+     * its {@code totalShares} rounds have a bid.
+     */
+    // SQL: select ... for update (comitte row lock), select response projection (precondition),
+    //      insert member tombstones (insert ... select), insert owner tombstone,
+    //      delete bids, delete mappings, delete comitte (one statement each)
     @Transactional
-    public void delete(Long id) { // business rule: prevent deletion if bids exist could be added
-        comitteRepository.deleteById(id);
+    public ComitteDeletionResponse delete(Long id) {
+        comitteRepository.lockById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, COMITTE_NOT_FOUND));
+        ComitteResponse comitte = comitteRepository.findResponseById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, COMITTE_NOT_FOUND));
+        if (hasOpenRounds(comitte)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, MessageFormat.format(
+                    "Comitte {0} still has open rounds ({1} of {2} held); delete it after the last round",
+                    id, comitte.bidsCount(), comitte.totalShares()));
+        }
+
+        // tombstones first: the member ids come from the mappings about to be deleted
+        int tombstones = syncTombstoneRepository.insertComitteTombstonesForMembers(id, comitte.ownerId(), LocalDateTime.now());
+        syncTombstoneRepository.save(SyncTombstone.of(SyncTombstone.EntityType.COMITTE, id, id, comitte.ownerId()));
+        int bids = bidRepository.bulkDeleteByComitteId(id);
+        int memberships = comitteMemberMapRepository.bulkDeleteByComitteId(id);
+        comitteRepository.bulkDeleteById(id);
+
+        cacheInvalidationBus.comittesChanged(id);
+        return new ComitteDeletionResponse(id, bids, memberships, tombstones + 1);
+    }
+
+    // started (at least one bid) but not finished (fewer bids than shares); a comitte without totalShares never is
+    private static boolean hasOpenRounds(ComitteResponse comitte) {
+        return comitte.totalShares() != null && comitte.bidsCount() > 0 && comitte.bidsCount() < comitte.totalShares();
     }
 
+    // SQL: reserve shares (conditional update), select comitte, select members (one IN query), one insert per member,
+    //      select response projection
     @Transactional
     public ComitteResponse assignMembers(Long comitteId, List<Long> memberIds) {
-        Comitte comitte = comitteRepository.findByIdWithBidsCount(comitteId)
+        // one share per member, reserved all-or-nothing before anything is loaded
+        shareCapacityService.reserve(comitteId, memberIds.size());
+        Comitte comitte = comitteRepository.findById(comitteId)
                 .orElseThrow(() -> new RuntimeException(COMITTE_NOT_FOUND));
+        Map<Long, Member> members = memberRepository.findAllById(memberIds).stream()
+                .collect(Collectors.toMap(Member::getMemberId, Function.identity()));
         
         for (Long mid : memberIds) {
-            Member member = memberRepository.findById(mid)
-                    .orElseThrow(() -> new RuntimeException("Member not found with ID: " + mid));
+            Member member = members.get(mid);
+            if (member == null) {
+                throw new RuntimeException("Member not found with ID: " + mid);
+            }
             
             ComitteMemberMap comitteMemberMap = ComitteMemberMap.builder()
                     .comitte(comitte)
@@ -88,34 +173,55 @@ public class ComitteService {
                     .build();
             comitteMemberMapRepository.save(comitteMemberMap);
         }
-        return mapper.toResponse(comitte);
+        cacheInvalidationBus.comittesChanged(comitteId);
+        return comitteRepository.findResponseById(comitteId)
+                .orElseThrow(() -> new RuntimeException(COMITTE_NOT_FOUND));
     }
 
+    // SQL: 1 select (projection by primary keys from the membership index, none if there are no comittes)
+    @Transactional(readOnly = true)
     public List<ComitteResponse> getMemberComittes(Long memberId) {
-        return comitteRepository.findComittesByMemberIdWithBidsCount(memberId)
-                .stream()
-                .map(mapper::toResponse)
-                .toList();
+        if (!membershipIndex.isLoaded()) {
+            return comitteRepository.findResponsesByMemberId(memberId);
+        }
+        return findResponsesByIds(membershipIndex.memberComitteIds(memberId));
     }
 
+    // SQL: 1 select (projection by primary keys from the membership index, none if there are no comittes)
+    @Transactional(readOnly = true)
     public List<ComitteResponse> getOwnerComittes(Long ownerId) {
-        return comitteRepository.findComittesByOwnerIdWithBidsCount(ownerId)
-                .stream()
-                .map(mapper::toResponse)
-                .toList();
+        if (!membershipIndex.isLoaded()) {
+            return comitteRepository.findResponsesByOwnerId(ownerId);
+        }
+        return findResponsesByIds(membershipIndex.ownedComitteIds(ownerId));
     }
 
+    // SQL: 1 select (aggregate version stamp)
+    @Transactional(readOnly = true)
+    public String getAllAssociatedMembersETag(Long comitteId) {
+        return comitteMemberMapRepository.findVersionByComitteId(comitteId).toWeakETag(comitteId);
+    }
+
+    // SQL: 1 select (projection)
+    @Transactional(readOnly = true)
     public List<ComitteMemberMapResponse> getAllAssociatedMembers(Long comitteId) {
-        return comitteMemberMapRepository.findByComitteIdWithDetails(comitteId).stream()
-                .map(mapper::toResponse)
-                .toList();
+        return comitteMemberMapRepository.findResponsesByComitteId(comitteId);
     }
 
+    // SQL: 1 select (projection by primary keys from the membership index, none if there are no comittes)
+    @Transactional(readOnly = true)
     public List<ComitteResponse> findAllMyComittes(Long memberId) {
-        return comitteRepository.findAllMyComittesWithBidsCount(memberId)
-                .stream()
-                .map(mapper::toResponse)
-                .toList();
+        if (!membershipIndex.isLoaded()) {
+            return comitteRepository.findAllMyResponses(memberId);
+        }
+        return findResponsesByIds(membershipIndex.myComitteIds(memberId));
+    }
+
+    private List<ComitteResponse> findResponsesByIds(long[] comitteIds) {
+        if (comitteIds.length == 0) {
+            return List.of();
+        }
+        return comitteRepository.findResponsesByIds(LongArrayList.wrap(comitteIds));
     }
 
 
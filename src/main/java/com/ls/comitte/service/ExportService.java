@@ -0,0 +1,158 @@
+package com.ls.comitte.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ls.comitte.model.response.BidResponse;
+import com.ls.comitte.model.response.ComitteMemberMapResponse;
+import com.ls.common.util.ExportRowWriter;
+import com.ls.common.util.RowFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Streaming exports of bids and memberships.
+ *
+ * <p>Each export is one native query read through a forward-only cursor: inside the read-only transaction the
+ * Postgres driver fetches {@code export.fetch-size} rows per round trip instead of the whole result, and each row
+ * is written to the response as it is read. No entity, list or document is built, so heap use does not depend on
+ * the row count. The columns mirror the BidRepository / ComitteMemberMapRepository projections.</p>
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final String BID_EXPORT_SELECT = "SELECT b.bid_id, c.comitte_id, c.comitte_name, " +
+            "o.member_id AS owner_id, o.name AS owner_name, b.comitte_number, " +
+            "fb.member_id AS final_bidder_id, fb.name AS final_bidder_name, b.final_bid_amt, " +
+            "CASE WHEN b.final_bid_amt IS NULL OR c.full_amount IS NULL OR c.total_shares IS NULL OR c.total_shares = 0 " +
+            "THEN NULL ELSE (c.full_amount - b.final_bid_amt) / c.total_shares END AS monthly_share, " +
+            "b.bid_date, b.created_timestamp, b.updated_timestamp, b.version " +
+            "FROM bids b " +
+            "JOIN comittes c ON c.comitte_id = b.comitte_id " +
+            "LEFT JOIN members o ON o.member_id = c.owner_id " +
+            "LEFT JOIN members fb ON fb.member_id = b.final_bidder ";
+
+    private static final String MEMBERSHIP_EXPORT_SELECT = "SELECT cmm.id, c.comitte_id, m.member_id, c.comitte_name, " +
+            "m.name AS member_name, m.mobile AS member_mobile, cmm.share_count, " +
+            "cmm.created_timestamp, cmm.updated_timestamp, cmm.version " +
+            "FROM comitte_member_map cmm " +
+            "JOIN comittes c ON c.comitte_id = cmm.comitte_id " +
+            "LEFT JOIN members m ON m.member_id = cmm.member_id ";
+
+    // comittes the member owns or is mapped to; a UNION of two index lookups, like ComitteRepository.MEMBER_COMITTE_IDS
+    private static final String MEMBER_COMITTES = "c.comitte_id IN (SELECT o.comitte_id FROM comittes o WHERE o.owner_id = ? " +
+            "UNION SELECT j.comitte_id FROM comitte_member_map j WHERE j.member_id = ?) ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(DataSource dataSource, ObjectMapper objectMapper,
+                         @Value("${export.fetch-size:1000}") int fetchSize) {
+        // own template: the fetch size only streams inside a transaction, and only these queries want it
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    // SQL: 1 select (cursor)
+    @Transactional(readOnly = true)
+    public long exportBidsByComitteId(Long comitteId, RowFormat format, OutputStream output) throws IOException {
+        return export(BID_EXPORT_SELECT + "WHERE c.comitte_id = ? ORDER BY b.comitte_number, b.bid_id",
+                BidResponse.class, ExportService::toBidResponse, format, output, comitteId);
+    }
+
+    // SQL: 1 select (cursor)
+    @Transactional(readOnly = true)
+    public long exportBidsForMemberCommittees(Long memberId, RowFormat format, OutputStream output) throws IOException {
+        return export(BID_EXPORT_SELECT + "WHERE " + MEMBER_COMITTES + "ORDER BY b.bid_id",
+                BidResponse.class, ExportService::toBidResponse, format, output, memberId, memberId);
+    }
+
+    // SQL: 1 select (cursor)
+    @Transactional(readOnly = true)
+    public long exportMembershipsByComitteId(Long comitteId, RowFormat format, OutputStream output) throws IOException {
+        return export(MEMBERSHIP_EXPORT_SELECT + "WHERE c.comitte_id = ? ORDER BY cmm.id",
+                ComitteMemberMapResponse.class, ExportService::toMembershipResponse, format, output, comitteId);
+    }
+
+    // SQL: 1 select (cursor)
+    @Transactional(readOnly = true)
+    public long exportMembershipsForMemberCommittees(Long memberId, RowFormat format, OutputStream output)
+            throws IOException {
+        return export(MEMBERSHIP_EXPORT_SELECT + "WHERE " + MEMBER_COMITTES + "ORDER BY cmm.id",
+                ComitteMemberMapResponse.class, ExportService::toMembershipResponse, format, output, memberId, memberId);
+    }
+
+    private <T> long export(String sql, Class<T> type, RowMapper<T> mapper, RowFormat format, OutputStream output,
+                            Object... args) throws IOException {
+        long[] rows = {0};
+        try (ExportRowWriter<T> writer = ExportRowWriter.open(output, format, objectMapper, type)) {
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(mapper.map(rs));
+                } catch (IOException e) {
+                    // client went away: abort the cursor instead of reading rows nobody receives
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }, args);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Exported {} {} rows as {}", rows[0], type.getSimpleName(), format);
+        return rows[0];
+    }
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private static BidResponse toBidResponse(ResultSet rs) throws SQLException {
+        return new BidResponse(
+                rs.getLong("bid_id"),
+                rs.getLong("comitte_id"),
+                rs.getString("comitte_name"),
+                rs.getObject("owner_id", Long.class),
+                rs.getString("owner_name"),
+                rs.getObject("comitte_number", Integer.class),
+                rs.getObject("final_bidder_id", Long.class),
+                rs.getString("final_bidder_name"),
+                rs.getObject("final_bid_amt", Integer.class),
+                rs.getObject("monthly_share", Integer.class),
+                toLocalDateTime(rs.getTimestamp("bid_date")),
+                toLocalDateTime(rs.getTimestamp("created_timestamp")),
+                toLocalDateTime(rs.getTimestamp("updated_timestamp")),
+                rs.getObject("version", Long.class));
+    }
+
+    private static ComitteMemberMapResponse toMembershipResponse(ResultSet rs) throws SQLException {
+        return new ComitteMemberMapResponse(
+                rs.getLong("id"),
+                rs.getLong("comitte_id"),
+                rs.getObject("member_id", Long.class),
+                rs.getString("comitte_name"),
+                rs.getString("member_name"),
+                rs.getString("member_mobile"),
+                rs.getObject("share_count", Integer.class),
+                toLocalDateTime(rs.getTimestamp("created_timestamp")),
+                toLocalDateTime(rs.getTimestamp("updated_timestamp")),
+                rs.getObject("version", Long.class));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
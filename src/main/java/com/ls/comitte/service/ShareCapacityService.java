@@ -0,0 +1,77 @@
+package com.ls.comitte.service;
+
+import com.ls.comitte.repository.ComitteRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.text.MessageFormat;
+
+/**
+ * Keeps {@code comittes.reserved_shares} equal to the sum of the comitte's mapped shares, and at most
+ * {@code total_shares}.
+ *
+ * <p>Every change is a single conditional UPDATE on the comitte row (never a {@code SUM} read followed by a
+ * write), so concurrent sign-ups cannot oversubscribe a comitte; they queue on that one row's lock only.
+ * Must run inside the caller's transaction, so a failed mapping insert also rolls the reservation back.
+ * The updates bypass the second-level cache; the caller reports the comitte to {@code CacheInvalidationBus}.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class ShareCapacityService {
+    private final ComitteRepository comitteRepository;
+
+    // SQL: 1 conditional update; on failure 1 select (free shares)
+    public void reserve(Long comitteId, Integer shares) {
+        int requested = sharesOf(shares);
+        if (requested == 0 || comitteRepository.reserveShares(comitteId, requested) == 1) {
+            return;
+        }
+        int free = comitteRepository.findFreeSharesById(comitteId)
+                .orElseThrow(() -> new RuntimeException("Comitte not found with ID: " + comitteId));
+        throw new ResponseStatusException(HttpStatus.CONFLICT, MessageFormat.format(
+                "Comitte {0} is full: {1} share(s) requested, {2} free", comitteId, requested, Math.max(free, 0)));
+    }
+
+    // SQL: 1 update
+    public void release(Long comitteId, Integer shares) {
+        int released = sharesOf(shares);
+        if (released > 0) {
+            comitteRepository.releaseShares(comitteId, released);
+        }
+    }
+
+    /**
+     * Moves a mapping's reservation from {@code fromShares} on one comitte to {@code toShares} on another
+     * (or the same) comitte.
+     */
+    // SQL: up to 2 updates, lower comitte id first
+    public void move(Long fromComitteId, Integer fromShares, Long toComitteId, Integer toShares) {
+        if (fromComitteId.equals(toComitteId)) {
+            int delta = sharesOf(toShares) - sharesOf(fromShares);
+            if (delta > 0) {
+                reserve(toComitteId, delta);
+            } else {
+                release(toComitteId, -delta);
+            }
+            return;
+        }
+        // Same lock order in every transaction, so two opposite moves cannot deadlock
+        if (fromComitteId < toComitteId) {
+            release(fromComitteId, fromShares);
+            reserve(toComitteId, toShares);
+        } else {
+            reserve(toComitteId, toShares);
+            release(fromComitteId, fromShares);
+        }
+    }
+
+    // mappings without a share count hold no shares
+    private static int sharesOf(Integer shares) {
+        return shares == null ? 0 : shares;
+    }
+}
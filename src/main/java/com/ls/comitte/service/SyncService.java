@@ -0,0 +1,86 @@
+package com.ls.comitte.service;
+
+import com.ls.comitte.model.response.SyncChangesResponse;
+import com.ls.comitte.repository.BidRepository;
+import com.ls.comitte.repository.ComitteMemberMapRepository;
+import com.ls.comitte.repository.ComitteRepository;
+import com.ls.comitte.repository.SyncTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Delta sync for offline-capable clients: everything a member can see that changed since their cursor.
+ *
+ * <p>The cursor is the audit {@code updatedTimestamp} boundary, in epoch microseconds. The next cursor trails
+ * the current time by {@code sync.cursor-overlap}, so a row stamped before the boundary but committed a little
+ * later is still picked up next time. It never moves backwards; rows in the overlap may be sent twice, which is
+ * harmless because clients upsert.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+    private final ComitteRepository comitteRepository;
+    private final ComitteMemberMapRepository comitteMemberMapRepository;
+    private final BidRepository bidRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+
+    @Value("${sync.cursor-overlap:5s}")
+    private Duration cursorOverlap;
+    @Value("${sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    // SQL: 4 selects (projections) on one snapshot; 3 on a full resync
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SyncChangesResponse getChanges(Long memberId, Long cursor) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = cursor == null ? null : fromCursor(cursor);
+        LocalDateTime next = now.minus(cursorOverlap);
+        if (since != null && since.isAfter(next)) {
+            next = since;
+        }
+
+        // no cursor, or older than the tombstones we still hold: deletes may be lost, so send the full state
+        if (since == null || since.isBefore(now.minus(tombstoneRetention))) {
+            log.info("Full resync for member {}", memberId);
+            return new SyncChangesResponse(toCursor(next), true,
+                    comitteRepository.findAllMyResponses(memberId),
+                    comitteMemberMapRepository.findResponsesForMemberCommittees(memberId),
+                    bidRepository.findResponsesForMemberCommittees(memberId),
+                    List.of());
+        }
+        return new SyncChangesResponse(toCursor(next), false,
+                comitteRepository.findChangedMyResponses(memberId, since),
+                comitteMemberMapRepository.findChangedResponsesForMemberCommittees(memberId, since),
+                bidRepository.findChangedResponsesForMemberCommittees(memberId, since),
+                syncTombstoneRepository.findResponsesForMemberSince(memberId, since));
+    }
+
+    // SQL: 1 delete
+    @Scheduled(cron = "${sync.tombstone-purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = syncTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        log.info("Purged {} sync tombstones older than {}", purged, tombstoneRetention);
+    }
+
+    private static Long toCursor(LocalDateTime timestamp) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, timestamp.toInstant(ZoneOffset.UTC));
+    }
+
+    private static LocalDateTime fromCursor(long cursor) {
+        return LocalDateTime.ofInstant(Instant.EPOCH.plus(cursor, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+}
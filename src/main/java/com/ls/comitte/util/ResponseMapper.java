@@ -9,16 +9,20 @@ import com.ls.comitte.model.request.ComitteRequest;
 import com.ls.comitte.model.response.BidResponse;
 import com.ls.comitte.model.response.ComitteMemberMapResponse;
 import com.ls.comitte.model.response.ComitteResponse;
+import com.ls.common.jfr.MapperEvents;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
 public interface ResponseMapper {
-    ResponseMapper INSTANCE = Mappers.getMapper(ResponseMapper.class);
+    ResponseMapper INSTANCE = MapperEvents.instrument(ResponseMapper.class, Mappers.getMapper(ResponseMapper.class));
     
     @Mapping(source = "owner.memberId", target = "ownerId")
     @Mapping(source = "owner.name", target = "ownerName")
+    @Mapping(source = "audit.createdTimestamp", target = "createdTimestamp")
+    @Mapping(source = "audit.updatedTimestamp", target = "updatedTimestamp")
+    @Mapping(source = "reservedShares", target = "associatedSharesCount")
     ComitteResponse toResponse(Comitte comitte);
 
     @Mapping(source = "comitte.comitteId", target = "comitteId")
@@ -28,6 +32,8 @@ public interface ResponseMapper {
     @Mapping(source = "finalBidder.memberId", target = "finalBidderId")
     @Mapping(source = "finalBidder.name", target = "finalBidderName")
     @Mapping(target = "monthlyShare", expression = "java(calculateMonthlyShare(bid))")
+    @Mapping(source = "audit.createdTimestamp", target = "createdTimestamp")
+    @Mapping(source = "audit.updatedTimestamp", target = "updatedTimestamp")
     BidResponse toResponse(Bid bid);
     
     // Map from relationships directly
@@ -36,6 +42,8 @@ public interface ResponseMapper {
     @Mapping(source = "comitte.comitteName", target = "comitteName")
     @Mapping(source = "member.name", target = "memberName")
     @Mapping(source = "member.mobile", target = "memberMobile")
+    @Mapping(source = "audit.createdTimestamp", target = "createdTimestamp")
+    @Mapping(source = "audit.updatedTimestamp", target = "updatedTimestamp")
     ComitteMemberMapResponse toResponse(ComitteMemberMap comitteMemberMap);
 
     @Mapping(target = "audit", ignore = true)
@@ -44,6 +52,8 @@ public interface ResponseMapper {
     @Mapping(target = "bidsCount", ignore = true)
     @Mapping(target = "associatedSharesCount", ignore = true)
     @Mapping(target = "associatedMembersCount", ignore = true)
+    @Mapping(target = "reservedShares", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Comitte toEntity(ComitteRequest comitteRequest);
 
     @Mapping(target = "audit", ignore = true)
@@ -52,12 +62,14 @@ public interface ResponseMapper {
     @Mapping(target = "finalBidder", ignore = true)
     @Mapping(target = "comitteNumber", ignore = true)
     @Mapping(target = "monthlyShare", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Bid toEntity(BidRequest bidRequest);
 
     @Mapping(target = "audit", ignore = true)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "comitte", ignore = true)
     @Mapping(target = "member", ignore = true)
+    @Mapping(target = "version", ignore = true)
     ComitteMemberMap toEntity(ComitteMemberMapRequest comitteMemberMapRequest);
 
     /**
@@ -6,8 +6,24 @@ import com.ls.comitte.model.entity.Bid;
 import com.ls.comitte.model.entity.Comitte;
 import com.ls.comitte.model.request.BidRequest;
 import com.ls.comitte.model.request.ComitteRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.text.MessageFormat;
 
 public class ServiceUtil {
+    /**
+     * Rejects an update made against an older version than the current one (lost-update protection).
+     * Not an optimistic-locking exception on purpose: retrying cannot make a stale client version current.
+     */
+    public static void checkVersion(String entityName, Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, MessageFormat.format(
+                    "{0} was modified concurrently (expected version {1}, current {2}); reload and retry",
+                    entityName, expectedVersion, currentVersion));
+        }
+    }
+
     public static Member update(Member member, MemberRequest memberRequest) {
         if (memberRequest.getUsername() != null) {
             member.setUsername(memberRequest.getUsername());
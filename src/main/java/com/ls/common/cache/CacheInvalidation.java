@@ -0,0 +1,68 @@
+package com.ls.common.cache;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * What a committed write made stale: comittes and members by id, role data, or everything.
+ *
+ * <p>Encoded compactly for a Postgres NOTIFY payload, e.g. {@code C:1,2;M:5}, {@code R} or {@code A}.</p>
+ */
+public record CacheInvalidation(boolean all, boolean roles, Set<Long> comitteIds, Set<Long> memberIds) {
+
+    public static final CacheInvalidation ALL = new CacheInvalidation(true, false, Set.of(), Set.of());
+
+    public boolean isEmpty() {
+        return !all && !roles && comitteIds.isEmpty() && memberIds.isEmpty();
+    }
+
+    public String encode() {
+        if (all) {
+            return "A";
+        }
+        StringBuilder payload = new StringBuilder();
+        if (roles) {
+            payload.append("R;");
+        }
+        if (!comitteIds.isEmpty()) {
+            payload.append("C:").append(join(comitteIds)).append(';');
+        }
+        if (!memberIds.isEmpty()) {
+            payload.append("M:").append(join(memberIds)).append(';');
+        }
+        return payload.isEmpty() ? "" : payload.substring(0, payload.length() - 1);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    public static CacheInvalidation decode(String payload) {
+        boolean roles = false;
+        Set<Long> comitteIds = Set.of();
+        Set<Long> memberIds = Set.of();
+        for (String token : payload.split(";")) {
+            if (token.equals("A")) {
+                return ALL;
+            } else if (token.equals("R")) {
+                roles = true;
+            } else if (token.startsWith("C:")) {
+                comitteIds = split(token.substring(2));
+            } else if (token.startsWith("M:")) {
+                memberIds = split(token.substring(2));
+            } else if (!token.isEmpty()) {
+                throw new IllegalArgumentException("Unknown cache invalidation token: " + token);
+            }
+        }
+        return new CacheInvalidation(false, roles, comitteIds, memberIds);
+    }
+
+    private static String join(Set<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static Set<Long> split(String ids) {
+        return Arrays.stream(ids.split(",")).map(Long::valueOf).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
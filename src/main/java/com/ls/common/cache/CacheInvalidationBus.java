@@ -0,0 +1,159 @@
+package com.ls.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the in-process caches ({@link LocalCacheInvalidator}s) of every node consistent with committed writes.
+ *
+ * <p>Services report what they changed; the bus collects it for the whole transaction and, just before commit,
+ * issues one {@code pg_notify} on the transaction's own connection. Postgres delivers a notification only if
+ * the transaction commits, so other nodes never evict for a rolled-back write. Local caches are evicted after
+ * commit. Notifications from other nodes arrive through {@link PgNotificationListener}.</p>
+ */
+@Slf4j
+public class CacheInvalidationBus {
+
+    // Postgres rejects NOTIFY payloads of 8000 bytes or more; larger change sets fall back to a full flush
+    private static final int MAX_PAYLOAD_BYTES = 7999;
+    private static final char NODE_SEPARATOR = '|';
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final CacheInvalidationProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<LocalCacheInvalidator> invalidators;
+
+    public CacheInvalidationBus(CacheInvalidationProperties properties, JdbcTemplate jdbcTemplate,
+                                List<LocalCacheInvalidator> invalidators) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.invalidators = invalidators;
+    }
+
+    public void comittesChanged(Long... comitteIds) {
+        publish(pending -> {
+            for (Long comitteId : comitteIds) {
+                if (comitteId != null) {
+                    pending.comitteIds.add(comitteId);
+                }
+            }
+        });
+    }
+
+    public void memberChanged(Long memberId) {
+        publish(pending -> pending.memberIds.add(memberId));
+    }
+
+    public void rolesChanged() {
+        publish(pending -> pending.roles = true);
+    }
+
+    /**
+     * Handles a payload received on the channel; notifications this node sent itself are ignored.
+     */
+    void onNotification(String payload) {
+        int separator = payload.indexOf(NODE_SEPARATOR);
+        if (separator < 0) {
+            log.warn("Ignoring cache invalidation without node id: {}", payload);
+            return;
+        }
+        if (nodeId.equals(payload.substring(0, separator))) {
+            return;
+        }
+        try {
+            invalidateLocally(CacheInvalidation.decode(payload.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed cache invalidation '{}', flushing all local caches", payload);
+            invalidateLocally(CacheInvalidation.ALL);
+        }
+    }
+
+    /**
+     * Drops everything cached on this node; used when notifications may have been missed.
+     */
+    void flushLocal() {
+        invalidateLocally(CacheInvalidation.ALL);
+    }
+
+    private void publish(Consumer<Pending> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Pending pending = new Pending();
+            change.accept(pending);
+            CacheInvalidation invalidation = pending.toInvalidation();
+            notifyOtherNodes(invalidation);
+            invalidateLocally(invalidation);
+            return;
+        }
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Pending created = new Pending();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    notifyOtherNodes(created.toInvalidation());
+                }
+
+                @Override
+                public void afterCommit() {
+                    invalidateLocally(created.toInvalidation());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+                }
+            });
+            pending = created;
+        }
+        change.accept(pending);
+    }
+
+    private void notifyOtherNodes(CacheInvalidation invalidation) {
+        if (!properties.isEnabled() || invalidation.isEmpty()) {
+            return;
+        }
+        String payload = nodeId + NODE_SEPARATOR + invalidation.encode();
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            payload = nodeId + NODE_SEPARATOR + CacheInvalidation.ALL.encode();
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null,
+                properties.getChannel(), payload);
+    }
+
+    private void invalidateLocally(CacheInvalidation invalidation) {
+        if (invalidation.isEmpty()) {
+            return;
+        }
+        for (LocalCacheInvalidator invalidator : invalidators) {
+            try {
+                invalidator.invalidate(invalidation);
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation failed in {}", invalidator.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    /**
+     * Changes collected for the current transaction.
+     */
+    private static class Pending {
+        private final Set<Long> comitteIds = new LinkedHashSet<>();
+        private final Set<Long> memberIds = new LinkedHashSet<>();
+        private boolean roles;
+
+        CacheInvalidation toInvalidation() {
+            return new CacheInvalidation(false, roles, Set.copyOf(comitteIds), Set.copyOf(memberIds));
+        }
+    }
+}
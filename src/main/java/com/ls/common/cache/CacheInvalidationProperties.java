@@ -0,0 +1,24 @@
+package com.ls.common.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for cross-node cache invalidation, bound from the {@code cache-invalidation.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache-invalidation")
+public class CacheInvalidationProperties {
+
+    // false: caches are only evicted on the node that made the write (single-node deployments)
+    private boolean enabled = true;
+
+    private String channel = "cache_invalidation";
+
+    // How long the listener waits for notifications before checking that its connection is still alive
+    private Duration pollInterval = Duration.ofSeconds(10);
+
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,43 @@
+package com.ls.common.cache;
+
+import com.ls.auth.model.entity.Authority;
+import com.ls.auth.model.entity.Member;
+import com.ls.auth.model.entity.Role;
+import com.ls.comitte.model.entity.Comitte;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+
+/**
+ * Evicts second-level cache entries. On the writing node Hibernate already keeps them current, except for the
+ * native {@code comittes} updates and deletes in {@code ComitteRepository}; otherwise this mainly matters for
+ * notifications from other nodes.
+ */
+public class HibernateCacheInvalidator implements LocalCacheInvalidator {
+
+    private static final String ROLE_AUTHORITIES = Role.class.getName() + ".authorities";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void invalidate(CacheInvalidation invalidation) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (invalidation.all()) {
+            cache.evictAllRegions();
+            return;
+        }
+        invalidation.comitteIds().forEach(id -> cache.evictEntityData(Comitte.class, id));
+        invalidation.memberIds().forEach(id -> cache.evictEntityData(Member.class, id));
+        if (invalidation.roles()) {
+            cache.evictEntityData(Role.class);
+            cache.evictEntityData(Authority.class);
+            cache.evictCollectionData(ROLE_AUTHORITIES);
+            // RoleRepository.findByRoleName results live in the query cache
+            cache.evictQueryRegions();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.ls.common.cache;
+
+/**
+ * An in-process cache that {@link CacheInvalidationBus} evicts, for writes on this node (after commit) and
+ * on other nodes (on notification).
+ */
+public interface LocalCacheInvalidator {
+
+    void invalidate(CacheInvalidation invalidation);
+}
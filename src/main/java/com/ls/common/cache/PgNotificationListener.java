@@ -0,0 +1,120 @@
+package com.ls.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listens on the invalidation channel over a dedicated connection to the primary (outside the pool, so it is
+ * never recycled or borrowed) and hands every notification to {@link CacheInvalidationBus}.
+ *
+ * <p>Notifications sent while the connection is down are lost, so every (re)connect flushes all local caches
+ * before processing new notifications. The connection is checked with a trivial query whenever a poll comes
+ * back empty, so a silently dropped connection is noticed within one poll interval.</p>
+ */
+@Slf4j
+public class PgNotificationListener implements SmartLifecycle {
+
+    private final CacheInvalidationBus bus;
+    private final CacheInvalidationProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    public PgNotificationListener(CacheInvalidationBus bus, CacheInvalidationProperties properties,
+                                  DataSourceProperties dataSourceProperties) {
+        this.bus = bus;
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly(connection);
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection listenConnection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                connection = listenConnection;
+                try (Statement statement = listenConnection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                // Anything sent before LISTEN took effect was missed
+                bus.flushLocal();
+                log.info("Listening for cache invalidations on channel '{}'", properties.getChannel());
+                listen(listenConnection.unwrap(PGConnection.class), listenConnection);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, reconnecting in {}: {}",
+                            properties.getReconnectDelay(), e.getMessage());
+                    sleep(properties.getReconnectDelay().toMillis());
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private void listen(PGConnection pgConnection, Connection listenConnection) throws SQLException {
+        int pollMillis = (int) properties.getPollInterval().toMillis();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+            if (notifications == null || notifications.length == 0) {
+                try (Statement statement = listenConnection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                bus.onNotification(notification.getParameter());
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Closing cache invalidation listener connection failed", e);
+        }
+    }
+}
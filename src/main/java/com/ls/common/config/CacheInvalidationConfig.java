@@ -0,0 +1,43 @@
+package com.ls.common.config;
+
+import com.ls.common.cache.CacheInvalidationBus;
+import com.ls.common.cache.CacheInvalidationProperties;
+import com.ls.common.cache.HibernateCacheInvalidator;
+import com.ls.common.cache.LocalCacheInvalidator;
+import com.ls.common.cache.PgNotificationListener;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Cross-node cache invalidation over Postgres LISTEN/NOTIFY. The bus always exists so the services can report
+ * changes unconditionally; {@code cache-invalidation.enabled=false} keeps eviction local to the writing node.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(CacheInvalidationProperties.class)
+public class CacheInvalidationConfig {
+
+    @Bean
+    public HibernateCacheInvalidator hibernateCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        return new HibernateCacheInvalidator(entityManagerFactory);
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(CacheInvalidationProperties properties, JdbcTemplate jdbcTemplate,
+                                                     List<LocalCacheInvalidator> invalidators) {
+        return new CacheInvalidationBus(properties, jdbcTemplate, invalidators);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache-invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public PgNotificationListener pgNotificationListener(CacheInvalidationBus bus, CacheInvalidationProperties properties,
+                                                         DataSourceProperties dataSourceProperties) {
+        return new PgNotificationListener(bus, properties, dataSourceProperties);
+    }
+}
@@ -0,0 +1,26 @@
+package com.ls.common.config;
+
+import com.ls.common.jfr.ContinuousRecording;
+import com.ls.common.jfr.JfrProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Always-on JDK Flight Recorder recording of the JVM and the application events in {@code com.ls.common.jfr},
+ * dumped through GET /api/admin/jfr/recording. See JFR.md.
+ *
+ * <p>The events themselves are emitted regardless of {@code jfr.enabled}; JFR discards them unless some
+ * recording, this one or one started with {@code jcmd JFR.start}, has them enabled.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(JfrProperties.class)
+public class JfrConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ContinuousRecording continuousRecording(JfrProperties properties) {
+        return new ContinuousRecording(properties);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ls.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt pool for bulk member imports. Bounded in threads and queue and shared by all concurrent imports,
+ * so a large import cannot take every core from request handling; when it is saturated the importing thread
+ * hashes itself, which throttles the producer.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MemberImportConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService passwordHashExecutor(@Value("${member-import.hash-threads:0}") int hashThreads,
+                                                @Value("${member-import.batch-size:500}") int batchSize) {
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(batchSize),
+                new CustomizableThreadFactory("password-hash-"), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
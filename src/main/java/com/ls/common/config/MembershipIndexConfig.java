@@ -0,0 +1,32 @@
+package com.ls.common.config;
+
+import com.ls.comitte.cache.MembershipIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * In-memory member/comitte adjacency index. The bean always exists so the services can consult it
+ * unconditionally; {@code membership-index.enabled=false} leaves it unloaded and every lookup queries.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MembershipIndexConfig {
+
+    @Bean
+    public MembershipIndex membershipIndex(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                           @Value("${membership-index.enabled:true}") boolean enabled,
+                                           @Value("${membership-index.fetch-size:10000}") int fetchSize) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        // its own transaction on the primary (not read-only, which would route to a replica), never the caller's
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return new MembershipIndex(jdbcTemplate, transactionTemplate, enabled);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ls.common.config;
+
+import com.ls.auth.service.TokenBlacklistService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application meters on top of what Spring Boot binds itself (JVM, HTTP server, Hikari pools, Spring Data
+ * repository invocations). Served for Prometheus at {@code /actuator/prometheus}; see METRICS.md.
+ *
+ * <p>Every tag takes its values from a fixed set: repository and method names, outcome constants, exception class
+ * names, pool names. Ids, usernames, tokens and raw paths never become tag values.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder tokenBlacklistMetrics(TokenBlacklistService tokenBlacklistService) {
+        return registry -> {
+            Gauge.builder("auth.token.blacklist.size", tokenBlacklistService, TokenBlacklistService::getBlacklistedTokenCount)
+                    .description("Logged-out tokens held in memory")
+                    .register(registry);
+            Gauge.builder("auth.session.tracked", tokenBlacklistService, TokenBlacklistService::getTrackedSessionCount)
+                    .description("Tokens with tracked session activity")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.ls.common.config;
+
+import com.ls.common.datasource.ReadYourWritesTracker;
+import com.ls.common.datasource.ReplicaProperties;
+import com.ls.common.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-replica routing, enabled with {@code replica.enabled=true}.
+ *
+ * <p>Replaces the auto-configured datasource with a {@link LazyConnectionDataSourceProxy} over a
+ * {@link ReplicaRoutingDataSource}: read-write transactions use the {@code spring.datasource} primary pool,
+ * {@code @Transactional(readOnly = true)} service methods use one of the {@code replica.nodes} pools.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+@EnableScheduling
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties properties) {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                             ReplicaProperties properties,
+                                                             ReadYourWritesTracker readYourWritesTracker) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        int index = 0;
+        for (ReplicaProperties.Node node : properties.getNodes()) {
+            String name = node.getName() != null ? node.getName() : "replica-" + index;
+            index++;
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(name);
+            replica.setJdbcUrl(node.getUrl());
+            replica.setUsername(node.getUsername());
+            replica.setPassword(node.getPassword());
+            replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+            replica.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+            replica.setReadOnly(true);
+            // Do not fail startup when a replica is down; the health check keeps it out of rotation
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(name, replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker, properties.getMaxReplicationLag());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthCheck replicaHealthCheck(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaHealthCheck(replicaRoutingDataSource);
+    }
+
+    /**
+     * Periodically re-evaluates which replicas may serve reads.
+     */
+    static class ReplicaHealthCheck {
+        private final ReplicaRoutingDataSource routingDataSource;
+
+        ReplicaHealthCheck(ReplicaRoutingDataSource routingDataSource) {
+            this.routingDataSource = routingDataSource;
+        }
+
+        @Scheduled(fixedDelayString = "${replica.health-check-interval-ms:5000}")
+        public void check() {
+            routingDataSource.checkReplicas();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ls.common.config;
+
+import com.ls.comitte.cache.ComitteResponseCache;
+import com.ls.comitte.cache.ResponseCacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serialized response cache for the per-comitte GET endpoints. The cache bean always exists so the services
+ * can evict unconditionally; {@code response-cache.enabled=false} only stops the filter from serving and storing.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public ComitteResponseCache comitteResponseCache(ResponseCacheProperties properties) {
+        return new ComitteResponseCache(properties);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ls.common.config;
+
+import com.ls.common.timing.ServerTimingFilter;
+import com.ls.common.timing.TimingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * {@code Server-Timing} response header, enabled with {@code server-timing.enabled=true}.
+ *
+ * <p>Registers the timing filter ahead of every other filter and wraps the {@code dataSource} bean (the routing
+ * proxy when replicas are enabled) in a {@link TimingDataSource}. Off by default: the header exposes internals,
+ * and the statement proxies cost a reflective call per JDBC method.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // static: a post-processor must not pull this configuration's other beans into early initialization
+    @Bean
+    public static BeanPostProcessor timingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof TimingDataSource)) {
+                    return new TimingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
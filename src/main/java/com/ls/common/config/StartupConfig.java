@@ -0,0 +1,63 @@
+package com.ls.common.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Startup tuning (see STARTUP.md). Beans whose class, or whose {@code @Bean} method's configuration class, lies in
+ * one of the {@code startup.lazy-packages} are created on first use instead of during startup. The fast-startup
+ * profile lists springdoc and mail: nothing needs them until someone opens the API docs or resets a password.
+ *
+ * <p>Only the creation moves; a lazy bean injected into an eager one is still created with it, so injection points
+ * of those beans must be {@code @Lazy} (see EmailService).</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    // static: the post-processor has to exist before any other bean of this class
+    @Bean
+    public static BeanFactoryPostProcessor lazyPackagesPostProcessor(Environment environment) {
+        List<String> packages = Binder.get(environment)
+                .bind("startup.lazy-packages", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return beanFactory -> {
+            if (packages.isEmpty()) {
+                return;
+            }
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE
+                        && inPackages(typeName(beanFactory, definition), packages)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    // the bean class, or for a @Bean method (factory bean name set by classpath scanning, target type under AOT)
+    // the class declaring it when the bean class itself is not known up front
+    private static String typeName(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String factoryBeanName = definition.getFactoryBeanName();
+        if (factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+            return beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+        }
+        if (definition.getBeanClassName() != null) {
+            return definition.getBeanClassName();
+        }
+        ResolvableType type = definition.getResolvableType();
+        return type.resolve() == null ? null : type.resolve().getName();
+    }
+
+    private static boolean inPackages(String className, List<String> packages) {
+        return className != null && packages.stream().anyMatch(p -> className.startsWith(p + "."));
+    }
+}
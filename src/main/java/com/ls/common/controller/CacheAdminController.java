@@ -0,0 +1,45 @@
+package com.ls.common.controller;
+
+import com.ls.common.model.CacheRegionStatsResponse;
+import com.ls.common.service.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin endpoints for inspecting in-process caches.
+ *
+ * <p><b>Security Note:</b> Lives under /api/admin/**, which SecurityConfig restricts to ROLE_ADMIN.</p>
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Cache Admin", description = "Cache inspection APIs (admin only)")
+@SecurityRequirement(name = "bearerAuth")
+public class CacheAdminController {
+    private final CacheStatisticsService cacheStatisticsService;
+
+    /**
+     * Returns hit/miss statistics for every Hibernate second-level cache region.
+     *
+     * <p><b>Endpoint:</b> GET /api/admin/cache/statistics</p>
+     * <p><b>Response:</b> List of CacheRegionStatsResponse (JSON) with HTTP 200 OK</p>
+     *
+     * @return ResponseEntity with per-region statistics and HTTP 200 status
+     */
+    @GetMapping("/statistics")
+    @Operation(summary = "Second-level cache statistics", description = "Returns hit, miss and put counts plus hit ratio for each Hibernate second-level cache region. Requires ROLE_ADMIN.")
+    public ResponseEntity<List<CacheRegionStatsResponse>> statistics() {
+        log.info("Fetching second-level cache statistics");
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStatistics());
+    }
+}
@@ -0,0 +1,75 @@
+package com.ls.common.controller;
+
+import com.ls.common.jfr.ContinuousRecording;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Admin endpoint for downloading the continuous JFR recording (see JFR.md).
+ *
+ * <p><b>Security Note:</b> Lives under /api/admin/**, which SecurityConfig restricts to ROLE_ADMIN. A recording
+ * holds thread names, class names and system properties of the JVM.</p>
+ */
+@RestController
+@RequestMapping("/api/admin/jfr")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "JFR Admin", description = "Flight recording download (admin only)")
+@SecurityRequirement(name = "bearerAuth")
+public class JfrAdminController {
+    private static final String RECORDING_DISABLED = "The continuous JFR recording is not running";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final ObjectProvider<ContinuousRecording> continuousRecording;
+
+    /**
+     * Streams the continuous recording as a .jfr file, for JDK Mission Control or {@code jfr print}.
+     *
+     * <p><b>Endpoint:</b> GET /api/admin/jfr/recording?last=PT15M</p>
+     * <p><b>Response:</b> application/octet-stream attachment with HTTP 200 OK</p>
+     *
+     * <p><b>Developer Notes:</b>
+     * <ul>
+     *   <li>The recording keeps running; the dump is a snapshot of what it holds now</li>
+     *   <li>Without {@code last}, the whole retained recording (up to jfr.max-age / jfr.max-size) is sent</li>
+     *   <li>503 when jfr.enabled is false or the recording failed to start</li>
+     * </ul>
+     * </p>
+     *
+     * @param last only the most recent part of the recording, as an ISO-8601 duration
+     * @param response the response the recording is streamed to
+     * @throws IOException if the recording cannot be read or the response cannot be written
+     */
+    @GetMapping(value = "/recording", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Download the JFR recording", description = "Streams a snapshot of the continuous JDK Flight Recorder recording, optionally only the last part of it (ISO-8601 duration, e.g. PT15M). Requires ROLE_ADMIN.")
+    public void recording(@RequestParam(required = false) Duration last, HttpServletResponse response) throws IOException {
+        ContinuousRecording recording = continuousRecording.getIfAvailable();
+        if (recording == null || !recording.isRunning()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, RECORDING_DISABLED);
+        }
+        log.info("Dumping JFR recording, last: {}", last != null ? last : "all");
+        String fileName = "comitte-service-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr";
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+        recording.dump(last, response.getOutputStream());
+    }
+}
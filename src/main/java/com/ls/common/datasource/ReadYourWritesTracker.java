@@ -0,0 +1,94 @@
+package com.ls.common.datasource;
+
+import com.ls.auth.model.response.LoginUserDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each member last committed a write, so their following reads can be pinned to the
+ * primary until the replicas have had time to catch up (read-your-writes).
+ */
+@Slf4j
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+
+    // memberId -> System.nanoTime() until which that member reads from the primary
+    private final Map<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Called whenever a read-write transaction takes a primary connection. Registers (once per transaction)
+     * a synchronization that pins the current member to the primary after the transaction commits.
+     */
+    public void onPrimaryWrite() {
+        if (windowNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        Long memberId = currentMemberId();
+        if (memberId == null) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, memberId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pinnedUntil.put(memberId, System.nanoTime() + windowNanos);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesTracker.this);
+            }
+        });
+    }
+
+    /**
+     * @return true if the current member committed a write within the configured window
+     */
+    public boolean isPinnedToPrimary() {
+        if (windowNanos <= 0 || pinnedUntil.isEmpty()) {
+            return false;
+        }
+        Long memberId = currentMemberId();
+        if (memberId == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(memberId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(memberId, until);
+        return false;
+    }
+
+    /**
+     * Drops expired entries; invoked from the replica health check so the map stays bounded by recent writers.
+     */
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        pinnedUntil.entrySet().removeIf(entry -> entry.getValue() - now <= 0);
+    }
+
+    private Long currentMemberId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof LoginUserDetails userDetails) {
+            return userDetails.getMemberId();
+        }
+        return null;
+    }
+}
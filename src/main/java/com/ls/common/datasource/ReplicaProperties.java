@@ -0,0 +1,46 @@
+package com.ls.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for read-replica routing, bound from the {@code replica.*} properties.
+ *
+ * <p>Routing is only active when {@code replica.enabled=true}; otherwise the application
+ * keeps the single auto-configured {@code spring.datasource} pool.</p>
+ */
+@Data
+@ConfigurationProperties(prefix = "replica")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    // Replica connection pools; read-only transactions are spread round-robin across the healthy ones
+    private List<Node> nodes = new ArrayList<>();
+
+    // After a member's own write commits, their reads stay on the primary for this long
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // How often each replica is probed
+    private long healthCheckIntervalMs = 5000;
+
+    // A replica lagging behind the primary by more than this is treated as down
+    private Duration maxReplicationLag = Duration.ofSeconds(10);
+
+    private int maximumPoolSize = 10;
+
+    // Kept short so a dead replica is detected (and reads fall back) within seconds, not Hikari's default 30s
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    @Data
+    public static class Node {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
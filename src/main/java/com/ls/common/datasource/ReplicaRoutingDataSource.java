@@ -0,0 +1,176 @@
+package com.ls.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes connections of {@code @Transactional(readOnly = true)} work to a healthy replica and everything
+ * else to the primary.
+ *
+ * <p>Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction's read-only flag is only published after the transaction manager has begun the transaction,
+ * so the physical connection has to be fetched lazily on the first statement.</p>
+ *
+ * <p>Reads fall back to the primary when no replica is healthy, and while the current member is inside
+ * the read-your-writes window after their own write.</p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    // What the lag is computed from. Seeing the WAL receiver's status needs pg_monitor (or superuser); without it
+    // streaming reads false and the replica is never used
+    public static final String REPLICA_STATE = "SELECT pg_is_in_recovery(),"
+            + " EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming'),"
+            + " pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn(),"
+            + " EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000";
+
+    // - not in recovery: the node is a primary itself, so it cannot be behind
+    // - not streaming: a replica whose WAL receiver is down has replayed everything it received, but no longer
+    //   receives anything, so it falls further behind with every write on the primary; its lag is unknown
+    // - all received WAL replayed: caught up, however long ago the primary last committed
+    // - otherwise: the time since the last replayed commit
+    private static final String LAG_QUERY = lagQuery(REPLICA_STATE);
+
+    // Set on a thread between primaryOnly() and closing the scope it returns
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final Map<String, DataSource> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final long maxLagMillis;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    // Replaced wholesale by the health check; readers never see a partially updated list
+    private volatile List<String> healthyReplicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReadYourWritesTracker readYourWritesTracker, Duration maxReplicationLag) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLagMillis = maxReplicationLag.toMillis();
+        // none until a replica passes its first check; the scheduler runs the first one at startup
+        this.healthyReplicas = List.of();
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWritesTracker.onPrimaryWrite();
+            }
+            return PRIMARY;
+        }
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty() || PRIMARY_ONLY.get() != null || readYourWritesTracker.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(roundRobin.getAndIncrement(), healthy.size()));
+    }
+
+    /**
+     * Probes every replica with a lag query and publishes the set that is reachable and caught up.
+     * Scheduled by {@link com.ls.common.config.ReplicaDataSourceConfig}.
+     */
+    public void checkReplicas() {
+        List<String> healthy = replicas.entrySet().stream()
+                .filter(entry -> isHealthy(entry.getKey(), entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!healthy.equals(healthyReplicas)) {
+            log.warn("Healthy replicas changed from {} to {}", healthyReplicas, healthy);
+        }
+        healthyReplicas = healthy;
+        readYourWritesTracker.purgeExpired();
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    /**
+     * Replica pools are created by the routing configuration rather than as beans, so close them here.
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Routes the current thread's read-only transactions to the primary until the returned scope is closed, for
+     * work whose result outlives the request (a cached response), which would otherwise keep a replica's lag.
+     */
+    public static PrimaryOnly primaryOnly() {
+        boolean nested = PRIMARY_ONLY.get() != null;
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        return () -> {
+            if (!nested) {
+                PRIMARY_ONLY.remove();
+            }
+        };
+    }
+
+    /**
+     * Scope of {@link #primaryOnly()}.
+     */
+    public interface PrimaryOnly extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * @param replicaState a query (or {@code VALUES} list) with the columns of {@link #REPLICA_STATE}
+     * @return a query for the lag in milliseconds; infinite when the replica is not streaming
+     */
+    public static String lagQuery(String replicaState) {
+        return "SELECT CASE WHEN NOT in_recovery THEN 0"
+                + " WHEN NOT streaming THEN 'Infinity'::float8"
+                + " WHEN replayed_all THEN 0"
+                + " ELSE COALESCE(since_last_replay_ms::float8, 0) END"
+                + " FROM (" + replicaState + ") AS replica(in_recovery, streaming, replayed_all, since_last_replay_ms)";
+    }
+
+    private boolean isHealthy(String name, DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                double lagMillis = rs.next() ? rs.getDouble(1) : 0;
+                if (Double.isInfinite(lagMillis)) {
+                    log.warn("Replica {} is not streaming from the primary, routing reads away from it", name);
+                    return false;
+                }
+                if (lagMillis > maxLagMillis) {
+                    log.warn("Replica {} is {} ms behind the primary, routing reads away from it", name, (long) lagMillis);
+                    return false;
+                }
+                return true;
+            }
+        } catch (Exception e) {
+            log.warn("Replica {} failed health check: {}", name, e.getMessage());
+            return false;
+        }
+    }
+}
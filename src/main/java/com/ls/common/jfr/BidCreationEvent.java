@@ -0,0 +1,32 @@
+package com.ls.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * {@code BidService.create}, from mapping the request to the saved bid's response. Repository calls inside it are
+ * recorded as nested {@link RepositoryCallEvent}s on the same thread.
+ */
+@Name(BidCreationEvent.NAME)
+@Label("Bid Creation")
+@Category({"Comitte Service", "Bids"})
+@Description("Creating one bid, including its comitte number and the save")
+@StackTrace(false)
+@Threshold("20 ms")
+public class BidCreationEvent extends Event {
+    public static final String NAME = "com.ls.BidCreation";
+
+    @Label("Comitte Id")
+    public long comitteId;
+
+    @Label("Bid Id")
+    public long bidId;
+
+    @Label("Comitte Number")
+    public int comitteNumber;
+}
@@ -0,0 +1,92 @@
+package com.ls.common.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The in-process, always-on JFR recording: the JDK's {@code default} (or {@code profile}) settings plus the
+ * application events with the thresholds from {@link JfrProperties}. Data is kept on disk in the JVM's
+ * repository directory, bounded by {@code jfr.max-age} and {@code jfr.max-size}.
+ */
+@Slf4j
+public class ContinuousRecording implements SmartLifecycle {
+    public static final String NAME = "comitte-continuous";
+
+    private final JfrProperties properties;
+
+    private volatile Recording recording;
+
+    public ContinuousRecording(JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void start() {
+        try {
+            Recording started = new Recording(Configuration.getConfiguration(properties.getSettings()));
+            started.setName(NAME);
+            started.setToDisk(true);
+            started.setMaxAge(properties.getMaxAge());
+            started.setMaxSize(properties.getMaxSize().toBytes());
+            JfrProperties.Thresholds thresholds = properties.getThresholds();
+            started.enable(JwtVerificationEvent.class).withThreshold(thresholds.getJwtVerification());
+            started.enable(TokenCheckEvent.class).withThreshold(thresholds.getTokenCheck());
+            started.enable(RepositoryCallEvent.class).withThreshold(thresholds.getRepositoryCall());
+            started.enable(MapperCallEvent.class).withThreshold(thresholds.getMapperCall());
+            started.enable(BidCreationEvent.class).withThreshold(thresholds.getBidCreation());
+            started.start();
+            recording = started;
+            log.info("Started JFR recording '{}' ({} settings, max age {}, max size {})", NAME,
+                    properties.getSettings(), properties.getMaxAge(), properties.getMaxSize());
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            // profiling must never keep the service from starting
+            log.warn("Could not start JFR recording '{}': {}", NAME, e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        Recording running = recording;
+        recording = null;
+        if (running != null) {
+            running.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    /**
+     * Writes the recorded data to {@code out} as a .jfr file, without stopping the recording.
+     *
+     * Writes nothing if the recording is not running.
+     *
+     * @param last only the most recent part of the recording, or null for all of it
+     */
+    public void dump(Duration last, OutputStream out) throws IOException {
+        Recording running = recording;
+        if (running == null) {
+            return;
+        }
+        // a stopped copy shares the chunks written so far; the original keeps recording
+        try (Recording snapshot = running.copy(true)) {
+            Instant begin = last != null ? Instant.now().minus(last) : null;
+            try (InputStream data = snapshot.getStream(begin, null)) {
+                if (data != null) {
+                    data.transferTo(out);
+                }
+            }
+        }
+    }
+}
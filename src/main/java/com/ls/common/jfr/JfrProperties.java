@@ -0,0 +1,38 @@
+package com.ls.common.jfr;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Continuous JFR recording, bound from the {@code jfr.*} properties. See JFR.md.
+ */
+@Data
+@ConfigurationProperties(prefix = "jfr")
+public class JfrProperties {
+
+    // false: the events are still emitted, for a recording started with -XX:StartFlightRecording or jcmd
+    private boolean enabled = true;
+
+    // JDK settings the recording starts from: "default" (about 1% overhead) or "profile"
+    private String settings = "default";
+
+    // The recording keeps whichever is smaller
+    private Duration maxAge = Duration.ofHours(6);
+
+    private DataSize maxSize = DataSize.ofMegabytes(250);
+
+    // Events shorter than these are dropped before they reach the buffer
+    private Thresholds thresholds = new Thresholds();
+
+    @Data
+    public static class Thresholds {
+        private Duration jwtVerification = Duration.ofMillis(1);
+        private Duration tokenCheck = Duration.ofMillis(1);
+        private Duration repositoryCall = Duration.ofMillis(10);
+        private Duration mapperCall = Duration.ofMillis(1);
+        private Duration bidCreation = Duration.ofMillis(20);
+    }
+}
@@ -0,0 +1,26 @@
+package com.ls.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Parsing and validating a bearer token and reading the user details from its claims, in
+ * {@code JwtAuthenticationFilter}. The Server-Timing {@code jwt} phase, as a JFR event.
+ */
+@Name(JwtVerificationEvent.NAME)
+@Label("JWT Verification")
+@Category({"Comitte Service", "Auth"})
+@Description("Token parsing, signature check and claim extraction")
+@StackTrace(false)
+@Threshold("1 ms")
+public class JwtVerificationEvent extends Event {
+    public static final String NAME = "com.ls.JwtVerification";
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,29 @@
+package com.ls.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One call on a MapStruct mapper's {@code INSTANCE}, emitted by {@link MapperEvents}. Mapping touches lazy
+ * associations, so a slow mapper call is usually a lazy load rather than the copying itself.
+ */
+@Name(MapperCallEvent.NAME)
+@Label("Mapper Call")
+@Category({"Comitte Service", "Mapping"})
+@Description("A MapStruct mapping method call")
+@StackTrace(false)
+@Threshold("1 ms")
+public class MapperCallEvent extends Event {
+    public static final String NAME = "com.ls.MapperCall";
+
+    @Label("Mapper")
+    public String mapper;
+
+    @Label("Method")
+    public String method;
+}
@@ -0,0 +1,55 @@
+package com.ls.common.jfr;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Wraps a MapStruct mapper so that every call on it emits a {@link MapperCallEvent}. The mappers are static
+ * {@code INSTANCE} fields rather than Spring beans, so the aspect that covers the repositories cannot reach them.
+ *
+ * <pre>
+ * ResponseMapper INSTANCE = MapperEvents.instrument(ResponseMapper.class, Mappers.getMapper(ResponseMapper.class));
+ * </pre>
+ *
+ * <p>Calls the generated mapper makes on itself (nested and collection mappings) do not go through the proxy, so
+ * one event covers a whole top-level mapping.</p>
+ */
+public final class MapperEvents {
+
+    private MapperEvents() {
+    }
+
+    public static <T> T instrument(Class<T> mapperType, T mapper) {
+        String mapperName = mapperType.getSimpleName();
+        Object proxy = Proxy.newProxyInstance(mapperType.getClassLoader(), new Class<?>[]{mapperType},
+                (target, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return invokeObjectMethod(target, method, args, mapper);
+                    }
+                    MapperCallEvent event = new MapperCallEvent();
+                    event.begin();
+                    try {
+                        return method.invoke(mapper, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        event.end();
+                        if (event.shouldCommit()) {
+                            event.mapper = mapperName;
+                            event.method = method.getName();
+                            event.commit();
+                        }
+                    }
+                });
+        return mapperType.cast(proxy);
+    }
+
+    private static Object invokeObjectMethod(Object proxy, Method method, Object[] args, Object mapper) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> "MapperEvents(" + mapper + ")";
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.ls.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One Spring Data repository method call, emitted by {@link RepositoryEventAspect}. Unlike the
+ * {@code spring.data.repository.invocations} timer it keeps the individual slow call, with its thread and the
+ * rows it returned.
+ */
+@Name(RepositoryCallEvent.NAME)
+@Label("Repository Call")
+@Category({"Comitte Service", "Persistence"})
+@Description("A Spring Data repository method call with the number of rows it returned")
+@StackTrace(false)
+@Threshold("10 ms")
+public class RepositoryCallEvent extends Event {
+    public static final String NAME = "com.ls.RepositoryCall";
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Query")
+    @Description("Repository method name")
+    public String query;
+
+    @Label("Rows")
+    @Description("Rows returned, rows affected by a @Modifying query, 1 for a scalar, -1 for a stream")
+    public int rows;
+
+    @Label("Exception")
+    public String exception;
+}
@@ -0,0 +1,75 @@
+package com.ls.common.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Emits a {@link RepositoryCallEvent} around every repository method. Repository and method names and the row
+ * count are only worked out for calls that pass the event's threshold in an active recording.
+ */
+@Aspect
+@Component
+public class RepositoryEventAspect {
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+                Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+                event.repository = interfaces.length > 0 ? interfaces[0].getSimpleName() : method.getDeclaringClass().getSimpleName();
+                event.query = method.getName();
+                event.rows = failure != null ? 0 : rows(method, result);
+                event.exception = failure != null ? failure.getClass().getSimpleName() : null;
+                event.commit();
+            }
+        }
+    }
+
+    private static int rows(Method method, Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Stream<?>) {
+            // consumed after the call returns
+            return -1;
+        }
+        if (result instanceof Number number && AnnotatedElementUtils.hasAnnotation(method, Modifying.class)) {
+            return number.intValue();
+        }
+        // an entity, a projection or a scalar (count, exists, aggregate)
+        return 1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ls.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The logout blacklist and inactivity checks ({@code TokenBlacklistService}) that run before a token is parsed.
+ */
+@Name(TokenCheckEvent.NAME)
+@Label("Token Blacklist and Session Check")
+@Category({"Comitte Service", "Auth"})
+@Description("isTokenBlacklisted and isSessionExpired for one request")
+@StackTrace(false)
+@Threshold("1 ms")
+public class TokenCheckEvent extends Event {
+    public static final String NAME = "com.ls.TokenCheck";
+
+    @Label("Blacklisted")
+    public boolean blacklisted;
+
+    @Label("Session Expired")
+    public boolean sessionExpired;
+}
@@ -0,0 +1,13 @@
+package com.ls.common.model;
+
+/**
+ * Hit/miss counters for one Hibernate second-level cache region since startup.
+ */
+public record CacheRegionStatsResponse(
+        String region,
+        long hitCount,
+        long missCount,
+        long putCount,
+        double hitRatio,
+        long elementCountInMemory
+) {}
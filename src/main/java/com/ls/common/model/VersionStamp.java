@@ -0,0 +1,20 @@
+package com.ls.common.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Cheap validator for a response: the latest audit timestamp among the rows it is built from and how many
+ * of those rows there are. Inserts and updates move {@code lastModified}; deletes only lower {@code rowCount}.
+ */
+public record VersionStamp(LocalDateTime lastModified, Long rowCount) {
+
+    /**
+     * @return a weak ETag such as {@code W/"12-1760855237123456-18"} (id, last modified micros, row count)
+     */
+    public String toWeakETag(Long id) {
+        long micros = lastModified == null ? 0
+                : lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        return "W/\"" + id + "-" + micros + "-" + (rowCount == null ? 0 : rowCount) + "\"";
+    }
+}
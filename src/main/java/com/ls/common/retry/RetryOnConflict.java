@@ -0,0 +1,30 @@
+package com.ls.common.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a {@code @Transactional} method in a fresh transaction when it loses an optimistic-locking race.
+ *
+ * <p>Only for operations that are safe to repeat: each attempt re-reads the rows and re-applies the same
+ * change. Attempts back off exponentially with full jitter, so colliding writers spread out instead of
+ * colliding again. When all attempts fail, the {@code OptimisticLockingFailureException} propagates (409).</p>
+ *
+ * @see RetryOnConflictAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+
+    // total attempts, including the first
+    int maxAttempts() default 4;
+
+    // upper bound of the first backoff; doubles on every further attempt
+    long backoffMillis() default 10;
+
+    long maxBackoffMillis() default 200;
+}
@@ -0,0 +1,60 @@
+package com.ls.common.retry;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implements {@link RetryOnConflict}. Ordered just outside the transaction interceptor, so every attempt runs
+ * in its own transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+@Slf4j
+public class RetryOnConflictAspect {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        // Inside a caller's transaction the conflict has already marked it rollback-only; let the caller decide
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    log.warn("{} still conflicting after {} attempts", joinPoint.getSignature().toShortString(), attempt);
+                    throw e;
+                }
+                evictStaleEntry(e);
+                long backoff = Math.min(retryOnConflict.maxBackoffMillis(), retryOnConflict.backoffMillis() << (attempt - 1));
+                log.debug("{} lost an optimistic lock (attempt {}), retrying", joinPoint.getSignature().toShortString(), attempt);
+                Thread.sleep(ThreadLocalRandom.current().nextLong(backoff + 1));
+            }
+        }
+    }
+
+    // A second-level cache entry may be the stale copy (e.g. a notification from another node still in flight)
+    private void evictStaleEntry(OptimisticLockingFailureException e) {
+        if (e instanceof ObjectOptimisticLockingFailureException stale
+                && stale.getPersistentClass() != null && stale.getIdentifier() != null) {
+            entityManagerFactory.getCache().evict(stale.getPersistentClass(), stale.getIdentifier());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ls.common.service;
+
+import com.ls.common.model.CacheRegionStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads per-region second-level cache statistics from Hibernate.
+ * Requires {@code hibernate.generate_statistics=true}; otherwise all counters stay at zero.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatsResponse> getRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .map(statistics::getCacheRegionStatistics)
+                .filter(Objects::nonNull)
+                .map(this::toResponse)
+                .sorted(Comparator.comparing(CacheRegionStatsResponse::region))
+                .toList();
+    }
+
+    private CacheRegionStatsResponse toResponse(CacheRegionStatistics region) {
+        long hits = region.getHitCount();
+        long misses = region.getMissCount();
+        double hitRatio = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+        return new CacheRegionStatsResponse(region.getRegionName(), hits, misses, region.getPutCount(),
+                hitRatio, region.getElementCountInMemory());
+    }
+}
@@ -1,7 +1,10 @@
 package com.ls.common.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
@@ -9,9 +12,15 @@ import org.springframework.stereotype.Service;
 @Service
 public class EmailService {
 
+    // proxy: the mail sender is created on the first email, not at startup (startup.lazy-packages)
+    @Lazy
     @Autowired
     private JavaMailSender mailSender;
 
+    // email.send timer, tagged outcome=success|failure and the exception class on failure
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${spring.mail.username}")
     private String fromEmail;
 
@@ -22,8 +31,22 @@ public class EmailService {
         message.setSubject(subject);
         message.setText(body);
 
-        mailSender.send(message);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(message);
+        } catch (RuntimeException e) {
+            sample.stop(sendTimer("failure", e.getClass().getSimpleName()));
+            throw e;
+        }
+        sample.stop(sendTimer("success", "none"));
         System.out.println("Email sent successfully to " + toEmail);
     }
-}
 
+    private Timer sendTimer(String outcome, String exception) {
+        return Timer.builder("email.send")
+                .description("Time to hand an email to the SMTP server")
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ls.common.timing;
+
+import java.util.Locale;
+
+/**
+ * Phase durations of the current request, reported in its {@code Server-Timing} response header.
+ *
+ * <p>{@link ServerTimingFilter} opens one per request on the request thread; everything else records into it
+ * through the static methods, which do nothing when the feature is off or the code runs outside a request
+ * (startup, scheduled jobs, import worker threads). {@code app} is what is left of the total after the
+ * measured phases: filters, controller and service code, and MapStruct mapping.</p>
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    public enum Phase {
+        JWT("jwt", "JWT verification"),
+        BLACKLIST("blacklist", "Blacklist and session checks"),
+        DB("db", "JDBC"),
+        SERIALIZATION("ser", "Response serialization");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private int statements;
+    private long serializationStart;
+
+    private ServerTiming() {
+    }
+
+    static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Start of a phase, for {@link #stop}; 0 when nothing is being timed.
+     */
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0;
+    }
+
+    public static void stop(Phase phase, long startNanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null && startNanos != 0) {
+            timing.phaseNanos[phase.ordinal()] += System.nanoTime() - startNanos;
+        }
+    }
+
+    static void statementExecuted(long startNanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null && startNanos != 0) {
+            timing.phaseNanos[Phase.DB.ordinal()] += System.nanoTime() - startNanos;
+            timing.statements++;
+        }
+    }
+
+    static void serializationStarted() {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.serializationStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * The header value as of now. Serialization runs until the headers go out, so a body larger than the
+     * response buffer reports the part serialized before the first chunk was sent.
+     */
+    String headerValue() {
+        long now = System.nanoTime();
+        if (serializationStart != 0) {
+            phaseNanos[Phase.SERIALIZATION.ordinal()] = now - serializationStart;
+        }
+        long total = now - startNanos;
+        long measured = 0;
+        StringBuilder header = new StringBuilder(160);
+        for (Phase phase : Phase.values()) {
+            long nanos = phaseNanos[phase.ordinal()];
+            measured += nanos;
+            if (nanos == 0 && phase != Phase.DB) {
+                continue;
+            }
+            String description = phase == Phase.DB ? statements + (statements == 1 ? " statement" : " statements")
+                    : phase.description;
+            append(header, phase.metric, description, nanos);
+        }
+        append(header, "app", "Application", Math.max(0, total - measured));
+        append(header, "total", "Total", total);
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String metric, String description, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(metric).append(";desc=\"").append(description).append("\";dur=")
+                .append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+    }
+}
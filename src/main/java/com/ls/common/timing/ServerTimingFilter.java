@@ -0,0 +1,59 @@
+package com.ls.common.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Times the request and adds the {@code Server-Timing} header just before the response is committed, which for
+ * JSON is when the converter flushes the serialized body. Registered ahead of the security chain by
+ * {@link com.ls.common.config.ServerTimingConfig}, so the JWT checks fall inside the measured request.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, ServerTiming.begin());
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            // nothing written yet: bodiless responses, and streaming exports whose body follows on another thread
+            if (!response.isCommitted()) {
+                timedResponse.addTimingHeader();
+            }
+            ServerTiming.end();
+        }
+    }
+
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+        private final ServerTiming timing;
+        private boolean headerAdded;
+
+        ServerTimingResponse(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addTimingHeader();
+        }
+
+        void addTimingHeader() {
+            if (!headerAdded) {
+                headerAdded = true;
+                setHeader(ServerTiming.HEADER, timing.headerValue());
+            }
+        }
+    }
+}
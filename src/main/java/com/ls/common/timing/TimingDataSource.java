@@ -0,0 +1,81 @@
+package com.ls.common.timing;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts and times the statements executed on the request thread for {@link ServerTiming}. Connections and
+ * statements are wrapped in JDK proxies; every {@code execute*} call (a batch counts once) is one statement.
+ */
+public class TimingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public TimingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    // replaces the pool as the bean, so the pool's shutdown has to go through here
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    // identity equality: DataSourceUtils compares a JdbcTemplate's connection with the transaction's by equals
+    private static Connection timed(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "getTargetConnection" -> connection;
+                    case "createStatement" -> timed((Statement) invoke(connection, method, args), Statement.class);
+                    case "prepareStatement" -> timed((Statement) invoke(connection, method, args), PreparedStatement.class);
+                    case "prepareCall" -> timed((Statement) invoke(connection, method, args), CallableStatement.class);
+                    default -> invoke(connection, method, args);
+                });
+    }
+
+    private static Statement timed(Statement statement, Class<? extends Statement> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            long start = ServerTiming.start();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                ServerTiming.statementExecuted(start);
+            }
+        };
+        return (Statement) Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
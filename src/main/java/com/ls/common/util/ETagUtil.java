@@ -0,0 +1,33 @@
+package com.ls.common.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET handling shared by the controllers and the comitte response cache.
+ */
+public final class ETagUtil {
+
+    // private: responses are member specific; no-cache: clients may keep the body but must revalidate it
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ETagUtil() {
+    }
+
+    /**
+     * Sets the ETag and Cache-Control headers and answers 304 when {@code If-None-Match} matches.
+     *
+     * @param eTag the current weak ETag, or null when the resource does not exist (no validation is done)
+     * @return true if the response is complete (304 Not Modified) and the handler must not render a body
+     */
+    public static boolean checkNotModified(ServletWebRequest request, String eTag) {
+        if (eTag == null) {
+            return false;
+        }
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified(eTag);
+    }
+}
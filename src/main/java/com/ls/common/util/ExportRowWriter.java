@@ -0,0 +1,72 @@
+package com.ls.common.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes records one at a time as CSV (header row first) or NDJSON (every line newline-terminated), straight
+ * to the output stream.
+ *
+ * <p>Nothing is collected: each record is serialized into the generator's buffer, which goes to the stream
+ * whenever it fills up. There is no per-record flush, so a million rows do not become a million packets.</p>
+ */
+public abstract class ExportRowWriter<T> implements Closeable {
+
+    public static <T> ExportRowWriter<T> open(OutputStream output, RowFormat format, ObjectMapper objectMapper,
+                                              Class<T> type) throws IOException {
+        if (format == RowFormat.CSV) {
+            return new Csv<>(RowFormat.CSV_MAPPER.writer(RowFormat.CSV_MAPPER.schemaFor(type).withHeader())
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .writeValues(output));
+        }
+        return new Ndjson<>(objectMapper.writerFor(type), objectMapper.getFactory().createGenerator(output));
+    }
+
+    public abstract void write(T row) throws IOException;
+
+    private static final class Csv<T> extends ExportRowWriter<T> {
+        private final SequenceWriter rows;
+
+        Csv(SequenceWriter rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            rows.write(row);
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+
+    private static final class Ndjson<T> extends ExportRowWriter<T> {
+        private final ObjectWriter writer;
+        private final JsonGenerator generator;
+
+        Ndjson(ObjectWriter writer, JsonGenerator generator) {
+            this.writer = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.generator = generator;
+        }
+
+        @Override
+        public void write(T row) throws IOException {
+            writer.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
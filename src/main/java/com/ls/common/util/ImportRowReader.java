@@ -0,0 +1,125 @@
+package com.ls.common.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Forward-only reader for bulk import bodies: CSV with a header row, or NDJSON with one object per line.
+ *
+ * <p>Only the current row is held in memory. A row that cannot be parsed comes back with an error instead of
+ * a value, so one bad row does not end the import; {@link Row#fatal()} marks the point past which the input
+ * cannot be read at all.</p>
+ */
+public abstract class ImportRowReader<T> implements Closeable {
+
+    /**
+     * One input row: {@code value} when it parsed, otherwise {@code error}. Rows are numbered from 1,
+     * not counting the CSV header or blank NDJSON lines.
+     */
+    public record Row<T>(long number, T value, String error, boolean fatal) {}
+
+    private long rowNumber;
+
+    public static <T> ImportRowReader<T> open(InputStream input, RowFormat format, ObjectMapper objectMapper,
+                                              Class<T> type) throws IOException {
+        return format == RowFormat.CSV
+                ? new Csv<>(RowFormat.CSV_MAPPER.readerFor(type).with(CsvSchema.emptySchema().withHeader())
+                        .readValues(input))
+                : new Ndjson<>(objectMapper.readerFor(type), input);
+    }
+
+    /**
+     * @return the next row, or null at the end of the input
+     */
+    public Row<T> next() throws IOException {
+        Row<T> row = readRow(rowNumber + 1);
+        if (row != null) {
+            rowNumber++;
+        }
+        return row;
+    }
+
+    protected abstract Row<T> readRow(long number) throws IOException;
+
+    protected Row<T> parsed(long number, T value) {
+        return new Row<>(number, value, null, false);
+    }
+
+    protected Row<T> unreadable(long number, Exception e, boolean fatal) {
+        String message = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+        return new Row<>(number, null, message, fatal);
+    }
+
+    // parsed line by line, so a malformed line costs only that row
+    private static final class Ndjson<T> extends ImportRowReader<T> {
+        private final ObjectReader reader;
+        private final BufferedReader lines;
+
+        Ndjson(ObjectReader reader, InputStream input) {
+            this.reader = reader;
+            this.lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected Row<T> readRow(long number) throws IOException {
+            String line;
+            do {
+                line = lines.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            try {
+                return parsed(number, reader.readValue(line));
+            } catch (JsonProcessingException e) {
+                return unreadable(number, e, false);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            lines.close();
+        }
+    }
+
+    // the iterator re-syncs to the next record after a bad value, but not after broken quoting
+    private static final class Csv<T> extends ImportRowReader<T> {
+        private final MappingIterator<T> rows;
+
+        Csv(MappingIterator<T> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        protected Row<T> readRow(long number) throws IOException {
+            try {
+                if (!rows.hasNextValue()) {
+                    return null;
+                }
+            } catch (JsonProcessingException e) {
+                return unreadable(number, e, true);
+            }
+            try {
+                return parsed(number, rows.nextValue());
+            } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+                return unreadable(number, e, false);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ls.common.util;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Row-per-record body formats for bulk import and export: CSV with a header row, or NDJSON with one JSON
+ * object per line.
+ */
+public enum RowFormat {
+    CSV, NDJSON;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    // records map by header name, columns in declaration order; dates are ISO strings in both directions
+    static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .findAndAddModules()
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .build();
+
+    public MediaType mediaType() {
+        return this == CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON;
+    }
+
+    /**
+     * @return the format of a request body
+     */
+    public static RowFormat of(MediaType contentType) {
+        return contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON) ? NDJSON : CSV;
+    }
+
+    /**
+     * @return the format the client prefers by Accept header; NDJSON unless CSV is asked for first
+     */
+    public static RowFormat negotiate(List<MediaType> accept) {
+        List<MediaType> preferred = new ArrayList<>(accept);
+        // highest q first; among equal q, text/csv before text/* before */* (a stable sort keeps the header order)
+        preferred.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        MimeTypeUtils.sortBySpecificity(preferred);
+        for (MediaType mediaType : preferred) {
+            if (TEXT_CSV.equalsTypeAndSubtype(mediaType)) {
+                return CSV;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                return NDJSON;
+            }
+        }
+        return NDJSON;
+    }
+}
@@ -0,0 +1,132 @@
+-- Baseline: the schema Hibernate generated (ddl-auto) from the entities before migrations were introduced.
+-- Hibernate now only validates it (spring.jpa.hibernate.ddl-auto=validate); change the schema with a new V<n>__ file.
+
+CREATE TABLE members (
+    member_id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username          VARCHAR(255) NOT NULL,
+    email             VARCHAR(255) NOT NULL,
+    mobile            VARCHAR(255),
+    password          VARCHAR(255),
+    name              VARCHAR(255),
+    aadhar_no         VARCHAR(255),
+    address           VARCHAR(255),
+    dob               DATE,
+    created_timestamp TIMESTAMP(6),
+    updated_timestamp TIMESTAMP(6),
+    CONSTRAINT pk_members PRIMARY KEY (member_id),
+    CONSTRAINT uk_members_username UNIQUE (username),
+    CONSTRAINT uk_members_email UNIQUE (email)
+);
+
+CREATE TABLE roles (
+    role_id   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    role_name VARCHAR(200) NOT NULL,
+    details   VARCHAR(500),
+    CONSTRAINT pk_roles PRIMARY KEY (role_id),
+    CONSTRAINT uk_roles_role_name UNIQUE (role_name)
+);
+
+CREATE TABLE authorities (
+    authority_id   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    authority_name VARCHAR(200) NOT NULL,
+    details        VARCHAR(500),
+    CONSTRAINT pk_authorities PRIMARY KEY (authority_id),
+    CONSTRAINT uk_authorities_authority_name UNIQUE (authority_name)
+);
+
+CREATE TABLE user_role_map (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    CONSTRAINT pk_user_role_map PRIMARY KEY (role_id, user_id),
+    CONSTRAINT fk_user_role_map_user FOREIGN KEY (user_id) REFERENCES members,
+    CONSTRAINT fk_user_role_map_role FOREIGN KEY (role_id) REFERENCES roles
+);
+
+CREATE TABLE roles_authorities_map (
+    role_id      BIGINT NOT NULL,
+    authority_id BIGINT NOT NULL,
+    CONSTRAINT pk_roles_authorities_map PRIMARY KEY (authority_id, role_id),
+    CONSTRAINT fk_roles_authorities_map_role FOREIGN KEY (role_id) REFERENCES roles,
+    CONSTRAINT fk_roles_authorities_map_authority FOREIGN KEY (authority_id) REFERENCES authorities
+);
+
+CREATE TABLE password_reset_token (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    token            VARCHAR(255),
+    otp              VARCHAR(255),
+    member_member_id BIGINT,
+    expiry_date      TIMESTAMP(6),
+    CONSTRAINT pk_password_reset_token PRIMARY KEY (id),
+    CONSTRAINT uk_password_reset_token_member UNIQUE (member_member_id),
+    CONSTRAINT fk_password_reset_token_member FOREIGN KEY (member_member_id) REFERENCES members
+);
+
+CREATE TABLE comittes (
+    comitte_id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    owner_id          BIGINT  NOT NULL,
+    comitte_name      VARCHAR(255),
+    start_date        DATE,
+    full_amount       INTEGER,
+    total_shares      INTEGER,
+    full_share        INTEGER,
+    reserved_shares   INTEGER DEFAULT 0 NOT NULL,
+    due_date_days     INTEGER,
+    payment_date_days INTEGER,
+    created_by        BIGINT,
+    created_timestamp TIMESTAMP(6),
+    updated_by        BIGINT,
+    updated_timestamp TIMESTAMP(6),
+    version           BIGINT  DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_comittes PRIMARY KEY (comitte_id),
+    CONSTRAINT fk_comittes_owner FOREIGN KEY (owner_id) REFERENCES members,
+    CONSTRAINT ck_comittes_reserved_shares CHECK (reserved_shares >= 0 AND reserved_shares <= total_shares)
+);
+
+CREATE TABLE comitte_member_map (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    comitte_id        BIGINT,
+    member_id         BIGINT,
+    share_count       INTEGER,
+    created_by        BIGINT,
+    created_timestamp TIMESTAMP(6),
+    updated_by        BIGINT,
+    updated_timestamp TIMESTAMP(6),
+    version           BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_comitte_member_map PRIMARY KEY (id),
+    CONSTRAINT fk_comitte_member_map_comitte FOREIGN KEY (comitte_id) REFERENCES comittes,
+    CONSTRAINT fk_comitte_member_map_member FOREIGN KEY (member_id) REFERENCES members
+);
+
+CREATE TABLE bids (
+    bid_id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    comitte_id        BIGINT,
+    comitte_number    INTEGER,
+    final_bidder      BIGINT,
+    final_bid_amt     INTEGER,
+    bid_date          TIMESTAMP(6),
+    created_by        BIGINT,
+    created_timestamp TIMESTAMP(6),
+    updated_by        BIGINT,
+    updated_timestamp TIMESTAMP(6),
+    version           BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_bids PRIMARY KEY (bid_id),
+    CONSTRAINT fk_bids_comitte FOREIGN KEY (comitte_id) REFERENCES comittes,
+    CONSTRAINT fk_bids_final_bidder FOREIGN KEY (final_bidder) REFERENCES members
+);
+
+CREATE TABLE sync_tombstones (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    entity_type       VARCHAR(20)  NOT NULL,
+    entity_id         BIGINT       NOT NULL,
+    comitte_id        BIGINT,
+    member_id         BIGINT,
+    deleted_timestamp TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_sync_tombstones PRIMARY KEY (id),
+    CONSTRAINT ck_sync_tombstones_entity_type CHECK (entity_type IN ('COMITTE', 'MEMBERSHIP', 'BID'))
+);
+
+-- delta sync's "changed since cursor" (and, until V2, every per-comitte lookup)
+CREATE INDEX idx_bids_comitte_updated_timestamp ON bids (comitte_id, updated_timestamp);
+CREATE INDEX idx_comitte_member_map_comitte_updated_timestamp ON comitte_member_map (comitte_id, updated_timestamp);
+CREATE INDEX idx_comittes_updated_timestamp ON comittes (updated_timestamp);
+CREATE INDEX idx_sync_tombstones_deleted_timestamp ON sync_tombstones (deleted_timestamp);
@@ -0,0 +1,26 @@
+-- Indexes for the predicates every ComitteRepository / BidRepository / ComitteMemberMapRepository query filters on,
+-- and a unique membership pair. Checked by ExplainPlanTest (mvn test -Pintegration -Dtest=ExplainPlanTest).
+
+-- A member is in a comitte once, with share_count shares (the seed already has no duplicate pair).
+-- (comitte_id, member_id): members of a comitte, "is this member in this comitte" (canRead, the EXISTS sub-queries)
+ALTER TABLE comitte_member_map
+    ADD CONSTRAINT uk_comitte_member_map_comitte_member UNIQUE (comitte_id, member_id);
+
+-- (member_id, comitte_id): comittes of a member (my comittes, membership index, exports)
+CREATE INDEX idx_comitte_member_map_member_comitte ON comitte_member_map (member_id, comitte_id);
+
+-- bids of a comitte newest first (GET /api/bids/comitte/{id}); also the bid import's renumbering order
+CREATE INDEX idx_bids_comitte_bid_date ON bids (comitte_id, bid_date);
+
+-- bids won by a member; also keeps member deletes from scanning bids for the foreign key
+CREATE INDEX idx_bids_final_bidder ON bids (final_bidder);
+
+-- comittes a member owns
+CREATE INDEX idx_comittes_owner ON comittes (owner_id);
+
+-- roles of a member at login; the primary key (role_id, user_id) leads with the role
+CREATE INDEX idx_user_role_map_user ON user_role_map (user_id);
+
+-- password reset by emailed token (member_member_id is already unique)
+ALTER TABLE password_reset_token
+    ADD CONSTRAINT uk_password_reset_token_token UNIQUE (token);
@@ -1,15 +1,7 @@
--- drop table bids;
--- drop table comitte_member_map;
--- drop table users_roles_map
--- drop table comittes;
--- drop table members;
-
--- select * from members;
--- select member_id, email, name from members;
--- select * from comittes;
--- select comitte_id, owner_id, comitte_name from comittes;
--- select * from comitte_member_map;
--- select * from bids;
+-- Demo data for local runs; lives outside db/migration so production (spring.flyway.locations=classpath:db/migration)
+-- never applies it. Was data.sql, re-run on every start under ddl-auto=create-drop.
+-- The (1,2) and (2,2) memberships were listed twice with one share each; they are one row with two shares now,
+-- as the unique (comitte_id, member_id) constraint in V2 requires.
 
 
 INSERT INTO members (
@@ -51,8 +43,8 @@ INSERT INTO comitte_member_map (
 	comitte_id, member_id, share_count,
 	created_timestamp, updated_timestamp
 ) values
-(1,	2, 1, NOW(), NOW()),
-(2,	2, 1, NOW(), NOW()),
+(1,	2, 2, NOW(), NOW()),
+(2,	2, 2, NOW(), NOW()),
 (3,	2, 1, NOW(), NOW()),
 (4,	2, 1, NOW(), NOW()),
 (5,	2, 1, NOW(), NOW()),
@@ -61,14 +53,16 @@ INSERT INTO comitte_member_map (
 (6,	3, 1, NOW(), NOW()),
 (5,	4, 1, NOW(), NOW()),
 (6,	6, 1, NOW(), NOW()),
-(1,	2, 1, NOW(), NOW()),
-(2,	2, 1, NOW(), NOW()),
 (7,	2, 1, NOW(), NOW()),
 (7,	3, 1, NOW(), NOW()),
 (7,	6, 1, NOW(), NOW()),
 (8,	2, 1, NOW(), NOW()),
 (8,	4, 1, NOW(), NOW());
 
+-- reserved_shares is maintained by the application (ShareCapacityService); seed it from the mappings above
+UPDATE comittes c SET reserved_shares = COALESCE(
+	(SELECT SUM(cmm.share_count) FROM comitte_member_map cmm WHERE cmm.comitte_id = c.comitte_id), 0);
+
 
 
 INSERT INTO bids (comitte_id, comitte_number, final_bidder, final_bid_amt, bid_date, created_timestamp, updated_timestamp)
@@ -270,4 +264,8 @@ insert into roles_authorities_map(role_id, authority_id) values
 (2, 32),
 (2, 33),
 (2, 34),
-(2, 35);
\ No newline at end of file
+(2, 35);
+
+-- roles and authorities were inserted with explicit ids; move the identity sequences past them
+SELECT setval(pg_get_serial_sequence('roles', 'role_id'), (SELECT MAX(role_id) FROM roles));
+SELECT setval(pg_get_serial_sequence('authorities', 'authority_id'), (SELECT MAX(authority_id) FROM authorities));
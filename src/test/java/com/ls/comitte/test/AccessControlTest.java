@@ -0,0 +1,113 @@
+package com.ls.comitte.test;
+
+import com.ls.auth.model.response.LoginUserDetails;
+import com.ls.auth.service.AuthService;
+import com.ls.auth.service.TokenBlacklistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the owner/member rules of COMITTE_ACCESS.md through the full filter chain: a member who is neither the
+ * owner of a comitte nor mapped to it gets 403 on every read of it, and on every route keyed by another member's
+ * id, while the same routes keyed by their own id answer 200.
+ *
+ * <p>Needs the {@code spring.datasource} Postgres with the demo seed; run with
+ * {@code mvn test -Pintegration -Dtest=AccessControlTest}.</p>
+ */
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.mail.host=localhost",
+        "spring.jpa.show-sql=false",
+        "cache-invalidation.enabled=false"
+})
+@AutoConfigureMockMvc
+class AccessControlTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // a comitte with bids and memberships, its owner, and a member who has nothing to do with it
+    private long comitteId;
+    private long ownerId;
+    private long bidId;
+    private long mappingId;
+    private long outsiderId;
+    private String outsiderToken;
+
+    @BeforeEach
+    void pickSeedData() {
+        comitteId = jdbcTemplate.queryForObject("SELECT min(c.comitte_id) FROM comittes c " +
+                "WHERE EXISTS (SELECT 1 FROM bids b WHERE b.comitte_id = c.comitte_id) " +
+                "AND EXISTS (SELECT 1 FROM comitte_member_map cm WHERE cm.comitte_id = c.comitte_id)", Long.class);
+        ownerId = jdbcTemplate.queryForObject("SELECT owner_id FROM comittes WHERE comitte_id = ?", Long.class, comitteId);
+        bidId = jdbcTemplate.queryForObject("SELECT min(bid_id) FROM bids WHERE comitte_id = ?", Long.class, comitteId);
+        mappingId = jdbcTemplate.queryForObject("SELECT min(id) FROM comitte_member_map WHERE comitte_id = ?", Long.class, comitteId);
+        outsiderId = jdbcTemplate.queryForObject("SELECT min(m.member_id) FROM members m WHERE m.member_id <> ? " +
+                "AND NOT EXISTS (SELECT 1 FROM comitte_member_map cm WHERE cm.member_id = m.member_id AND cm.comitte_id = ?)",
+                Long.class, ownerId, comitteId);
+        String username = jdbcTemplate.queryForObject("SELECT username FROM members WHERE member_id = ?", String.class, outsiderId);
+        outsiderToken = token(outsiderId, username);
+    }
+
+    @Test
+    void outsiderCannotReadAnotherMembersComitte() throws Exception {
+        for (String path : List.of(
+                "/api/comittes/" + comitteId,
+                "/api/comittes/" + comitteId + "/bids",
+                "/api/comittes/" + comitteId + "/members",
+                "/api/bids/comitte/" + comitteId,
+                "/api/bids/" + bidId,
+                "/api/comitte-member-map/" + mappingId)) {
+            expectStatus(path, 403);
+        }
+    }
+
+    @Test
+    void memberRoutesAreLimitedToTheMemberThemselves() throws Exception {
+        for (String path : List.of(
+                "/api/comittes/member/%d",
+                "/api/comittes/owner/%d",
+                "/api/comittes/my/%d",
+                "/api/bids/member/%d/committee-bids",
+                "/api/sync/%d/changes")) {
+            expectStatus(path.formatted(ownerId), 403);
+            expectStatus(path.formatted(outsiderId), 200);
+        }
+    }
+
+    private void expectStatus(String path, int expected) throws Exception {
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + outsiderToken))
+                .andExpect(status().is(expected));
+    }
+
+    // signed like a login token, without depending on the seed's passwords
+    private String token(long memberId, String username) {
+        LoginUserDetails details = new LoginUserDetails(memberId, username, null, null, null,
+                Set.of(1L), Set.of("ROLE_COMITTE_MEMBER"), Set.of(), Set.of(new SimpleGrantedAuthority("ROLE_COMITTE_MEMBER")));
+        String token = authService.createToken(username, details);
+        tokenBlacklistService.updateActivity(token);
+        return token;
+    }
+}
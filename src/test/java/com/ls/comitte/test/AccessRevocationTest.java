@@ -0,0 +1,129 @@
+package com.ls.comitte.test;
+
+import com.ls.auth.model.response.LoginUserDetails;
+import com.ls.comitte.security.ComitteAccess;
+import com.ls.common.cache.CacheInvalidationBus;
+import com.ls.common.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Membership changes take effect on the next access check, even when the check is made inside a read-only
+ * transaction and the replica such transactions use has not replayed them yet: the decision cache is refilled
+ * from the primary.
+ *
+ * <p>Needs the {@code spring.datasource} Postgres with the demo seed; run with
+ * {@code mvn test -Pintegration -Dtest=AccessRevocationTest}.</p>
+ */
+@Tag("integration")
+@LaggingReplica.Context
+class AccessRevocationTest {
+
+    @Autowired
+    private ComitteAccess comitteAccess;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // a mapped member who does not own the comitte, and a member with nothing to do with it
+    private long comitteId;
+    private long mappingId;
+    private long memberId;
+    private long outsiderId;
+
+    @BeforeEach
+    void pickSeedData() throws InterruptedException {
+        mappingId = jdbcTemplate.queryForObject("SELECT min(cm.id) FROM comitte_member_map cm " +
+                "JOIN comittes c ON c.comitte_id = cm.comitte_id WHERE cm.member_id <> c.owner_id", Long.class);
+        comitteId = jdbcTemplate.queryForObject("SELECT comitte_id FROM comitte_member_map WHERE id = ?", Long.class, mappingId);
+        memberId = jdbcTemplate.queryForObject("SELECT member_id FROM comitte_member_map WHERE id = ?", Long.class, mappingId);
+        outsiderId = jdbcTemplate.queryForObject("SELECT min(m.member_id) FROM members m " +
+                "WHERE m.member_id <> (SELECT owner_id FROM comittes WHERE comitte_id = ?) " +
+                "AND NOT EXISTS (SELECT 1 FROM comitte_member_map cm WHERE cm.member_id = m.member_id AND cm.comitte_id = ?)",
+                Long.class, comitteId, comitteId);
+        LaggingReplica.freeze(jdbcTemplate, routingDataSource);
+    }
+
+    @AfterEach
+    void restore() {
+        SecurityContextHolder.clearContext();
+        changeMembership("INSERT INTO comitte_member_map SELECT * FROM " + LaggingReplica.SCHEMA + ".comitte_member_map " +
+                "WHERE id = ? ON CONFLICT DO NOTHING", mappingId);
+        changeMembership("DELETE FROM comitte_member_map WHERE comitte_id = ? AND member_id = ?", comitteId, outsiderId);
+        LaggingReplica.drop(jdbcTemplate);
+    }
+
+    @Test
+    void removedMemberLosesAccessAtOnce() {
+        assertTrue(canRead(memberId));
+
+        changeMembership("DELETE FROM comitte_member_map WHERE id = ?", mappingId);
+        // the replica still has the mapping
+        assertEquals(1, mappingsOnReplica(memberId));
+
+        assertFalse(canRead(memberId));
+    }
+
+    @Test
+    void addedMemberGainsAccessAtOnce() {
+        assertFalse(canRead(outsiderId));
+
+        changeMembership("INSERT INTO comitte_member_map (comitte_id, member_id, share_count, version) VALUES (?, ?, NULL, 0)",
+                comitteId, outsiderId);
+        assertEquals(0, mappingsOnReplica(outsiderId));
+
+        assertTrue(canRead(outsiderId));
+    }
+
+    // a committed write on the primary, reported to the bus like the services do
+    private void changeMembership(String sql, Object... args) {
+        SecurityContextHolder.clearContext();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update(sql, args);
+            cacheInvalidationBus.comittesChanged(comitteId);
+        });
+    }
+
+    private int mappingsOnReplica(long member) {
+        return readOnly().execute(status -> jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM comitte_member_map WHERE comitte_id = ? AND member_id = ?", Integer.class, comitteId, member));
+    }
+
+    // the check as made from a read-only service method
+    private boolean canRead(long member) {
+        LoginUserDetails user = new LoginUserDetails(member, "member" + member, null, null, null,
+                Set.of(), Set.of(), Set.of(), Set.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        return readOnly().execute(status -> comitteAccess.canRead(comitteId));
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly;
+    }
+}
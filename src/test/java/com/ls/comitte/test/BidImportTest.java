@@ -0,0 +1,198 @@
+package com.ls.comitte.test;
+
+import com.ls.auth.model.response.LoginUserDetails;
+import com.ls.auth.service.AuthService;
+import com.ls.auth.service.TokenBlacklistService;
+import com.ls.common.cache.CacheInvalidationBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks BID_IMPORT.md through the full filter chain: a file with any rejected row writes nothing, a file that
+ * would exceed the comitte's rounds writes nothing, and an accepted file renumbers the comitte's bids by date.
+ *
+ * <p>Needs the {@code spring.datasource} Postgres with the demo seed; run with
+ * {@code mvn test -Pintegration -Dtest=BidImportTest}.</p>
+ */
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.mail.host=localhost",
+        "spring.jpa.show-sql=false",
+        "cache-invalidation.enabled=false"
+})
+@AutoConfigureMockMvc
+class BidImportTest {
+
+    private static final String HEADER = "finalBidder,finalBidAmt,bidDate\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // a comitte with five free rounds and bids after its first day, its owner, a member outside it, and its bids
+    private long comitteId;
+    private long ownerId;
+    private long outsiderId;
+    private int fullAmount;
+    private LocalDateTime startDate;
+    private long freeRounds;
+    private String ownerToken;
+    private List<Map<String, Object>> bidsBefore;
+
+    @BeforeEach
+    void pickSeedData() {
+        comitteId = jdbcTemplate.queryForObject("SELECT min(c.comitte_id) FROM comittes c " +
+                "WHERE c.total_shares >= (SELECT count(*) FROM bids b WHERE b.comitte_id = c.comitte_id) + 5 " +
+                "AND EXISTS (SELECT 1 FROM bids b WHERE b.comitte_id = c.comitte_id AND b.bid_date > c.start_date + interval '1 day')",
+                Long.class);
+        Map<String, Object> comitte = jdbcTemplate.queryForMap("SELECT owner_id, full_amount, start_date, total_shares - " +
+                "(SELECT count(*) FROM bids b WHERE b.comitte_id = c.comitte_id) AS free_rounds " +
+                "FROM comittes c WHERE comitte_id = ?", comitteId);
+        ownerId = ((Number) comitte.get("owner_id")).longValue();
+        fullAmount = ((Number) comitte.get("full_amount")).intValue();
+        startDate = ((Date) comitte.get("start_date")).toLocalDate().atStartOfDay();
+        freeRounds = ((Number) comitte.get("free_rounds")).longValue();
+        outsiderId = jdbcTemplate.queryForObject("SELECT min(m.member_id) FROM members m WHERE m.member_id <> ? " +
+                "AND NOT EXISTS (SELECT 1 FROM comitte_member_map cm WHERE cm.member_id = m.member_id AND cm.comitte_id = ?)",
+                Long.class, ownerId, comitteId);
+        ownerToken = token(ownerId);
+        bidsBefore = bids();
+    }
+
+    @AfterEach
+    void restore() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Long> ids = bidsBefore.stream().map(bid -> ((Number) bid.get("bid_id")).longValue()).toList();
+            jdbcTemplate.update("DELETE FROM bids WHERE comitte_id = ? AND NOT (bid_id = ANY (?))",
+                    comitteId, ids.toArray(Long[]::new));
+            for (Map<String, Object> bid : bidsBefore) {
+                jdbcTemplate.update("UPDATE bids SET comitte_number = ?, version = ?, updated_by = ?, updated_timestamp = ? " +
+                        "WHERE bid_id = ?", bid.get("comitte_number"), bid.get("version"), bid.get("updated_by"),
+                        bid.get("updated_timestamp"), bid.get("bid_id"));
+            }
+            cacheInvalidationBus.comittesChanged(comitteId);
+        });
+    }
+
+    @Test
+    void fileWithARejectedRowWritesNothing() throws Exception {
+        String csv = HEADER
+                + row(ownerId, 1000, startDate.plusHours(12))
+                + row(outsiderId, 1000, startDate.plusHours(12))
+                + row(ownerId, fullAmount + 1, startDate.plusHours(12))
+                + row(ownerId, -1, startDate.plusHours(12))
+                + row(ownerId, 1000, startDate.minusDays(1));
+
+        importBids(csv).andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.rows").value(5))
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andExpect(jsonPath("$.errors[*].row").value(containsInAnyOrder(2, 3, 4, 5)))
+                .andExpect(jsonPath("$.errors[?(@.row == 2)].message").value(containsInAnyOrder(
+                        "member " + outsiderId + " is not in the comitte")));
+
+        assertEquals(bidsBefore, bids());
+    }
+
+    @Test
+    void fileWithMoreRoundsThanTheComitteHasLeftWritesNothing() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (long i = 0; i <= freeRounds; i++) {
+            csv.append(row(ownerId, 1000, startDate.plusHours(1 + i)));
+        }
+
+        importBids(csv.toString()).andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value(containsString(
+                        (freeRounds + 1) + " imported")));
+
+        assertEquals(bidsBefore, bids());
+    }
+
+    @Test
+    void importedRoundsAreNumberedByDateWithTheExistingOnes() throws Exception {
+        LocalDateTime bidDate = startDate.plusHours(12);
+        long shifted = bidsBefore.stream()
+                .filter(bid -> ((Timestamp) bid.get("bid_date")).toLocalDateTime().isAfter(bidDate)).count();
+
+        importBids(HEADER + row(ownerId, 1000, bidDate)).andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.renumbered").value((int) shifted));
+
+        List<Map<String, Object>> after = bids();
+        assertEquals(bidsBefore.size() + 1, after.size());
+        for (int i = 0; i < after.size(); i++) {
+            assertEquals(i + 1, ((Number) after.get(i).get("comitte_number")).intValue(), "bid " + after.get(i).get("bid_id"));
+        }
+        assertEquals(bidsBefore.size() - shifted + 1, (long) jdbcTemplate.queryForObject(
+                "SELECT comitte_number FROM bids WHERE comitte_id = ? AND bid_date = ? ORDER BY bid_id DESC LIMIT 1",
+                Long.class, comitteId, Timestamp.valueOf(bidDate)));
+    }
+
+    private ResultActions importBids(String csv) throws Exception {
+        return mockMvc.perform(post("/api/bids/comitte/" + comitteId + "/import")
+                .header("Authorization", "Bearer " + ownerToken)
+                .contentType("text/csv")
+                .content(csv));
+    }
+
+    private static String row(long finalBidder, int finalBidAmt, LocalDateTime bidDate) {
+        return finalBidder + "," + finalBidAmt + "," + bidDate + "\n";
+    }
+
+    // in numbering order
+    private List<Map<String, Object>> bids() {
+        return jdbcTemplate.queryForList("SELECT bid_id, comitte_number, bid_date, version, updated_by, updated_timestamp " +
+                "FROM bids WHERE comitte_id = ? ORDER BY bid_date, bid_id", comitteId);
+    }
+
+    // signed like a login token, without depending on the seed's passwords
+    private String token(long memberId) {
+        String username = jdbcTemplate.queryForObject("SELECT username FROM members WHERE member_id = ?", String.class, memberId);
+        LoginUserDetails details = new LoginUserDetails(memberId, username, null, null, null,
+                Set.of(1L), Set.of("ROLE_COMITTE_MEMBER"), Set.of(), Set.of(new SimpleGrantedAuthority("ROLE_COMITTE_MEMBER")));
+        String token = authService.createToken(username, details);
+        tokenBlacklistService.updateActivity(token);
+        return token;
+    }
+}
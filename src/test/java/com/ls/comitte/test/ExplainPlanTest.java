@@ -0,0 +1,232 @@
+package com.ls.comitte.test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ls.auth.repository.MemberRepository;
+import com.ls.auth.repository.PasswordResetTokenRepository;
+import com.ls.comitte.repository.BidRepository;
+import com.ls.comitte.repository.ComitteMemberMapRepository;
+import com.ls.comitte.repository.ComitteRepository;
+import com.ls.comitte.repository.SyncTombstoneRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails if a hot repository query plans a sequential scan over a large table.
+ *
+ * <p>Each test seeds volume inside its transaction (rolled back afterwards), runs the repository method to capture
+ * the SQL Hibernate generates, and EXPLAINs that SQL as a generic prepared plan, i.e. the plan for any parameter
+ * value. The tables stay small in a dev database, where a sequential scan is the right choice; on the seeded volume
+ * only an index makes these queries cheap.</p>
+ *
+ * <p>Needs the {@code spring.datasource} Postgres with the migrations applied; run with
+ * {@code mvn test -Pintegration -Dtest=ExplainPlanTest}.</p>
+ */
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.mail.host=localhost",
+        "spring.jpa.show-sql=false",
+        "cache-invalidation.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ls.comitte.test.ExplainPlanTest$SqlCapture"
+})
+@Transactional
+class ExplainPlanTest {
+
+    private static final Set<String> LARGE_TABLES = Set.of("members", "comittes", "comitte_member_map", "bids");
+
+    @Autowired
+    private ComitteRepository comitteRepository;
+
+    @Autowired
+    private BidRepository bidRepository;
+
+    @Autowired
+    private ComitteMemberMapRepository comitteMemberMapRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long comitteId;
+    private long memberId;
+    private final LocalDateTime since = LocalDateTime.now().minusDays(1);
+
+    // 50,000 members, 25,000 comittes with 10 memberships and 10 bids each. With only a few thousand comittes,
+    // hashing the whole comittes table beats per-row index probes and Postgres rightly plans a sequential scan
+    @BeforeEach
+    void seedVolume() {
+        jdbcTemplate.update("INSERT INTO members (username, email, name) " +
+                "SELECT 'plan.' || g, 'plan.' || g || '@example.com', 'Plan ' || g FROM generate_series(1, 50000) g");
+        long firstMember = jdbcTemplate.queryForObject(
+                "SELECT min(member_id) FROM members WHERE username LIKE 'plan.%'", Long.class);
+        jdbcTemplate.update("INSERT INTO comittes (owner_id, comitte_name, start_date, full_amount, total_shares, " +
+                "full_share, reserved_shares) SELECT ? + g % 50000, 'Plan ' || g, DATE '2024-01-01', 100000, 20, 5000, 20 " +
+                "FROM generate_series(1, 25000) g", firstMember);
+        jdbcTemplate.update("INSERT INTO comitte_member_map (comitte_id, member_id, share_count) " +
+                "SELECT c.comitte_id, ? + (c.comitte_id * 7 + s * 131) % 50000, 1 " +
+                "FROM comittes c CROSS JOIN generate_series(1, 10) s WHERE c.comitte_name LIKE 'Plan %'", firstMember);
+        jdbcTemplate.update("INSERT INTO bids (comitte_id, comitte_number, final_bidder, final_bid_amt, bid_date) " +
+                "SELECT c.comitte_id, s, ? + (c.comitte_id + s) % 50000, 1000 * s, TIMESTAMP '2024-01-01' + s * INTERVAL '1 month' " +
+                "FROM comittes c CROSS JOIN generate_series(1, 10) s WHERE c.comitte_name LIKE 'Plan %'", firstMember);
+        LARGE_TABLES.forEach(table -> jdbcTemplate.execute("ANALYZE " + table));
+
+        comitteId = jdbcTemplate.queryForObject(
+                "SELECT min(comitte_id) FROM comittes WHERE comitte_name LIKE 'Plan %'", Long.class);
+        memberId = firstMember + 7;
+    }
+
+    // the rows are rolled back but ANALYZE's row estimates are not; re-read the real tables
+    @AfterTransaction
+    void restoreStatistics() {
+        LARGE_TABLES.forEach(table -> jdbcTemplate.execute("ANALYZE " + table));
+    }
+
+    @Test
+    void comitteQueriesUseIndexes() {
+        assertIndexed("ComitteRepository.findResponseById", () -> comitteRepository.findResponseById(comitteId));
+        assertIndexed("ComitteRepository.findResponsesByMemberId", () -> comitteRepository.findResponsesByMemberId(memberId));
+        assertIndexed("ComitteRepository.findResponsesByOwnerId", () -> comitteRepository.findResponsesByOwnerId(memberId));
+        assertIndexed("ComitteRepository.findAllMyResponses", () -> comitteRepository.findAllMyResponses(memberId));
+        assertIndexed("ComitteRepository.findChangedMyResponses", () -> comitteRepository.findChangedMyResponses(memberId, since));
+        assertIndexed("ComitteRepository.findReaderIds", () -> comitteRepository.findReaderIds(comitteId));
+        assertIndexed("ComitteRepository.findVersionById", () -> comitteRepository.findVersionById(comitteId));
+    }
+
+    @Test
+    void bidQueriesUseIndexes() {
+        assertIndexed("BidRepository.findResponsesByComitteId", () -> bidRepository.findResponsesByComitteId(comitteId));
+        assertIndexed("BidRepository.countByComitte_ComitteId", () -> bidRepository.countByComitte_ComitteId(comitteId));
+        assertIndexed("BidRepository.findResponsesForMemberCommittees", () -> bidRepository.findResponsesForMemberCommittees(memberId));
+        assertIndexed("BidRepository.findChangedResponsesForMemberCommittees",
+                () -> bidRepository.findChangedResponsesForMemberCommittees(memberId, since));
+    }
+
+    @Test
+    void membershipQueriesUseIndexes() {
+        assertIndexed("ComitteMemberMapRepository.findResponsesByComitteId",
+                () -> comitteMemberMapRepository.findResponsesByComitteId(comitteId));
+        assertIndexed("ComitteMemberMapRepository.findMembersByComitteId",
+                () -> comitteMemberMapRepository.findMembersByComitteId(comitteId));
+        assertIndexed("ComitteMemberMapRepository.findResponsesForMemberCommittees",
+                () -> comitteMemberMapRepository.findResponsesForMemberCommittees(memberId));
+        assertIndexed("ComitteMemberMapRepository.findChangedResponsesForMemberCommittees",
+                () -> comitteMemberMapRepository.findChangedResponsesForMemberCommittees(memberId, since));
+        assertIndexed("SyncTombstoneRepository.findResponsesForMemberSince",
+                () -> syncTombstoneRepository.findResponsesForMemberSince(memberId, since));
+    }
+
+    @Test
+    void memberQueriesUseIndexes() {
+        assertIndexed("MemberRepository.findByUsernameWithRoles", () -> memberRepository.findByUsernameWithRoles("plan.7"));
+        assertIndexed("PasswordResetTokenRepository.findByToken", () -> passwordResetTokenRepository.findByToken("no-such-token"));
+    }
+
+    private void assertIndexed(String query, Runnable call) {
+        SqlCapture.start();
+        try {
+            call.run();
+        } finally {
+            SqlCapture.stop();
+        }
+        List<String> selects = SqlCapture.captured().stream()
+                .filter(sql -> sql.stripLeading().regionMatches(true, 0, "select", 0, 6))
+                .toList();
+        assertFalse(selects.isEmpty(), query + " ran no SQL");
+        for (String sql : selects) {
+            List<String> seqScans = new ArrayList<>();
+            collectSeqScans(explainGeneric(sql), seqScans);
+            assertTrue(seqScans.isEmpty(), () -> query + " scans " + seqScans + " sequentially:\n" + sql);
+        }
+    }
+
+    // PREPARE + EXPLAIN EXECUTE with plan_cache_mode=force_generic_plan: the plan does not depend on the
+    // (NULL) arguments, as with EXPLAIN (GENERIC_PLAN) on Postgres 16
+    private JsonNode explainGeneric(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameters = 0;
+        for (char ch : sql.toCharArray()) {
+            if (ch == '?') {
+                numbered.append('$').append(++parameters);
+            } else {
+                numbered.append(ch);
+            }
+        }
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("PREPARE explain_plan_test AS " + numbered);
+        try {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) EXECUTE explain_plan_test" + arguments,
+                    String.class);
+            return objectMapper.readTree(plan).get(0).get("Plan");
+        } catch (Exception e) {
+            throw new IllegalStateException("EXPLAIN failed for " + sql, e);
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE explain_plan_test");
+        }
+    }
+
+    private static void collectSeqScans(JsonNode plan, List<String> seqScans) {
+        String relation = plan.path("Relation Name").asText();
+        if ("Seq Scan".equals(plan.path("Node Type").asText()) && LARGE_TABLES.contains(relation)) {
+            seqScans.add(relation);
+        }
+        plan.path("Plans").forEach(child -> collectSeqScans(child, seqScans));
+    }
+
+    /**
+     * Records the SQL Hibernate sends while a query is being captured. Instantiated by Hibernate
+     * ({@code hibernate.session_factory.statement_inspector}), hence public with static state.
+     */
+    public static class SqlCapture implements StatementInspector {
+        private static final List<String> CAPTURED = Collections.synchronizedList(new ArrayList<>());
+        private static volatile boolean recording;
+
+        static void start() {
+            CAPTURED.clear();
+            recording = true;
+        }
+
+        static void stop() {
+            recording = false;
+        }
+
+        static List<String> captured() {
+            return List.copyOf(CAPTURED);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (recording) {
+                CAPTURED.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ls.comitte.test;
+
+import com.ls.common.datasource.ReplicaRoutingDataSource;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+
+/**
+ * A replica that stopped replaying at a chosen moment, for tests annotated with {@link Context}: the replica pool
+ * connects to the {@code spring.datasource} database with {@code lagging_replica} first on its search path, and
+ * {@link #freeze} copies the comitte tables there. Read-only transactions then see the copies, while writes and
+ * everything else go on in {@code public}. The node is not in recovery, so its health check reports no lag.
+ */
+final class LaggingReplica {
+
+    static final String SCHEMA = "lagging_replica";
+
+    /**
+     * The application with replica routing to the lagging replica, MockMvc and the usual test properties.
+     */
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+            "spring.mail.host=localhost",
+            "spring.jpa.show-sql=false",
+            "cache-invalidation.enabled=false",
+            "replica.enabled=true",
+            "replica.nodes[0].name=lagging",
+            "replica.nodes[0].url=${spring.datasource.url}?currentSchema=" + SCHEMA + ",public",
+            "replica.nodes[0].username=${spring.datasource.username}",
+            "replica.nodes[0].password=${spring.datasource.password}",
+            "replica.health-check-interval-ms=200",
+            // no read-your-writes pinning: every read-only transaction goes to the replica
+            "replica.read-your-writes-window=0s"
+    })
+    @AutoConfigureMockMvc
+    @interface Context {
+    }
+
+    private static final List<String> TABLES = List.of("members", "comittes", "comitte_member_map", "bids");
+
+    private LaggingReplica() {
+    }
+
+    /**
+     * Stops the replica at the current state of the primary; waits until it is in rotation.
+     */
+    static void freeze(JdbcTemplate jdbcTemplate, ReplicaRoutingDataSource routingDataSource) throws InterruptedException {
+        drop(jdbcTemplate);
+        jdbcTemplate.execute("CREATE SCHEMA " + SCHEMA);
+        for (String table : TABLES) {
+            jdbcTemplate.execute("CREATE TABLE " + SCHEMA + "." + table + " AS SELECT * FROM public." + table);
+        }
+        for (int i = 0; i < 50 && routingDataSource.getHealthyReplicas().isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+        if (routingDataSource.getHealthyReplicas().isEmpty()) {
+            throw new IllegalStateException("the lagging replica never passed its health check");
+        }
+    }
+
+    static void drop(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+}
@@ -0,0 +1,461 @@
+package com.ls.comitte.test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * End-to-end load test of the packaged app against Postgres loaded by {@link SyntheticDataGenerator}
+ * (see LOAD_TEST.md).
+ *
+ * <p>Open model: requests start on a fixed schedule at {@code loadtest.rate} per second, whether or not earlier ones
+ * have answered, and latency is measured from the scheduled start. A slow server therefore shows up as latency and
+ * not as a lower request rate. The steady traffic is a weighted mix of dashboard reads, comitte bid reads, bid
+ * creation and member assignment; logins arrive in bursts on top. Only requests scheduled after the warm-up count.
+ * The report (p50/p99/p999 latency and throughput per endpoint) is written to {@code target/loadtest}.</p>
+ *
+ * <p>Needs {@code mvn package -DskipTests} first and a Postgres reachable with the {@code spring.datasource}
+ * credentials; run with {@code mvn test -Pbenchmark -Dtest=LoadTestBenchmark}. The {@code loadtest.*} settings are
+ * listed in LOAD_TEST.md.</p>
+ */
+@Tag("benchmark")
+class LoadTestBenchmark {
+
+    private static final String DB_URL = System.getProperty("loadtest.db", "jdbc:postgresql://localhost:5432/comittedb_perf");
+    private static final String DB_USER = "postgres";
+    private static final String DB_PASSWORD = "postgres";
+    private static final boolean REUSE_DATA = Boolean.getBoolean("loadtest.reuse-data");
+    private static final int MEMBERS = Integer.getInteger("loadtest.members", 200_000);
+    private static final int COMITTES = Integer.getInteger("loadtest.comittes", 20_000);
+    private static final String APP_URL = System.getProperty("loadtest.url");
+
+    private static final double RATE = Double.parseDouble(System.getProperty("loadtest.rate", "20"));
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 30));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 120));
+    private static final String MIX = System.getProperty("loadtest.mix", "dashboard=60,comitte-bids=25,create-bid=10,assign-member=5");
+    private static final int LOGIN_BURST = Integer.getInteger("loadtest.login-burst", 10);
+    private static final Duration LOGIN_BURST_INTERVAL = Duration.ofSeconds(Integer.getInteger("loadtest.login-burst-interval-seconds", 15));
+    private static final int USERS = Integer.getInteger("loadtest.users", 200);
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Path JAR = Path.of("target/comitte-service-0.0.1-SNAPSHOT.jar");
+    private static final Path OUT = Path.of("target/loadtest");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private final Queue<Sample> samples = new ConcurrentLinkedQueue<>();
+
+    private String baseUrl;
+    private List<Reader> readers;
+    private List<Organiser> bidTargets;
+    private List<Organiser> assignTargets;
+    private long minMemberId;
+    private long maxMemberId;
+    private LocalDateTime startedAt;
+
+    /** One user-visible action; {@code endpoint} is the route, reported without the ids. */
+    private record Scenario(String endpoint, Function<SplittableRandom, HttpRequest> request) {
+    }
+
+    private record Arrival(long offsetNanos, Scenario scenario) {
+    }
+
+    private record Sample(String endpoint, int status, long latencyNanos) {
+    }
+
+    private record Reader(long memberId, String username, long comitteId) {
+    }
+
+    private record Organiser(long comitteId, String ownerUsername, long memberId, int fullAmount) {
+    }
+
+    record EndpointReport(String endpoint, long requests, double throughputPerSecond, double p50Millis,
+                          double p99Millis, double p999Millis, double maxMillis, Map<Integer, Long> statuses,
+                          long failed) {
+    }
+
+    record Report(LocalDateTime startedAt, String database, int members, int comittes, double ratePerSecond,
+                  String mix, int loginBurst, long loginBurstIntervalSeconds, long warmupSeconds,
+                  long durationSeconds, long seed, List<EndpointReport> endpoints) {
+    }
+
+    @Test
+    void realEndpointsUnderConstantArrivalRate() throws Exception {
+        Files.createDirectories(OUT);
+        if (!REUSE_DATA) {
+            recreateDatabase();
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(DB_URL, DB_USER, DB_PASSWORD, MEMBERS, COMITTES,
+                    2_000, Math.max(2, Runtime.getRuntime().availableProcessors()), SEED);
+            generator.migrate();
+            generator.load();
+        }
+        selectWorkload();
+
+        Process app = null;
+        if (APP_URL == null) {
+            assumeTrue(Files.exists(JAR), "run mvn package -DskipTests first");
+            int port = freePort();
+            baseUrl = "http://localhost:" + port;
+            app = startApp(port);
+        } else {
+            baseUrl = APP_URL;
+        }
+        try {
+            awaitLogin(readers.get(0).username());
+            loginAll();
+
+            List<Scenario> steady = steadyScenarios();
+            Scenario login = new Scenario("POST /api/auth/login", random -> loginRequest(
+                    readers.get(random.nextInt(readers.size())).username()));
+            List<Arrival> schedule = schedule(steady, login);
+            System.out.printf("Load test: %.1f req/s (%s) plus %d logins every %ds, %ds warm-up, %ds measured%n",
+                    RATE, MIX, LOGIN_BURST, LOGIN_BURST_INTERVAL.toSeconds(), WARMUP.toSeconds(), DURATION.toSeconds());
+            run(schedule);
+        } finally {
+            if (app != null) {
+                app.destroy();
+                if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                    app.destroyForcibly().waitFor();
+                }
+            }
+        }
+
+        Report report = report();
+        String name = "report-" + report.startedAt().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        objectMapper.copy().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writerWithDefaultPrettyPrinter().writeValue(OUT.resolve(name + ".json").toFile(), report);
+        String table = table(report);
+        Files.writeString(OUT.resolve(name + ".txt"), table);
+        System.out.println(table);
+        System.out.println("Report: " + OUT.resolve(name + ".json"));
+
+        // the numbers are the result; only a broken run (5xx, timeouts, refused connections) fails the test
+        for (EndpointReport endpoint : report.endpoints()) {
+            long serverErrors = endpoint.failed() + endpoint.statuses().entrySet().stream()
+                    .filter(e -> e.getKey() >= 500).mapToLong(Map.Entry::getValue).sum();
+            assertTrue(serverErrors <= endpoint.requests() / 100,
+                    endpoint.endpoint() + " failed " + serverErrors + " of " + endpoint.requests() + " requests");
+        }
+    }
+
+    private List<Scenario> steadyScenarios() {
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("dashboard", new Scenario("GET /api/comittes/my/{memberId}", random -> {
+            Reader reader = readers.get(random.nextInt(readers.size()));
+            return get("/api/comittes/my/" + reader.memberId(), reader.username());
+        }));
+        scenarios.put("comitte-bids", new Scenario("GET /api/comittes/{comitteId}/bids", random -> {
+            Reader reader = readers.get(random.nextInt(readers.size()));
+            return get("/api/comittes/" + reader.comitteId() + "/bids", reader.username());
+        }));
+        scenarios.put("create-bid", new Scenario("POST /api/bids", random -> {
+            Organiser target = bidTargets.get(random.nextInt(bidTargets.size()));
+            Map<String, Object> bid = Map.of("comitteId", target.comitteId(), "finalBidder", target.memberId(),
+                    "finalBidAmt", target.fullAmount() / 100 * random.nextInt(1, 25),
+                    "bidDate", LocalDateTime.now().withNano(0).toString());
+            return post("/api/bids", target.ownerUsername(), bid);
+        }));
+        scenarios.put("assign-member", new Scenario("POST /api/comittes/{comitteId}/assign-members", random -> {
+            Organiser target = assignTargets.get(random.nextInt(assignTargets.size()));
+            long memberId = random.nextLong(minMemberId, maxMemberId + 1);
+            return post("/api/comittes/" + target.comitteId() + "/assign-members", target.ownerUsername(), List.of(memberId));
+        }));
+
+        List<Scenario> weighted = new ArrayList<>();
+        for (String entry : MIX.split(",")) {
+            String[] nameAndWeight = entry.trim().split("=");
+            Scenario scenario = scenarios.get(nameAndWeight[0]);
+            if (scenario == null) {
+                throw new IllegalArgumentException("unknown scenario in loadtest.mix: " + nameAndWeight[0]);
+            }
+            for (int i = 0; i < Integer.parseInt(nameAndWeight[1]); i++) {
+                weighted.add(scenario);
+            }
+        }
+        return weighted;
+    }
+
+    // the whole run is fixed up front from the seed: every arrival time and which scenario it is
+    private List<Arrival> schedule(List<Scenario> steady, Scenario login) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long end = WARMUP.plus(DURATION).toNanos();
+        List<Arrival> arrivals = new ArrayList<>();
+        for (long i = 0; ; i++) {
+            long offset = (long) (i * 1e9 / RATE);
+            if (offset >= end) {
+                break;
+            }
+            arrivals.add(new Arrival(offset, steady.get(random.nextInt(steady.size()))));
+        }
+        for (long offset = LOGIN_BURST_INTERVAL.toNanos(); offset < end; offset += LOGIN_BURST_INTERVAL.toNanos()) {
+            for (int i = 0; i < LOGIN_BURST; i++) {
+                arrivals.add(new Arrival(offset, login));
+            }
+        }
+        arrivals.sort(Comparator.comparingLong(Arrival::offsetNanos));
+        return arrivals;
+    }
+
+    private void run(List<Arrival> schedule) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        long warmup = WARMUP.toNanos();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>(schedule.size());
+        startedAt = LocalDateTime.now().withNano(0);
+        long start = System.nanoTime();
+        for (Arrival arrival : schedule) {
+            long intended = start + arrival.offsetNanos();
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = arrival.offsetNanos() >= warmup;
+            Scenario scenario = arrival.scenario();
+            inFlight.add(client.sendAsync(scenario.request().apply(random), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        if (measured) {
+                            samples.add(new Sample(scenario.endpoint(), failure == null ? response.statusCode() : -1,
+                                    System.nanoTime() - intended));
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .completeOnTimeout(null, REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)
+                .join();
+    }
+
+    private Report report() {
+        Map<String, List<Sample>> byEndpoint = new TreeMap<>();
+        for (Sample sample : samples) {
+            byEndpoint.computeIfAbsent(sample.endpoint(), k -> new ArrayList<>()).add(sample);
+        }
+        List<EndpointReport> endpoints = new ArrayList<>();
+        byEndpoint.forEach((endpoint, list) -> {
+            long[] latencies = list.stream().mapToLong(Sample::latencyNanos).sorted().toArray();
+            Map<Integer, Long> statuses = new TreeMap<>();
+            long failed = 0;
+            for (Sample sample : list) {
+                if (sample.status() < 0) {
+                    failed++;
+                } else {
+                    statuses.merge(sample.status(), 1L, Long::sum);
+                }
+            }
+            endpoints.add(new EndpointReport(endpoint, list.size(), list.size() / (double) DURATION.toSeconds(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                    latencies[latencies.length - 1] / 1e6, statuses, failed));
+        });
+        return new Report(startedAt, DB_URL, MEMBERS, COMITTES, RATE, MIX, LOGIN_BURST,
+                LOGIN_BURST_INTERVAL.toSeconds(), WARMUP.toSeconds(), DURATION.toSeconds(), SEED, endpoints);
+    }
+
+    // nearest rank: the smallest latency that at least p of the requests did not exceed
+    private static double percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    private static String table(Report report) {
+        StringBuilder table = new StringBuilder(String.format("%n%-48s %8s %8s %9s %9s %9s %9s  %s%n", "endpoint",
+                "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "statuses"));
+        for (EndpointReport e : report.endpoints()) {
+            table.append(String.format("%-48s %8d %8.1f %9.1f %9.1f %9.1f %9.1f  %s%s%n", e.endpoint(), e.requests(),
+                    e.throughputPerSecond(), e.p50Millis(), e.p99Millis(), e.p999Millis(), e.maxMillis(), e.statuses(),
+                    e.failed() > 0 ? " failed=" + e.failed() : ""));
+        }
+        return table.toString();
+    }
+
+    private void recreateDatabase() throws SQLException {
+        String database = DB_URL.substring(DB_URL.lastIndexOf('/') + 1);
+        String maintenanceUrl = DB_URL.substring(0, DB_URL.lastIndexOf('/') + 1) + "postgres";
+        try (Connection connection = DriverManager.getConnection(maintenanceUrl, DB_USER, DB_PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+            statement.execute("CREATE DATABASE " + database);
+        }
+    }
+
+    // readers: members of at least one comitte; organisers: running comittes with rounds left (bids) and comittes
+    // with free shares (assignments). The order is fixed by the seed, so the same rows are picked on the same data
+    private void selectWorkload() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD)) {
+            readers = query(connection, "SELECT m.member_id, m.username, min(cmm.comitte_id) FROM members m " +
+                    "JOIN comitte_member_map cmm ON cmm.member_id = m.member_id " +
+                    "GROUP BY m.member_id, m.username ORDER BY md5(m.member_id || '-' || ?) LIMIT ?",
+                    rs -> new Reader(rs.getLong(1), rs.getString(2), rs.getLong(3)), USERS);
+            bidTargets = query(connection, "SELECT c.comitte_id, o.username, min(cmm.member_id), c.full_amount " +
+                    "FROM comittes c JOIN members o ON o.member_id = c.owner_id " +
+                    "JOIN comitte_member_map cmm ON cmm.comitte_id = c.comitte_id " +
+                    "WHERE c.start_date <= current_date " +
+                    "AND (SELECT count(*) FROM bids b WHERE b.comitte_id = c.comitte_id) < c.total_shares " +
+                    "GROUP BY c.comitte_id, o.username ORDER BY md5(c.comitte_id || '-' || ?) LIMIT ?",
+                    rs -> new Organiser(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getInt(4)), USERS / 4);
+            assignTargets = query(connection, "SELECT c.comitte_id, o.username, 0, c.full_amount " +
+                    "FROM comittes c JOIN members o ON o.member_id = c.owner_id " +
+                    "WHERE c.reserved_shares < c.total_shares ORDER BY md5(c.comitte_id || '-' || ?) LIMIT ?",
+                    rs -> new Organiser(rs.getLong(1), rs.getString(2), 0, rs.getInt(4)), USERS / 4);
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT min(member_id), max(member_id) FROM members")) {
+                rs.next();
+                minMemberId = rs.getLong(1);
+                maxMemberId = rs.getLong(2);
+            }
+        }
+        assumeTrue(!readers.isEmpty() && !bidTargets.isEmpty() && !assignTargets.isEmpty(),
+                "the database has no comittes to load-test with");
+    }
+
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private static <T> List<T> query(Connection connection, String sql, RowMapper<T> mapper, int limit) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, SEED);
+            statement.setInt(2, limit);
+            List<T> rows = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+            }
+            return rows;
+        }
+    }
+
+    private Process startApp(int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String jvmArguments = System.getProperty("loadtest.jvm-args", "");
+        if (!jvmArguments.isBlank()) {
+            command.addAll(Arrays.asList(jvmArguments.trim().split("\\s+")));
+        }
+        command.addAll(List.of("-jar", JAR.toString(),
+                "--server.port=" + port,
+                "--spring.datasource.url=" + DB_URL,
+                "--spring.flyway.locations=classpath:db/migration",
+                "--spring.jpa.show-sql=false",
+                "--spring.mail.host=localhost"));
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(OUT.resolve("app.log").toFile()).start();
+    }
+
+    private void awaitLogin(String username) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofMinutes(3).toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = client.send(loginRequest(username), HttpResponse.BodyHandlers.ofString());
+                assertTrue(response.statusCode() == 200, () -> "login answered " + response.statusCode());
+                return;
+            } catch (ConnectException e) {
+                Thread.sleep(200);
+            }
+        }
+        throw new AssertionError("the app did not start, see " + OUT.resolve("app.log"));
+    }
+
+    // tokens for every user the scenarios act as; a few at a time, since each login is a bcrypt check
+    private void loginAll() throws Exception {
+        List<String> usernames = new ArrayList<>();
+        readers.forEach(r -> usernames.add(r.username()));
+        bidTargets.forEach(t -> usernames.add(t.ownerUsername()));
+        assignTargets.forEach(t -> usernames.add(t.ownerUsername()));
+        AtomicInteger next = new AtomicInteger();
+        List<String> distinct = usernames.stream().distinct().toList();
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int worker = 0; worker < 4; worker++) {
+            workers.add(CompletableFuture.runAsync(() -> {
+                for (int i; (i = next.getAndIncrement()) < distinct.size(); ) {
+                    String username = distinct.get(i);
+                    try {
+                        HttpResponse<String> response = client.send(loginRequest(username), HttpResponse.BodyHandlers.ofString());
+                        tokens.put(username, objectMapper.readTree(response.body()).get("accessToken").asText());
+                    } catch (Exception e) {
+                        throw new IllegalStateException("login failed for " + username, e);
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private HttpRequest loginRequest(String username) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"usernameOrEmail\":\"" + username + "\",\"password\":\"test123\"}"))
+                .timeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    private HttpRequest get(String path, String username) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + tokens.get(username))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String username, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + tokens.get(username))
+                    .header("Content-Type", "application/json")
+                    .timeout(REQUEST_TIMEOUT)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.ls.comitte.test;
+
+import com.ls.comitte.model.entity.Comitte;
+import com.ls.common.retry.RetryOnConflict;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of concurrent read-modify-write on comitte rows: {@code @Version} + {@link RetryOnConflict}
+ * versus {@code SELECT ... FOR UPDATE}.
+ *
+ * <p>Needs the {@code spring.datasource} Postgres; run with {@code mvn test -Pbenchmark}. Tune with
+ * {@code -Dbenchmark.threads} and {@code -Dbenchmark.ops} (per thread). Every scenario also asserts that no
+ * increment was lost.</p>
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.mail.host=localhost",
+        "spring.jpa.show-sql=false",
+        "cache-invalidation.enabled=false"
+})
+class LockingContentionBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final int OPS_PER_THREAD = Integer.getInteger("benchmark.ops", 250);
+
+    @Autowired
+    private Incrementer incrementer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void optimisticVersusPessimistic() throws InterruptedException {
+        // Warm up the pool, JIT and caches
+        run("warm-up", 2, incrementer::optimistic);
+        run("warm-up", 2, incrementer::pessimistic);
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-12s %5s %10s %8s %8s %10s", "mode", "rows", "ops/s", "retries", "failed", "p-thread"));
+        for (int rows : new int[]{1, 4, THREADS}) {
+            report.add(run("optimistic", rows, incrementer::optimistic));
+            report.add(run("pessimistic", rows, incrementer::pessimistic));
+        }
+        System.out.println("\nLocking contention: " + THREADS + " threads x " + OPS_PER_THREAD + " increments\n"
+                + String.join("\n", report) + "\n");
+    }
+
+    private String run(String mode, int rows, LongConsumer operation) throws InterruptedException {
+        long[] before = fullAmounts(rows);
+        incrementer.attempts().set(0);
+        AtomicLong failed = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            long comitteId = (t % rows) + 1;
+            pool.execute(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    try {
+                        operation.accept(comitteId);
+                    } catch (OptimisticLockingFailureException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        long ops = (long) THREADS * OPS_PER_THREAD;
+        long succeeded = ops - failed.get();
+        long[] after = fullAmounts(rows);
+        long applied = 0;
+        for (int i = 0; i < rows; i++) {
+            applied += after[i] - before[i];
+        }
+        assertEquals(succeeded, applied, mode + " lost updates on " + rows + " row(s)");
+
+        return String.format("%-12s %5d %10.0f %8d %8d %10.0f", mode, rows, succeeded / seconds,
+                incrementer.attempts().get() - ops, failed.get(), succeeded / seconds / THREADS);
+    }
+
+    private long[] fullAmounts(int rows) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            long[] amounts = new long[rows];
+            for (int i = 0; i < rows; i++) {
+                Comitte comitte = entityManager.find(Comitte.class, (long) i + 1, LockModeType.NONE);
+                entityManager.refresh(comitte);
+                amounts[i] = comitte.getFullAmount();
+            }
+            return amounts;
+        });
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        Incrementer incrementer() {
+            return new Incrementer();
+        }
+    }
+
+    /**
+     * The contended operation: read a comitte, add 1 to fullAmount, write it back.
+     */
+    static class Incrementer {
+
+        // Read through attempts(): the bean is a proxy, its own fields stay unset
+        private final AtomicLong attempts = new AtomicLong();
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @RetryOnConflict(maxAttempts = 10)
+        @Transactional
+        public void optimistic(long comitteId) {
+            attempts.incrementAndGet();
+            Comitte comitte = entityManager.find(Comitte.class, comitteId);
+            comitte.setFullAmount(comitte.getFullAmount() + 1);
+        }
+
+        @Transactional
+        public void pessimistic(long comitteId) {
+            attempts.incrementAndGet();
+            Comitte comitte = entityManager.find(Comitte.class, comitteId, LockModeType.PESSIMISTIC_WRITE);
+            comitte.setFullAmount(comitte.getFullAmount() + 1);
+        }
+
+        public AtomicLong attempts() {
+            return attempts;
+        }
+    }
+}
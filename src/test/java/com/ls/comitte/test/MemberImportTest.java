@@ -0,0 +1,193 @@
+package com.ls.comitte.test;
+
+import com.ls.auth.model.response.MemberImportResult;
+import com.ls.auth.model.response.MemberImportResult.Status;
+import com.ls.auth.model.response.MemberImportSummary;
+import com.ls.auth.service.MemberImportService;
+import com.ls.common.util.RowFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Checks MEMBER_IMPORT.md against Postgres with chunks of two rows: duplicates within a chunk and across chunks,
+ * rows clashing with registered members, malformed rows, the {@code max-rows} cut-off, a CSV that can no longer
+ * be read, and a row that loses the race to a concurrent registration between the existence check and the insert.
+ *
+ * <p>Needs the {@code spring.datasource} Postgres with the demo seed; run with
+ * {@code mvn test -Pintegration -Dtest=MemberImportTest}.</p>
+ */
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.mail.host=localhost",
+        "spring.jpa.show-sql=false",
+        "cache-invalidation.enabled=false",
+        "member-import.batch-size=2",
+        "member-import.max-rows=6"
+})
+class MemberImportTest {
+
+    private static final String PREFIX = "import-test-";
+    private static final String HEADER = "username,email,name,password\n";
+    private static final String RACE_PASSWORD = "loses-the-race";
+
+    @Autowired
+    private MemberImportService memberImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private BCryptPasswordEncoder passwordEncoder;
+
+    private final List<MemberImportResult> results = new ArrayList<>();
+
+    @AfterEach
+    void deleteImportedMembers() {
+        jdbcTemplate.update("DELETE FROM user_role_map WHERE user_id IN (SELECT member_id FROM members WHERE username LIKE ?)",
+                PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM members WHERE username LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void duplicatesAreRejectedWithinAndAcrossChunks() throws IOException {
+        MemberImportSummary summary = importCsv(HEADER
+                + row("a", "a") + row("a", "other-a")   // chunk 1: same username
+                + row("b", "b") + row("c", "a")         // chunk 2: email of a committed row
+                + row("d", "d") + row("d", "d"));       // chunk 3: same row twice
+
+        assertStatuses(Status.CREATED, Status.DUPLICATE_IN_FILE, Status.CREATED, Status.ALREADY_EXISTS,
+                Status.CREATED, Status.DUPLICATE_IN_FILE);
+        assertEquals(new MemberImportSummary(6, 3, 3, false), summary);
+        assertEquals(3, imported());
+        // every created member got the default role
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT count(*) FROM user_role_map urm JOIN members m " +
+                "ON m.member_id = urm.user_id WHERE m.username LIKE ?", Integer.class, PREFIX + "%"));
+        assertEquals(imported("a"), results.get(0).memberId());
+    }
+
+    @Test
+    void registeredUsernamesAndEmailsAreRejected() throws IOException {
+        String username = jdbcTemplate.queryForObject("SELECT min(username) FROM members", String.class);
+        String email = jdbcTemplate.queryForObject("SELECT email FROM members WHERE username = ?", String.class, username);
+
+        MemberImportSummary summary = importCsv(HEADER
+                + username + "," + PREFIX + "x@example.com,Taken,secret\n"
+                + PREFIX + "y," + email + ",Taken,secret\n"
+                + row("z", "z"));
+
+        assertStatuses(Status.ALREADY_EXISTS, Status.ALREADY_EXISTS, Status.CREATED);
+        assertEquals(new MemberImportSummary(3, 1, 2, false), summary);
+        assertEquals(1, imported());
+    }
+
+    @Test
+    void malformedRowsAreRejectedAndTheImportGoesOn() throws IOException {
+        MemberImportSummary summary = memberImportService.importMembers(ndjson(
+                "{\"username\": \"" + PREFIX + "a\", \"email\": \"" + PREFIX + "a@example.com\"}",
+                "{\"username\": ",
+                "{\"username\": \"" + PREFIX + "b\"}",
+                "{\"username\": \"\", \"email\": \"" + PREFIX + "c@example.com\"}",
+                "{\"username\": \"" + PREFIX + "d\", \"email\": \"" + PREFIX + "d@example.com\", \"dob\": \"yesterday\"}",
+                "{\"username\": \"" + PREFIX + "e\", \"email\": \"" + PREFIX + "e@example.com\"}"),
+                RowFormat.NDJSON, results::addAll);
+
+        assertStatuses(Status.CREATED, Status.INVALID, Status.INVALID, Status.INVALID, Status.INVALID, Status.CREATED);
+        assertEquals("email must not be blank", results.get(2).message());
+        assertEquals(new MemberImportSummary(6, 2, 4, false), summary);
+        assertEquals(2, imported());
+    }
+
+    @Test
+    void rowsPastMaxRowsAreNotRead() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 8; i++) {
+            csv.append(row("m" + i, "m" + i));
+        }
+
+        MemberImportSummary summary = importCsv(csv.toString());
+
+        assertEquals(new MemberImportSummary(6, 6, 0, true), summary);
+        assertEquals(6, results.size());
+        assertEquals(6, imported());
+    }
+
+    @Test
+    void unreadableCsvEndsTheImportAtThatRow() throws IOException {
+        MemberImportSummary summary = importCsv(HEADER
+                + row("a", "a")
+                + PREFIX + "b,\"" + PREFIX + "b@example.com,B,secret\n"
+                + row("c", "c"));
+
+        // the open quote swallows the rest of the file, which then cannot be read past row 2
+        assertStatuses(Status.CREATED, Status.INVALID);
+        assertEquals(new MemberImportSummary(2, 1, 1, false), summary);
+        assertEquals(1, imported());
+        assertNull(imported("c"));
+    }
+
+    @Test
+    void rowThatLosesTheRaceToAConcurrentRegistrationIsReportedAsExisting() throws IOException {
+        // the other registration commits while the chunk is being hashed, after its existence check
+        doAnswer(invocation -> {
+            jdbcTemplate.update("INSERT INTO members (username, email, password, created_timestamp, updated_timestamp) " +
+                    "VALUES (?, ?, 'x', now(), now())", PREFIX + "raced", PREFIX + "raced-elsewhere@example.com");
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).encode(RACE_PASSWORD);
+
+        MemberImportSummary summary = importCsv(HEADER
+                + PREFIX + "raced," + PREFIX + "raced@example.com,Raced," + RACE_PASSWORD + "\n"
+                + row("b", "b"));
+
+        assertStatuses(Status.ALREADY_EXISTS, Status.CREATED);
+        assertEquals(new MemberImportSummary(2, 1, 1, false), summary);
+        // the generated key of the second row is not shifted onto the first
+        assertNotNull(results.get(1).memberId());
+        assertEquals(imported("b"), results.get(1).memberId());
+    }
+
+    private MemberImportSummary importCsv(String csv) throws IOException {
+        return memberImportService.importMembers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                RowFormat.CSV, results::addAll);
+    }
+
+    private static ByteArrayInputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String row(String username, String emailUser) {
+        return PREFIX + username + "," + PREFIX + emailUser + "@example.com," + username + ",secret\n";
+    }
+
+    private void assertStatuses(Status... expected) {
+        assertEquals(List.of(expected), results.stream().map(MemberImportResult::status).toList(), results.toString());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1, results.get(i).row());
+        }
+    }
+
+    private int imported() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM members WHERE username LIKE ?", Integer.class, PREFIX + "%");
+    }
+
+    private Long imported(String username) {
+        return jdbcTemplate.query("SELECT member_id FROM members WHERE username = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, PREFIX + username);
+    }
+}
@@ -0,0 +1,192 @@
+package com.ls.comitte.test;
+
+import com.ls.comitte.cache.MembershipIndex;
+import com.ls.common.cache.CacheInvalidation;
+import com.ls.common.cache.CacheInvalidationBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks MEMBERSHIP_INDEX.md against Postgres: the loaded index answers what the tables say, committed
+ * membership and ownership changes reach it through the invalidation bus, and an index left unloaded by a
+ * failed refresh loads again on the retry.
+ *
+ * <p>Needs the {@code spring.datasource} Postgres with the demo seed; run with
+ * {@code mvn test -Pintegration -Dtest=MembershipIndexTest}.</p>
+ */
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.mail.host=localhost",
+        "spring.jpa.show-sql=false",
+        "cache-invalidation.enabled=false"
+})
+class MembershipIndexTest {
+
+    @Autowired
+    private MembershipIndex membershipIndex;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // a comitte, its owner, another member who owns nothing, and a member who is not mapped to the comitte
+    private long comitteId;
+    private long ownerId;
+    private long newOwnerId;
+    private long outsiderId;
+
+    @BeforeEach
+    void pickSeedData() {
+        comitteId = jdbcTemplate.queryForObject("SELECT min(comitte_id) FROM comittes", Long.class);
+        ownerId = jdbcTemplate.queryForObject("SELECT owner_id FROM comittes WHERE comitte_id = ?", Long.class, comitteId);
+        newOwnerId = jdbcTemplate.queryForObject("SELECT min(member_id) FROM members m " +
+                "WHERE NOT EXISTS (SELECT 1 FROM comittes c WHERE c.owner_id = m.member_id)", Long.class);
+        outsiderId = jdbcTemplate.queryForObject("SELECT min(m.member_id) FROM members m WHERE m.member_id <> ? " +
+                "AND NOT EXISTS (SELECT 1 FROM comitte_member_map cm WHERE cm.member_id = m.member_id AND cm.comitte_id = ?)",
+                Long.class, ownerId, comitteId);
+    }
+
+    @AfterEach
+    void restore() {
+        change("DELETE FROM comitte_member_map WHERE comitte_id = ? AND member_id = ?", comitteId, outsiderId);
+        change("UPDATE comittes SET owner_id = ? WHERE comitte_id = ?", ownerId, comitteId);
+    }
+
+    @Test
+    void loadedIndexMatchesTheTables() {
+        assertTrue(membershipIndex.isLoaded());
+        for (long memberId : jdbcTemplate.queryForList("SELECT member_id FROM members", Long.class)) {
+            assertArrayEquals(ids("SELECT comitte_id FROM comitte_member_map WHERE member_id = ?", memberId),
+                    sorted(membershipIndex.memberComitteIds(memberId)), "mapped " + memberId);
+            assertArrayEquals(ids("SELECT comitte_id FROM comittes WHERE owner_id = ?", memberId),
+                    sorted(membershipIndex.ownedComitteIds(memberId)), "owned " + memberId);
+            assertArrayEquals(ids("SELECT comitte_id FROM comittes WHERE owner_id = ? " +
+                            "UNION SELECT comitte_id FROM comitte_member_map WHERE member_id = ?", memberId, memberId),
+                    sorted(membershipIndex.myComitteIds(memberId)), "mine " + memberId);
+        }
+        assertArrayEquals(ids("SELECT member_id FROM comitte_member_map WHERE comitte_id = ?", comitteId),
+                sorted(membershipIndex.memberIds(comitteId)));
+    }
+
+    @Test
+    void refreshFollowsMembershipChanges() {
+        change("INSERT INTO comitte_member_map (comitte_id, member_id, share_count, version) VALUES (?, ?, NULL, 0)",
+                comitteId, outsiderId);
+        assertTrue(contains(membershipIndex.memberComitteIds(outsiderId), comitteId));
+        assertTrue(contains(membershipIndex.memberIds(comitteId), outsiderId));
+
+        change("DELETE FROM comitte_member_map WHERE comitte_id = ? AND member_id = ?", comitteId, outsiderId);
+        assertFalse(contains(membershipIndex.memberComitteIds(outsiderId), comitteId));
+        assertFalse(contains(membershipIndex.memberIds(comitteId), outsiderId));
+    }
+
+    @Test
+    void refreshFollowsOwnershipChanges() {
+        change("UPDATE comittes SET owner_id = ? WHERE comitte_id = ?", newOwnerId, comitteId);
+        assertTrue(contains(membershipIndex.ownedComitteIds(newOwnerId), comitteId));
+        assertTrue(contains(membershipIndex.myComitteIds(newOwnerId), comitteId));
+        assertFalse(contains(membershipIndex.ownedComitteIds(ownerId), comitteId));
+    }
+
+    @Test
+    void failedRefreshIsRepairedByTheRetry() {
+        FailingJdbcTemplate failing = new FailingJdbcTemplate(dataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        MembershipIndex index = new MembershipIndex(failing, transactionTemplate, true);
+        index.load();
+        assertTrue(index.isLoaded());
+
+        failing.down = true;
+        change("INSERT INTO comitte_member_map (comitte_id, member_id, share_count, version) VALUES (?, ?, NULL, 0)",
+                comitteId, outsiderId);
+        index.invalidate(new CacheInvalidation(false, false, Set.of(comitteId), Set.of()));
+        assertFalse(index.isLoaded());
+
+        // still down: stays unloaded
+        index.retryLoad();
+        assertFalse(index.isLoaded());
+
+        failing.down = false;
+        index.retryLoad();
+        assertTrue(index.isLoaded());
+        assertTrue(contains(index.memberComitteIds(outsiderId), comitteId));
+    }
+
+    // a committed write on the primary, reported to the bus like the services do
+    private void change(String sql, Object... args) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update(sql, args);
+            cacheInvalidationBus.comittesChanged(comitteId);
+        });
+    }
+
+    private long[] ids(String sql, Object... args) {
+        return jdbcTemplate.queryForList(sql, Long.class, args).stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private static long[] sorted(long[] ids) {
+        long[] copy = ids.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static boolean contains(long[] ids, long id) {
+        return Arrays.stream(ids).anyMatch(candidate -> candidate == id);
+    }
+
+    /**
+     * Fails every streamed query while {@link #down}, like a primary that went away.
+     */
+    private static class FailingJdbcTemplate extends JdbcTemplate {
+        volatile boolean down;
+
+        FailingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            fail();
+            super.query(sql, rch, args);
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch) {
+            fail();
+            super.query(sql, rch);
+        }
+
+        private void fail() {
+            if (down) {
+                throw new DataAccessResourceFailureException("primary is down");
+            }
+        }
+    }
+}
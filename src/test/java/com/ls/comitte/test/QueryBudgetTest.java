@@ -0,0 +1,278 @@
+package com.ls.comitte.test;
+
+import com.ls.auth.model.request.LoginRequest;
+import com.ls.auth.model.request.MemberRequest;
+import com.ls.auth.model.request.RoleAssignDto;
+import com.ls.auth.service.AuthService;
+import com.ls.auth.service.MemberService;
+import com.ls.comitte.model.request.BidRequest;
+import com.ls.comitte.model.request.ComitteRequest;
+import com.ls.comitte.service.BidService;
+import com.ls.comitte.service.ComitteService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails if a service call issues more SQL statements than its budget, the usual sign of an N+1 or a lost fetch plan.
+ *
+ * <p>Each call runs in its own transaction with an empty persistence context and a cold second-level cache, is
+ * flushed so that its updates count, and is rolled back. The budgets are the "SQL:" notes on the service methods,
+ * counted on the demo seed; a call whose count grows with the number of bids or members in a comitte breaks them
+ * there already. Total JDBC time per call is recorded and printed with the counts, but not asserted.</p>
+ *
+ * <p>Needs the {@code spring.datasource} Postgres with the demo seed; run with
+ * {@code mvn test -Pintegration -Dtest=QueryBudgetTest}.</p>
+ */
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.mail.host=localhost",
+        "spring.jpa.show-sql=false",
+        "cache-invalidation.enabled=false",
+        "spring.jpa.properties.hibernate.session.events.auto=com.ls.comitte.test.QueryBudgetTest$JdbcRecorder",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ls.comitte.test.QueryBudgetTest$JdbcRecorder"
+})
+class QueryBudgetTest {
+
+    private static final List<String> REPORT = Collections.synchronizedList(new ArrayList<>());
+
+    @Autowired
+    private ComitteService comitteService;
+
+    @Autowired
+    private BidService bidService;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // the largest shapes in the seed: the member in most comittes, the busiest organiser, the comitte with most
+    // bids and one not started yet
+    private long memberId;
+    private String username;
+    private long ownerId;
+    private long comitteId;
+    private long bidId;
+    private long emptyComitteId;
+    private List<Long> otherMemberIds;
+
+    @BeforeEach
+    void pickSeedData() {
+        memberId = jdbcTemplate.queryForObject("SELECT member_id FROM comitte_member_map " +
+                "GROUP BY member_id ORDER BY count(*) DESC, member_id LIMIT 1", Long.class);
+        username = jdbcTemplate.queryForObject("SELECT username FROM members WHERE member_id = ?", String.class, memberId);
+        ownerId = jdbcTemplate.queryForObject("SELECT owner_id FROM comittes " +
+                "GROUP BY owner_id ORDER BY count(*) DESC, owner_id LIMIT 1", Long.class);
+        comitteId = jdbcTemplate.queryForObject("SELECT comitte_id FROM bids " +
+                "GROUP BY comitte_id ORDER BY count(*) DESC, comitte_id LIMIT 1", Long.class);
+        bidId = jdbcTemplate.queryForObject("SELECT max(bid_id) FROM bids WHERE comitte_id = ?", Long.class, comitteId);
+        emptyComitteId = jdbcTemplate.queryForObject("SELECT min(comitte_id) FROM comittes c WHERE reserved_shares + 3 <= total_shares " +
+                "AND NOT EXISTS (SELECT 1 FROM bids b WHERE b.comitte_id = c.comitte_id)", Long.class);
+        otherMemberIds = jdbcTemplate.queryForList("SELECT member_id FROM members m WHERE NOT EXISTS " +
+                "(SELECT 1 FROM comitte_member_map cm WHERE cm.member_id = m.member_id AND cm.comitte_id = ?) " +
+                "ORDER BY member_id LIMIT 3", Long.class, emptyComitteId);
+    }
+
+    @AfterAll
+    static void printReport() {
+        System.out.println();
+        System.out.printf("%-45s %10s %8s %10s%n", "call", "statements", "budget", "jdbc ms");
+        REPORT.forEach(System.out::println);
+    }
+
+    @Test
+    void comitteServiceStaysWithinBudget() {
+        assertBudget("ComitteService.get", 1, () -> comitteService.get(comitteId));
+        assertBudget("ComitteService.getETag", 1, () -> comitteService.getETag(comitteId));
+        assertBudget("ComitteService.create", 2, () -> comitteService.create(comitteRequest(null)));
+        assertBudget("ComitteService.update", 3, () -> comitteService.update(comitteId, comitteRequest(comitteId)));
+        // one insert per assigned member
+        assertBudget("ComitteService.assignMembers", 4 + otherMemberIds.size(),
+                () -> comitteService.assignMembers(emptyComitteId, otherMemberIds));
+        assertBudget("ComitteService.delete", 7, () -> comitteService.delete(emptyComitteId));
+        assertBudget("ComitteService.getMemberComittes", 1, () -> comitteService.getMemberComittes(memberId));
+        assertBudget("ComitteService.getOwnerComittes", 1, () -> comitteService.getOwnerComittes(ownerId));
+        assertBudget("ComitteService.findAllMyComittes", 1, () -> comitteService.findAllMyComittes(memberId));
+        assertBudget("ComitteService.getAllAssociatedMembers", 1, () -> comitteService.getAllAssociatedMembers(comitteId));
+        assertBudget("ComitteService.getAllAssociatedMembersETag", 1,
+                () -> comitteService.getAllAssociatedMembersETag(comitteId));
+    }
+
+    @Test
+    void bidServiceStaysWithinBudget() {
+        assertBudget("BidService.get", 1, () -> bidService.get(bidId));
+        assertBudget("BidService.getETag", 1, () -> bidService.getETag(bidId));
+        assertBudget("BidService.getBidsByComitteId", 1, () -> bidService.getBidsByComitteId(comitteId));
+        assertBudget("BidService.getBidsByComitteIdETag", 1, () -> bidService.getBidsByComitteIdETag(comitteId));
+        assertBudget("BidService.getBidsForMemberCommittees", 1, () -> bidService.getBidsForMemberCommittees(memberId));
+        // the comitte and the final bidder are selected too while the second-level cache is cold
+        assertBudget("BidService.create", 4, () -> bidService.create(bidRequest(emptyComitteId, 90_000)));
+        // moves the bid to another final bidder, so the member is loaded too
+        assertBudget("BidService.update", 3, () -> bidService.update(bidId, bidRequest(comitteId, 12_345)));
+        assertBudget("BidService.delete", 3, () -> bidService.delete(bidId));
+    }
+
+    @Test
+    void memberServiceStaysWithinBudget() {
+        assertBudget("MemberService.get", 1, () -> memberService.get(memberId));
+        assertBudget("MemberService.getETag", 1, () -> memberService.getETag(memberId));
+        assertBudget("MemberService.create", 1, () -> memberService.create(memberRequest("budget.member")));
+        assertBudget("MemberService.update", 2, () -> memberService.update(memberId, memberRequest(username)));
+        // a lookup and a mapping insert per role name
+        RoleAssignDto roles = roleAssignment();
+        assertBudget("MemberService.assignRoles", 3 + 2 * roles.getRoleNames().size(),
+                () -> memberService.assignRoles(memberId, roles));
+        assertBudget("MemberService.searchMembers", 1, () -> memberService.searchMembers("a", "98"));
+    }
+
+    @Test
+    void loginStaysWithinBudget() {
+        LoginRequest request = new LoginRequest();
+        request.setUsernameOrEmail(username);
+        request.setPassword("test123");
+        assertBudget("AuthService.login", 1, () -> authService.login(request));
+    }
+
+    private void assertBudget(String call, int budget, Runnable body) {
+        entityManagerFactory.getCache().evictAll();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            JdbcRecorder.start();
+            try {
+                body.run();
+                entityManager.flush();
+            } finally {
+                JdbcRecorder.stop();
+                status.setRollbackOnly();
+            }
+        });
+        List<String> statements = JdbcRecorder.statements();
+        REPORT.add(String.format("%-45s %10d %8d %10.1f%s", call, statements.size(), budget,
+                JdbcRecorder.jdbcNanos() / 1e6, statements.size() < budget ? "  (under budget, tighten it)" : ""));
+        assertTrue(statements.size() <= budget, () -> call + " issued " + statements.size() + " statements, budget "
+                + budget + ":\n" + String.join("\n", statements));
+    }
+
+    private static ComitteRequest comitteRequest(Long comitteId) {
+        return new ComitteRequest(1L, "Budget " + (comitteId == null ? "new" : comitteId), LocalDate.of(2025, 1, 15),
+                160_000, 16, 10_000, 5, 7, null);
+    }
+
+    private BidRequest bidRequest(long comitteId, int amount) {
+        BidRequest request = new BidRequest();
+        request.setComitteId(comitteId);
+        request.setFinalBidder(memberId);
+        request.setFinalBidAmt(amount);
+        request.setBidDate(LocalDateTime.of(2025, 6, 15, 18, 0));
+        return request;
+    }
+
+    private static MemberRequest memberRequest(String username) {
+        MemberRequest request = new MemberRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setName("Budget Member");
+        request.setMobile("9876500000");
+        return request;
+    }
+
+    private static RoleAssignDto roleAssignment() {
+        RoleAssignDto dto = new RoleAssignDto();
+        dto.setRoleNames(List.of("COMITTE_MEMBER", "COMITTE_OWNER"));
+        return dto;
+    }
+
+    /**
+     * Counts and times the JDBC statements of the call being measured. Instantiated by Hibernate, as a session
+     * event listener per session and as the statement inspector once, hence public with static state.
+     */
+    public static class JdbcRecorder implements SessionEventListener, StatementInspector {
+        private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+        private static volatile boolean recording;
+        private static volatile long jdbcNanos;
+
+        private long executeStart;
+
+        static void start() {
+            STATEMENTS.clear();
+            jdbcNanos = 0;
+            recording = true;
+        }
+
+        static void stop() {
+            recording = false;
+        }
+
+        static List<String> statements() {
+            return List.copyOf(STATEMENTS);
+        }
+
+        static long jdbcNanos() {
+            return jdbcNanos;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (recording) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executeStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            if (recording) {
+                jdbcNanos += System.nanoTime() - executeStart;
+            }
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            executeStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            if (recording) {
+                jdbcNanos += System.nanoTime() - executeStart;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ls.comitte.test;
+
+import com.ls.common.datasource.ReadYourWritesTracker;
+import com.ls.common.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the replica health check's lag query on Postgres: the real replica state of the {@code spring.datasource}
+ * primary, and the lag computed for the states a streaming replica goes through, fed in as {@code VALUES}.
+ *
+ * <p>Needs the {@code spring.datasource} Postgres; run with {@code mvn test -Pintegration -Dtest=ReplicaLagQueryTest}.</p>
+ */
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.mail.host=localhost",
+        "spring.jpa.show-sql=false",
+        "cache-invalidation.enabled=false"
+})
+class ReplicaLagQueryTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void caughtUpReplicaOfAnIdlePrimaryHasNoLag() {
+        assertEquals(0.0, lag("true", "true", "true", "60000"));
+    }
+
+    @Test
+    void replicaReplayingReceivedWalLagsByTheTimeSinceItsLastReplayedCommit() {
+        assertEquals(1500.0, lag("true", "true", "false", "1500"));
+        // nothing replayed yet
+        assertEquals(0.0, lag("true", "true", "NULL::boolean", "NULL::numeric"));
+    }
+
+    @Test
+    void replicaThatStoppedStreamingIsBehindForGood() {
+        // the receiver is gone, so receive and replay positions stay equal while the primary moves on
+        assertEquals(Double.POSITIVE_INFINITY, lag("true", "false", "true", "0"));
+        assertEquals(Double.POSITIVE_INFINITY, lag("true", "false", "false", "60000"));
+    }
+
+    @Test
+    void primaryServingAsReplicaPassesTheHealthCheck() {
+        assertEquals(0.0, jdbcTemplate.queryForObject(
+                ReplicaRoutingDataSource.lagQuery(ReplicaRoutingDataSource.REPLICA_STATE), Double.class));
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(dataSource, Map.of("self", dataSource),
+                new ReadYourWritesTracker(Duration.ofSeconds(5)), Duration.ofSeconds(10));
+        assertEquals(List.of(), routing.getHealthyReplicas());
+        routing.checkReplicas();
+        assertEquals(List.of("self"), routing.getHealthyReplicas());
+    }
+
+    private Double lag(String inRecovery, String streaming, String replayedAll, String sinceLastReplayMillis) {
+        String state = "VALUES (%s, %s, %s, %s::numeric)".formatted(inRecovery, streaming, replayedAll, sinceLastReplayMillis);
+        return jdbcTemplate.queryForObject(ReplicaRoutingDataSource.lagQuery(state), Double.class);
+    }
+}
@@ -0,0 +1,171 @@
+package com.ls.comitte.test;
+
+import com.ls.auth.model.response.LoginUserDetails;
+import com.ls.common.datasource.ReadYourWritesTracker;
+import com.ls.common.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routing decisions of {@link ReplicaRoutingDataSource} against stub pools: read-only transactions on a healthy
+ * replica, writes on the primary, fallback when the replica lags or is down, and read-your-writes pinning.
+ *
+ * <p>{@code ReplicaLagQueryTest} runs the lag query itself on Postgres.</p>
+ */
+class ReplicaRoutingTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(10);
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ResultSet lagResult = mock(ResultSet.class);
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Statement statement = mock(Statement.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(lagResult);
+        when(lagResult.next()).thenReturn(true);
+        replicaLagMillis(0);
+
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica),
+                new ReadYourWritesTracker(Duration.ofSeconds(5)), MAX_LAG);
+        routing.afterPropertiesSet();
+        routing.checkReplicas();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndWritesThePrimary() throws SQLException {
+        assertEquals("replica", read());
+        assertEquals("primary", write());
+        assertEquals("replica", read());
+    }
+
+    @Test
+    void replicaIsNotUsedBeforeItPassesItsFirstCheck() throws SQLException {
+        ReplicaRoutingDataSource unchecked = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica),
+                new ReadYourWritesTracker(Duration.ofSeconds(5)), MAX_LAG);
+        unchecked.afterPropertiesSet();
+        assertEquals(List.of(), unchecked.getHealthyReplicas());
+
+        unchecked.checkReplicas();
+        assertEquals(List.of("replica-1"), unchecked.getHealthyReplicas());
+    }
+
+    @Test
+    void replicaThatStoppedStreamingIsTakenOutOfRotation() throws SQLException {
+        replicaLagMillis(Double.POSITIVE_INFINITY);
+        routing.checkReplicas();
+        assertEquals(List.of(), routing.getHealthyReplicas());
+        assertEquals("primary", read());
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotationUntilItCatchesUp() throws SQLException {
+        replicaLagMillis(MAX_LAG.toMillis() + 1);
+        routing.checkReplicas();
+        assertEquals(List.of(), routing.getHealthyReplicas());
+        assertEquals("primary", read());
+
+        replicaLagMillis(0);
+        routing.checkReplicas();
+        assertEquals(List.of("replica-1"), routing.getHealthyReplicas());
+        assertEquals("replica", read());
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        routing.checkReplicas();
+        assertEquals("primary", read());
+    }
+
+    @Test
+    void memberReadsTheirOwnWritesFromThePrimary() throws SQLException {
+        signIn(7L);
+        assertEquals("primary", write());
+        assertEquals("primary", read());
+
+        signIn(8L);
+        assertEquals("replica", read());
+    }
+
+    @Test
+    void readsInsideAPrimaryOnlyScopeUseThePrimary() throws SQLException {
+        try (ReplicaRoutingDataSource.PrimaryOnly outer = ReplicaRoutingDataSource.primaryOnly()) {
+            try (ReplicaRoutingDataSource.PrimaryOnly inner = ReplicaRoutingDataSource.primaryOnly()) {
+                assertEquals("primary", read());
+            }
+            assertEquals("primary", read());
+        }
+        assertEquals("replica", read());
+    }
+
+    private void replicaLagMillis(double lagMillis) throws SQLException {
+        when(lagResult.getDouble(1)).thenReturn(lagMillis);
+    }
+
+    private String read() throws SQLException {
+        return inTransaction(true);
+    }
+
+    private String write() throws SQLException {
+        return inTransaction(false);
+    }
+
+    // what the transaction manager publishes around a committed transaction
+    private String inTransaction(boolean readOnly) throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        try {
+            Connection connection = routing.getConnection();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            return connection == primaryConnection ? "primary" : connection == replicaConnection ? "replica" : "unknown";
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private void signIn(long memberId) {
+        LoginUserDetails user = new LoginUserDetails(memberId, "member" + memberId, null, null, null,
+                Set.of(), Set.of(), Set.of(), Set.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,187 @@
+package com.ls.comitte.test;
+
+import com.ls.auth.model.response.LoginUserDetails;
+import com.ls.auth.service.AuthService;
+import com.ls.auth.service.TokenBlacklistService;
+import com.ls.comitte.cache.ComitteResponseCache;
+import com.ls.common.cache.CacheInvalidation;
+import com.ls.common.cache.CacheInvalidationBus;
+import com.ls.common.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the comitte response cache of RESPONSE_CACHE.md through the full filter chain: a write evicts the
+ * responses of the comittes it touched and no others, a cached body is only served to callers
+ * {@code ComitteAccess.canRead} allows, and a miss after an eviction is rendered from the primary while the
+ * replica still has the old data.
+ *
+ * <p>Needs the {@code spring.datasource} Postgres with the demo seed; run with
+ * {@code mvn test -Pintegration -Dtest=ResponseCacheTest}.</p>
+ */
+@Tag("integration")
+@LaggingReplica.Context
+class ResponseCacheTest {
+
+    private static final List<ComitteResponseCache.Resource> RESOURCES = List.of(ComitteResponseCache.Resource.values());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ComitteResponseCache cache;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // two comittes, the owner of the first, and a member who has nothing to do with the first
+    private long comitteId;
+    private long otherComitteId;
+    private String comitteName;
+    private String ownerToken;
+    private String outsiderToken;
+    private String adminToken;
+
+    @BeforeEach
+    void pickSeedData() {
+        comitteId = jdbcTemplate.queryForObject("SELECT min(comitte_id) FROM comittes", Long.class);
+        otherComitteId = jdbcTemplate.queryForObject("SELECT min(comitte_id) FROM comittes WHERE comitte_id > ?", Long.class, comitteId);
+        comitteName = jdbcTemplate.queryForObject("SELECT comitte_name FROM comittes WHERE comitte_id = ?", String.class, comitteId);
+        long ownerId = jdbcTemplate.queryForObject("SELECT owner_id FROM comittes WHERE comitte_id = ?", Long.class, comitteId);
+        long outsiderId = jdbcTemplate.queryForObject("SELECT min(m.member_id) FROM members m WHERE m.member_id <> ? " +
+                "AND NOT EXISTS (SELECT 1 FROM comitte_member_map cm WHERE cm.member_id = m.member_id AND cm.comitte_id = ?)",
+                Long.class, ownerId, comitteId);
+        ownerToken = token(ownerId, Set.of("ROLE_COMITTE_MEMBER"));
+        outsiderToken = token(outsiderId, Set.of("ROLE_COMITTE_MEMBER"));
+        adminToken = token(ownerId, Set.of("ROLE_ADMIN"));
+        cache.invalidate(CacheInvalidation.ALL);
+    }
+
+    @AfterEach
+    void restore() {
+        changeComitte("UPDATE comittes SET comitte_name = ? WHERE comitte_id = ?", comitteName, comitteId);
+        LaggingReplica.drop(jdbcTemplate);
+    }
+
+    @Test
+    void writeEvictsOnlyTheComittesItTouched() throws Exception {
+        for (long id : List.of(comitteId, otherComitteId)) {
+            for (String path : paths(id)) {
+                expectStatus(path, adminToken, 200);
+            }
+            for (ComitteResponseCache.Resource resource : RESOURCES) {
+                assertNotNull(cache.get(id, resource), id + " " + resource);
+            }
+        }
+
+        changeComitte("UPDATE comittes SET comitte_name = comitte_name WHERE comitte_id = ?", comitteId);
+
+        for (ComitteResponseCache.Resource resource : RESOURCES) {
+            assertNull(cache.get(comitteId, resource), resource.name());
+            assertNotNull(cache.get(otherComitteId, resource), resource.name());
+        }
+    }
+
+    @Test
+    void cachedBodyIsOnlyServedToReaders() throws Exception {
+        for (String path : paths(comitteId)) {
+            expectStatus(path, ownerToken, 200);
+        }
+        for (ComitteResponseCache.Resource resource : RESOURCES) {
+            assertNotNull(cache.get(comitteId, resource), resource.name());
+        }
+
+        for (String path : paths(comitteId)) {
+            expectStatus(path, outsiderToken, 403);
+            expectStatus(path, ownerToken, 200);
+        }
+    }
+
+    @Test
+    void missAfterAnEvictionIsRenderedFromThePrimary() throws Exception {
+        LaggingReplica.freeze(jdbcTemplate, routingDataSource);
+        String renamed = comitteName + " (renamed)";
+        expectStatus("/api/comittes/" + comitteId, ownerToken, 200);
+
+        changeComitte("UPDATE comittes SET comitte_name = ? WHERE comitte_id = ?", renamed, comitteId);
+        // the replica still has the old name
+        assertEquals(comitteName, readOnly().execute(status -> jdbcTemplate.queryForObject(
+                "SELECT comitte_name FROM comittes WHERE comitte_id = ?", String.class, comitteId)));
+
+        mockMvc.perform(get("/api/comittes/" + comitteId).header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(renamed)));
+        ComitteResponseCache.CachedResponse cached = cache.get(comitteId, ComitteResponseCache.Resource.COMITTE);
+        assertNotNull(cached);
+        assertTrue(new String(cached.body(), StandardCharsets.UTF_8).contains(renamed));
+    }
+
+    private static List<String> paths(long id) {
+        return List.of("/api/comittes/" + id, "/api/comittes/" + id + "/members", "/api/comittes/" + id + "/bids");
+    }
+
+    private void expectStatus(String path, String token, int expected) throws Exception {
+        mockMvc.perform(get(path).header("Authorization", "Bearer " + token))
+                .andExpect(status().is(expected));
+    }
+
+    // a committed write on the primary, reported to the bus like the services do
+    private void changeComitte(String sql, Object... args) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update(sql, args);
+            cacheInvalidationBus.comittesChanged(comitteId);
+        });
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly;
+    }
+
+    // signed like a login token, without depending on the seed's passwords
+    private String token(long memberId, Set<String> roles) {
+        String username = jdbcTemplate.queryForObject("SELECT username FROM members WHERE member_id = ?", String.class, memberId);
+        LoginUserDetails details = new LoginUserDetails(memberId, username, null, null, null, Set.of(1L), roles, Set.of(),
+                roles.stream().map(SimpleGrantedAuthority::new).toList());
+        String token = authService.createToken(username, details);
+        tokenBlacklistService.updateActivity(token);
+        return token;
+    }
+}
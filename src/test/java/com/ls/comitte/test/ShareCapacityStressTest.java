@@ -0,0 +1,167 @@
+package com.ls.comitte.test;
+
+import com.ls.auth.model.entity.Member;
+import com.ls.auth.repository.MemberRepository;
+import com.ls.comitte.model.request.ComitteMemberMapRequest;
+import com.ls.comitte.model.request.ComitteRequest;
+import com.ls.comitte.service.ComitteMemberMapService;
+import com.ls.comitte.service.ComitteService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrent sign-ups, releases and bulk assignments against one small comitte: it must never hold more
+ * shares than {@code totalShares}, and {@code reserved_shares} must always equal the mapped shares.
+ *
+ * <p>Needs the {@code spring.datasource} Postgres; run with {@code mvn test -Pintegration}. Tune with
+ * {@code -Dbenchmark.threads} and {@code -Dbenchmark.ops} (per thread).</p>
+ */
+@Tag("integration")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.mail.host=localhost",
+        "spring.jpa.show-sql=false",
+        "cache-invalidation.enabled=false"
+})
+class ShareCapacityStressTest {
+
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final int OPS_PER_THREAD = Integer.getInteger("benchmark.ops", 50);
+    private static final int TOTAL_SHARES = 10;
+
+    @Autowired
+    private ComitteService comitteService;
+
+    @Autowired
+    private ComitteMemberMapService comitteMemberMapService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void comitteIsNeverOversubscribed() throws InterruptedException {
+        long comitteId = newComitte();
+        // a fresh member for every mapping, so no pair is ever mapped twice
+        List<Long> memberIds = newMembers(THREADS * OPS_PER_THREAD * 2);
+
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            Iterator<Long> own = memberIds.subList(t * OPS_PER_THREAD * 2, (t + 1) * OPS_PER_THREAD * 2).iterator();
+            pool.execute(() -> {
+                awaitQuietly(start);
+                List<Long> mappingIds = new ArrayList<>();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    // half sign-ups of 1-2 shares, some releases, the rest two-member bulk assignments
+                    int choice = ThreadLocalRandom.current().nextInt(10);
+                    try {
+                        if (choice < 5) {
+                            mappingIds.add(comitteMemberMapService.create(mapping(comitteId, own.next(), 1 + choice % 2)).id());
+                            reserved.incrementAndGet();
+                        } else if (choice < 8 && !mappingIds.isEmpty()) {
+                            comitteMemberMapService.delete(mappingIds.remove(mappingIds.size() - 1));
+                        } else {
+                            comitteService.assignMembers(comitteId, List.of(own.next(), own.next()));
+                            reserved.incrementAndGet();
+                        }
+                    } catch (ResponseStatusException e) {
+                        if (e.getStatusCode() != HttpStatus.CONFLICT) {
+                            errors.add(e);
+                        }
+                        full.incrementAndGet();
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                    try {
+                        assertCapacity(comitteId);
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.MINUTES), "stress run timed out");
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        assertTrue(errors.isEmpty(), () -> "unexpected errors: " + errors);
+        assertCapacity(comitteId);
+        System.out.printf("%nShare capacity: %d threads x %d ops in %.2fs, %d reservations, %d rejected as full%n%n",
+                THREADS, OPS_PER_THREAD, seconds, reserved.get(), full.get());
+        assertTrue(full.get() > 0, "the comitte never filled up; raise benchmark.ops");
+    }
+
+    // reserved_shares matches the mappings and stays within totalShares, read in one statement
+    private void assertCapacity(long comitteId) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT c.reserved_shares, c.total_shares, " +
+                "(SELECT COALESCE(SUM(cmm.share_count), 0) FROM comitte_member_map cmm WHERE cmm.comitte_id = c.comitte_id) AS mapped " +
+                "FROM comittes c WHERE c.comitte_id = ?", comitteId);
+        int reservedShares = ((Number) row.get("reserved_shares")).intValue();
+        assertEquals(((Number) row.get("mapped")).intValue(), reservedShares, "reserved_shares out of sync");
+        assertTrue(reservedShares <= TOTAL_SHARES, "oversubscribed: " + reservedShares + " > " + TOTAL_SHARES);
+    }
+
+    private long newComitte() {
+        ComitteRequest request = new ComitteRequest(1L, "Stress " + System.nanoTime(), LocalDate.now(),
+                100000, TOTAL_SHARES, 10000, 5, 7, null);
+        return comitteService.create(request).comitteId();
+    }
+
+    private List<Long> newMembers(int count) {
+        long suffix = System.nanoTime();
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(Member.builder()
+                    .username("stress." + suffix + "." + i)
+                    .email("stress." + suffix + "." + i + "@example.com")
+                    .name("Stress " + i)
+                    .build());
+        }
+        return memberRepository.saveAll(members).stream().map(Member::getMemberId).toList();
+    }
+
+    private static ComitteMemberMapRequest mapping(long comitteId, long memberId, int shares) {
+        ComitteMemberMapRequest request = new ComitteMemberMapRequest();
+        request.setComitteId(comitteId);
+        request.setMemberId(memberId);
+        request.setShareCount(shares);
+        return request;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.ls.comitte.test;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Time to first request of the packaged app, plain versus the fast-startup build (see STARTUP.md).
+ *
+ * <p>Every run starts a fresh JVM on a free port and measures from process launch until {@code POST /api/auth/login}
+ * for a demo member answers 200, i.e. until the app can serve a request that touches security, JPA and the
+ * database. The variants are run round-robin so a noisy machine affects all of them alike; medians are reported.</p>
+ *
+ * <p>Needs {@code mvn package -Pfast-startup -DskipTests} first and the {@code spring.datasource} Postgres with the
+ * demo seed; run with {@code mvn test -Pbenchmark -Dtest=StartupBenchmark}. Tune with {@code -Dbenchmark.runs}.</p>
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 3);
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([0-9.]+) seconds");
+
+    private static final Path TARGET = Path.of("target");
+    private static final Path JAR = TARGET.resolve("comitte-service-0.0.1-SNAPSHOT.jar");
+    private static final Path CDS_JAR = TARGET.resolve("cds/comitte-service-0.0.1-SNAPSHOT.jar");
+    private static final Path CDS_ARCHIVE = TARGET.resolve("cds/application.jsa");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    void fastStartupReachesFirstRequestSooner() throws Exception {
+        assumeTrue(Files.exists(CDS_ARCHIVE), "run mvn package -Pfast-startup -DskipTests first");
+
+        // the plain fat jar (what "java -jar" ran before), each optimization alone, then all of them together
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("baseline", List.of("-jar", JAR.toString()));
+        variants.put("profile only", List.of("-jar", JAR.toString(), "--spring.profiles.active=fast-startup"));
+        variants.put("AOT + profile", List.of("-Dspring.aot.enabled=true", "-jar", JAR.toString(),
+                "--spring.profiles.active=fast-startup"));
+        variants.put("CDS + AOT + profile", List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE, "-Dspring.aot.enabled=true",
+                "-jar", CDS_JAR.toString(), "--spring.profiles.active=fast-startup"));
+
+        Map<String, List<Long>> firstRequestMillis = new LinkedHashMap<>();
+        Map<String, List<Double>> startedSeconds = new LinkedHashMap<>();
+        for (int run = 1; run <= RUNS; run++) {
+            for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                Path log = TARGET.resolve("startup-benchmark/" + variant.getKey().replaceAll("\\W+", "-") + "-" + run + ".log");
+                long millis = timeToFirstRequest(variant.getValue(), log);
+                firstRequestMillis.computeIfAbsent(variant.getKey(), k -> new ArrayList<>()).add(millis);
+                startedSeconds.computeIfAbsent(variant.getKey(), k -> new ArrayList<>()).add(startedIn(log));
+            }
+        }
+
+        System.out.printf("%nStartup (%d runs each, medians):%n%-22s %18s %22s%n", RUNS, "variant",
+                "first request (ms)", "\"Started in\" (s)");
+        firstRequestMillis.forEach((name, millis) -> System.out.printf("%-22s %18d %22.2f%n", name,
+                median(millis), median(startedSeconds.get(name))));
+        System.out.println();
+
+        assertTrue(median(firstRequestMillis.get("CDS + AOT + profile")) < median(firstRequestMillis.get("baseline")),
+                "the fast-startup build was not faster: " + firstRequestMillis);
+    }
+
+    private long timeToFirstRequest(List<String> jvmArguments, Path log) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArguments);
+        command.add("--server.port=" + port);
+        command.add("--spring.mail.host=localhost");
+        Files.createDirectories(log.getParent());
+
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"usernameOrEmail\":\"bippan.khichra\",\"password\":\"test123\"}"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                assertTrue(process.isAlive(), () -> "the app exited during startup, see " + log);
+                try {
+                    HttpResponse<Void> response = client.send(login, HttpResponse.BodyHandlers.discarding());
+                    assertTrue(response.statusCode() == 200, () -> "login answered " + response.statusCode() + ", see " + log);
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                } catch (ConnectException e) {
+                    Thread.sleep(20);
+                }
+            }
+            throw new AssertionError("no response within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static double startedIn(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log));
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static <T extends Comparable<T>> T median(List<T> values) {
+        List<T> sorted = values.stream().sorted().toList();
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,383 @@
+package com.ls.comitte.test;
+
+import org.flywaydb.core.Flyway;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads a production-sized synthetic dataset (see SYNTHETIC_DATA.md): members, comittes with realistic sizes and
+ * amounts, their memberships and the bid history up to today.
+ *
+ * <p>Rows are generated in chunks and each chunk is loaded with {@code COPY} on its own connection, in parallel.
+ * Members come first, since every comitte chunk references them; a comitte chunk copies its comittes, memberships
+ * and bids in one transaction. Every chunk has its own random stream derived from {@code datagen.seed}, so the same
+ * settings produce the same data however the chunks are scheduled.</p>
+ *
+ * <p>Run with {@code mvn test-compile exec:java -Pdatagen}; see SYNTHETIC_DATA.md for the {@code datagen.*}
+ * settings. Generated members log in with the demo password {@code test123}.</p>
+ */
+public final class SyntheticDataGenerator {
+
+    // bcrypt of "test123", as in the demo seed
+    private static final String PASSWORD = "$2a$10$ix4H8Tvaga./6cYdkpZCxuzzXU3I62ahG2tBPI04PUkfW7qOzSWim";
+    private static final int MEMBER_CHUNK = 20_000;
+
+    // shares per comitte (one round per share, so also the number of months it runs) and the monthly share
+    private static final int[] TOTAL_SHARES = {10, 12, 15, 16, 20, 25, 30, 40, 50};
+    private static final int[] TOTAL_SHARES_WEIGHT = {10, 12, 25, 10, 18, 10, 7, 5, 3};
+    private static final int[] FULL_SHARE = {2_000, 5_000, 7_000, 10_000, 12_500, 16_000, 20_000, 25_000, 50_000};
+    private static final int[] FULL_SHARE_WEIGHT = {8, 15, 15, 20, 12, 10, 10, 6, 4};
+    private static final int[] START_DAY = {1, 5, 10, 15, 20, 25};
+    private static final int[] SHARE_COUNT = {1, 2, 3};
+    private static final int[] SHARE_COUNT_WEIGHT = {80, 15, 5};
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Aditi", "Ajit", "Amit", "Anisha", "Anjali", "Arjun",
+            "Bippan", "Deepak", "Divya", "Gaurav", "Harendra", "Kavita", "Kiran", "Manoj", "Meena", "Mohan", "Neha",
+            "Nikhil", "Pooja", "Priya", "Rahul", "Rajesh", "Ritu", "Rohit", "Sanjay", "Sarita", "Shalini", "Sundar",
+            "Sunita", "Suresh", "Vikas", "Vinod", "Yash"};
+    private static final String[] LAST_NAMES = {"Agarwal", "Bansal", "Chauhan", "Gupta", "Jain", "Joshi", "Kastley",
+            "Khichra", "Kumar", "Malhotra", "Mehta", "Mishra", "Nair", "Patel", "Rajaura", "Rao", "Reddy", "Saxena",
+            "Sharma", "Singh", "Tyagi", "Verma", "Yadav"};
+    private static final String[] LOCALITIES = {"Kirti Nagar, New Delhi", "Sector 18, Noida", "Malviya Nagar, Jaipur",
+            "Civil Lines, Meerut", "Rajpur Road, Dehradun", "Gandhi Chowk, Ghaziabad", "DLF Phase 2, Gurgaon",
+            "Lajpat Nagar, New Delhi", "Sector 15, Chandigarh", "Park Street, Kolkata", "Andheri West, Mumbai",
+            "Koramangala, Bengaluru", "Banjara Hills, Hyderabad", "Hazratganj, Lucknow"};
+    private static final DateTimeFormatter NAME_DATE = DateTimeFormatter.ofPattern("ddMMMyy", Locale.ENGLISH);
+
+    private static final String COPY_MEMBERS = "COPY members (member_id, username, email, password, mobile, name, " +
+            "aadhar_no, address, dob, created_timestamp, updated_timestamp) FROM STDIN";
+    private static final String COPY_ROLES = "COPY user_role_map (user_id, role_id) FROM STDIN";
+    private static final String COPY_COMITTES = "COPY comittes (comitte_id, owner_id, comitte_name, start_date, " +
+            "full_amount, total_shares, full_share, reserved_shares, due_date_days, payment_date_days, created_by, " +
+            "created_timestamp, updated_by, updated_timestamp) FROM STDIN";
+    private static final String COPY_MEMBERSHIPS = "COPY comitte_member_map (comitte_id, member_id, share_count, " +
+            "created_by, created_timestamp, updated_by, updated_timestamp) FROM STDIN";
+    private static final String COPY_BIDS = "COPY bids (comitte_id, comitte_number, final_bidder, final_bid_amt, " +
+            "bid_date, created_by, created_timestamp, updated_by, updated_timestamp) FROM STDIN";
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int members;
+    private final int comittes;
+    private final int chunkSize;
+    private final int threads;
+    private final long seed;
+    private final LocalDate today = LocalDate.now();
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private final AtomicLong membershipRows = new AtomicLong();
+    private final AtomicLong bidRows = new AtomicLong();
+    private long memberBase;
+    private long comitteBase;
+    private long memberRole;
+    private long ownerRole;
+
+    public SyntheticDataGenerator(String url, String username, String password, int members, int comittes,
+                                  int chunkSize, int threads, long seed) {
+        // the largest comitte needs that many distinct members
+        if (members < TOTAL_SHARES[TOTAL_SHARES.length - 1] + 1 || comittes < 0 || chunkSize < 1 || threads < 1) {
+            throw new IllegalArgumentException("datagen needs members > 50, comittes >= 0, chunk-size and threads >= 1");
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.members = members;
+        this.comittes = comittes;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(
+                System.getProperty("datagen.url", "jdbc:postgresql://localhost:5432/comittedb"),
+                System.getProperty("datagen.username", "postgres"),
+                System.getProperty("datagen.password", "postgres"),
+                Integer.getInteger("datagen.members", 1_000_000),
+                Integer.getInteger("datagen.comittes", 100_000),
+                Integer.getInteger("datagen.chunk-size", 2_000),
+                Integer.getInteger("datagen.threads", Math.max(2, Runtime.getRuntime().availableProcessors())),
+                Long.getLong("datagen.seed", 42L));
+        if (Boolean.parseBoolean(System.getProperty("datagen.migrate", "true"))) {
+            generator.migrate();
+        }
+        generator.load();
+    }
+
+    /** Applies the schema migrations (not the demo seed) so an empty database can be loaded. */
+    public void migrate() {
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .locations("classpath:db/migration")
+                // a dev database also has the seed applied, which is not on this location
+                .ignoreMigrationPatterns("*:missing")
+                .load()
+                .migrate();
+    }
+
+    public void load() throws Exception {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            memberBase = queryLong(statement, "SELECT COALESCE(max(member_id), 0) FROM members");
+            comitteBase = queryLong(statement, "SELECT COALESCE(max(comitte_id), 0) FROM comittes");
+            statement.execute("INSERT INTO roles (role_name) VALUES ('COMITTE_MEMBER'), ('COMITTE_OWNER') " +
+                    "ON CONFLICT (role_name) DO NOTHING");
+            memberRole = queryLong(statement, "SELECT role_id FROM roles WHERE role_name = 'COMITTE_MEMBER'");
+            ownerRole = queryLong(statement, "SELECT role_id FROM roles WHERE role_name = 'COMITTE_OWNER'");
+            connection.commit();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Callable<Void>> memberChunks = new ArrayList<>();
+            for (int first = 0; first < members; first += MEMBER_CHUNK) {
+                int from = first, to = Math.min(members, first + MEMBER_CHUNK);
+                memberChunks.add(() -> loadMembers(from, to));
+            }
+            runAll(executor, memberChunks);
+            report("members + roles", 3L * members, start);
+
+            start = System.nanoTime();
+            List<Callable<Void>> comitteChunks = new ArrayList<>();
+            for (int first = 0; first < comittes; first += chunkSize) {
+                int from = first, to = Math.min(comittes, first + chunkSize);
+                comitteChunks.add(() -> loadComittes(from, to));
+            }
+            runAll(executor, comitteChunks);
+            report("comittes + memberships + bids", comittes + membershipRows.get() + bidRows.get(), start);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        // the ids were given explicitly; move the identity sequences past them before the app inserts
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval(pg_get_serial_sequence('members', 'member_id'), max(member_id)) FROM members");
+            statement.execute("SELECT setval(pg_get_serial_sequence('comittes', 'comitte_id'), max(comitte_id)) FROM comittes");
+            connection.commit();
+            connection.setAutoCommit(true);
+            for (String table : List.of("members", "user_role_map", "comittes", "comitte_member_map", "bids")) {
+                statement.execute("ANALYZE " + table);
+            }
+        }
+        System.out.printf("Loaded %,d members, %,d comittes, %,d memberships and %,d bids into %s%n",
+                members, comittes, membershipRows.get(), bidRows.get(), url);
+    }
+
+    private Void loadMembers(int first, int last) throws SQLException, IOException {
+        StringBuilder memberRows = new StringBuilder((last - first) * 220);
+        StringBuilder roleRows = new StringBuilder((last - first) * 24);
+        for (int index = first; index < last; index++) {
+            long memberId = memberBase + 1 + index;
+            appendMember(memberId, memberRows);
+            row(roleRows, memberId, memberRole);
+            row(roleRows, memberId, ownerRole);
+        }
+        try (Connection connection = connect()) {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            copy.copyIn(COPY_MEMBERS, new StringReader(memberRows.toString()));
+            copy.copyIn(COPY_ROLES, new StringReader(roleRows.toString()));
+            connection.commit();
+        }
+        return null;
+    }
+
+    private Void loadComittes(int first, int last) throws SQLException, IOException {
+        SplittableRandom random = random(2, first);
+        StringBuilder comitteRows = new StringBuilder((last - first) * 160);
+        StringBuilder memberships = new StringBuilder((last - first) * 1_200);
+        StringBuilder bids = new StringBuilder((last - first) * 1_400);
+        for (int index = first; index < last; index++) {
+            appendComitte(comitteBase + 1 + index, random, comitteRows, memberships, bids);
+        }
+        try (Connection connection = connect()) {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            copy.copyIn(COPY_COMITTES, new StringReader(comitteRows.toString()));
+            membershipRows.addAndGet(copy.copyIn(COPY_MEMBERSHIPS, new StringReader(memberships.toString())));
+            bidRows.addAndGet(copy.copyIn(COPY_BIDS, new StringReader(bids.toString())));
+            connection.commit();
+        }
+        return null;
+    }
+
+    // every attribute comes from the member's own random stream, so a comitte chunk can re-derive its owner's name
+    private void appendMember(long memberId, StringBuilder rows) {
+        SplittableRandom random = random(1, memberId);
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String username = (firstName + "." + lastName + "." + memberId).toLowerCase(Locale.ROOT);
+        LocalDateTime created = now.minusMinutes(random.nextLong(5L * 365 * 24 * 60));
+        row(rows, memberId, username, username + "@example.com", PASSWORD,
+                random.nextLong(6_000_000_000L, 10_000_000_000L),
+                firstName + " " + lastName,
+                random.nextLong(200_000_000_000L, 1_000_000_000_000L),
+                random.nextInt(1, 500) + " " + LOCALITIES[random.nextInt(LOCALITIES.length)],
+                LocalDate.of(1960, 1, 1).plusDays(random.nextInt(42 * 365)),
+                created,
+                random.nextInt(4) == 0 ? created.plusDays(random.nextLong(ChronoUnit.DAYS.between(created, now) + 1)) : created);
+    }
+
+    private void appendComitte(long comitteId, SplittableRandom random, StringBuilder comitteRows,
+                               StringBuilder memberships, StringBuilder bids) {
+        int totalShares = pick(random, TOTAL_SHARES, TOTAL_SHARES_WEIGHT);
+        int fullShare = pick(random, FULL_SHARE, FULL_SHARE_WEIGHT);
+        int fullAmount = fullShare * totalShares;
+        // started up to five years ago, a few start in the next two months and are still filling up
+        LocalDate startDate = today.withDayOfMonth(pick(random, START_DAY, null)).minusMonths(random.nextInt(-2, 60));
+        boolean started = !startDate.isAfter(today);
+        // a small share of the members organise most comittes
+        long ownerId = memberBase + 1 + (long) (Math.max(1, members / 20) * Math.pow(random.nextDouble(), 2));
+        LocalDateTime created = min(startDate.minusDays(random.nextInt(7, 46)).atTime(random.nextInt(9, 21), random.nextInt(60)), now);
+
+        // full once started, otherwise partly sold; popular members sit in many comittes
+        int target = started ? totalShares : Math.max(1, totalShares * random.nextInt(30, 101) / 100);
+        List<Long> shareHolders = new ArrayList<>(totalShares);
+        Set<Long> seen = new HashSet<>();
+        if (random.nextBoolean()) {
+            seen.add(ownerId);
+            shareHolders.add(ownerId);
+            row(memberships, comitteId, ownerId, 1, ownerId, created, ownerId, created);
+        }
+        while (shareHolders.size() < target) {
+            long memberId = memberBase + 1 + (long) (members * Math.pow(random.nextDouble(), 1.5));
+            if (!seen.add(memberId)) {
+                continue;
+            }
+            int shares = Math.min(target - shareHolders.size(), pick(random, SHARE_COUNT, SHARE_COUNT_WEIGHT));
+            LocalDateTime joined = min(created.plusDays(random.nextInt(30)).plusMinutes(random.nextInt(24 * 60)), now);
+            row(memberships, comitteId, memberId, shares, ownerId, joined, ownerId, joined);
+            for (int share = 0; share < shares; share++) {
+                shareHolders.add(memberId);
+            }
+        }
+
+        // one round a month since the start; the organiser takes the first pot, then each share wins once
+        int rounds = started ? (int) Math.min(totalShares, ChronoUnit.MONTHS.between(startDate, today) + 1) : 0;
+        shuffle(shareHolders, random);
+        double maxDiscount = random.nextInt(22, 33) / 100.0;
+        LocalDateTime updated = created;
+        for (int round = 1; round <= rounds; round++) {
+            LocalDate bidDay = startDate.plusMonths(round - 1).plusDays(random.nextInt(5) == 0 ? random.nextInt(1, 6) : 0);
+            LocalDateTime bidDate = bidDay.atTime(random.nextInt(10, 21), 0);
+            Long bidder;
+            int amount;
+            if (round == 1) {
+                bidder = ownerId;
+                amount = 0;
+            } else {
+                // the discount shrinks towards the last round, where nobody is left to outbid
+                double progress = (round - 1) / (double) (totalShares - 1);
+                double discount = maxDiscount * Math.pow(1 - progress, 1.3) * (0.85 + 0.3 * random.nextDouble());
+                bidder = random.nextInt(20) == 0 ? null : shareHolders.get(round - 2);
+                amount = (int) Math.round(fullAmount * discount / 500) * 500;
+            }
+            updated = min(bidDate.plusMinutes(random.nextInt(5, 240)), now);
+            row(bids, comitteId, round, bidder, amount, bidDate, ownerId, updated, ownerId, updated);
+        }
+
+        String name = String.format(Locale.ENGLISH, "%.2fL %s %s", fullAmount / 100_000.0, NAME_DATE.format(startDate),
+                FIRST_NAMES[random(1, ownerId).nextInt(FIRST_NAMES.length)]);
+        int reserved = started ? totalShares : target;
+        row(comitteRows, comitteId, ownerId, name, startDate, fullAmount, totalShares, fullShare, reserved,
+                5, pick(random, new int[]{5, 7, 10}, null), ownerId, created, ownerId, updated);
+    }
+
+    // one COPY text-format line; the generated values contain no tabs, newlines or backslashes
+    private static void row(StringBuilder rows, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                rows.append('\t');
+            }
+            rows.append(values[i] == null ? "\\N" : values[i]);
+        }
+        rows.append('\n');
+    }
+
+    private SplittableRandom random(int stream, long key) {
+        return new SplittableRandom(seed ^ ((long) stream << 56) ^ (key * 0xBF58476D1CE4E5B9L));
+    }
+
+    // weights == null picks uniformly
+    private static int pick(SplittableRandom random, int[] values, int[] weights) {
+        if (weights == null) {
+            return values[random.nextInt(values.length)];
+        }
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < values.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    private static void shuffle(List<Long> values, SplittableRandom random) {
+        for (int i = values.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            values.set(i, values.set(j, values.get(i)));
+        }
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, username, password);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void runAll(ExecutorService executor, List<Callable<Void>> chunks) throws Exception {
+        for (Future<Void> future : executor.invokeAll(chunks)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+    }
+
+    private static void report(String what, long rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%-30s %,12d rows in %6.1f s (%,.0f rows/s)%n", what, rows, seconds, rows / seconds);
+    }
+}